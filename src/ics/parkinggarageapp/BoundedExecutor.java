@@ -0,0 +1,153 @@
+package ics.parkinggarageapp;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A BoundedExecutor runs tasks on a fixed number of workers and lets only a
+ * set number of them wait at once. A caller that finds no room waits for a
+ * worker to take a task, which holds it back instead of letting work pile up
+ * without limit. Used by <code>EntryPipeline</code> for its stages and by
+ * <code>ParkingEventBus</code> for its subscribers.
+ * <p>
+ * Room is counted with a <code>Semaphore</code> in front of an unbounded
+ * queue, so a task either runs or is rejected, even while the executor is
+ * being shut down. <code>shutdown()</code> wakes every caller waiting for room
+ * and they are rejected, and tasks already accepted still run.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of BoundedExecutor class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public final class BoundedExecutor implements Executor {
+    private final ThreadPoolExecutor executor;
+    private final Semaphore room;
+    private final int capacity;
+    private volatile boolean shutdown;
+
+    /**
+     * Constructs a BoundedExecutor and its workers
+     *
+     * @param workers the number of worker threads, at least 1
+     * @param capacity the number of tasks that may wait, at least 1
+     * @param threadFactory a valid <code>ThreadFactory</code> that is not null
+     * @throws IllegalArgumentException if a count is less than 1 or the
+     * factory is null
+     */
+    public BoundedExecutor(int workers, int capacity, ThreadFactory threadFactory) throws IllegalArgumentException {
+        if(workers < 1 || capacity < 1){
+            throw new IllegalArgumentException("Sorry, the worker count and capacity must be at least 1");
+        }
+        if(threadFactory == null){
+            throw new IllegalArgumentException("Sorry, the thread factory cannot be null");
+        }
+        this.capacity = capacity;
+        room = new Semaphore(capacity);
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), threadFactory);
+    }
+
+    /**
+     * Queues a task, waiting for room if <code>capacity</code> tasks are
+     * already waiting
+     *
+     * @param task a valid <code>Runnable</code> that is not null
+     * @throws RejectedExecutionException if the executor has been shut down,
+     * or the caller is interrupted while waiting for room
+     */
+    @Override
+    public final void execute(final Runnable task) throws RejectedExecutionException {
+        if(task == null){
+            throw new IllegalArgumentException("Sorry, the task cannot be null");
+        }
+        try {
+            room.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for room", ex);
+        }
+        if(shutdown){
+            room.release();
+            throw new RejectedExecutionException("Sorry, the executor has been shut down");
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    //The task has left the queue, so make room for another
+                    room.release();
+                    task.run();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            //Shut down after the check above
+            room.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Stops taking tasks and wakes every caller waiting for room. Tasks
+     * already queued still run.
+     */
+    public final void shutdown() {
+        synchronized(room){
+            if(shutdown){
+                return;
+            }
+            shutdown = true;
+        }
+        executor.shutdown();
+        //More than enough permits for every waiting caller to wake and be rejected
+        room.release(Integer.MAX_VALUE / 2);
+    }
+
+    /**
+     * Waits until every accepted task has run after a shutdown
+     *
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if the executor finished in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public final boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    public final boolean isShutdown() {
+        return shutdown;
+    }
+
+    public final int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public final int getWorkerCount() {
+        return executor.getCorePoolSize();
+    }
+
+    public final int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of workers and tasks waiting
+     *
+     * @return a <code>String</code> describing the executor
+     */
+    @Override
+    public final String toString() {
+        return "Bounded executor: " + getWorkerCount() + " workers, " + getQueueDepth() + " of "
+                + capacity + " queued" + (shutdown ? ", shut down" : "");
+    }
+}
@@ -0,0 +1,32 @@
+package ics.parkinggarageapp;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A ConcurrentTicketDatabase is a <code>TicketDatabase</code> that can be
+ * shared by several <code>EntryStation</code>s running at the same time. Tickets
+ * are kept in a <code>ConcurrentSkipListMap</code>, so adding a ticket never
+ * blocks other lanes and the issued tickets report still lists tickets in
+ * order without locking out writers while it is being generated.
+ * <p>
+ * Select it in config.properties with
+ * <code>ticketdb=ics.parkinggarageapp.ConcurrentTicketDatabase</code>.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of ConcurrentTicketDatabase class</li>
+ * </ul>
+ * 
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public class ConcurrentTicketDatabase extends TicketDatabase {
+    
+    /**
+     * Constructor for a ConcurrentTicketDatabase
+     */
+    public ConcurrentTicketDatabase(){
+        super(new ConcurrentSkipListMap<>());
+    }
+}
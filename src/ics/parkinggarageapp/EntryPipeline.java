@@ -0,0 +1,398 @@
+package ics.parkinggarageapp;
+
+import java.io.Closeable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An EntryPipeline runs the entries of an <code>EntryStation</code> as a line
+ * of stages: capture the license plate, issue the ticket, persist it to the
+ * <code>TicketDatabase</code>, print it and actuate the gate. Each stage has
+ * its own workers and a bounded queue, so a slow printer or a slow database
+ * only backs up its own stage instead of holding up the vehicles behind it.
+ * When a stage's queue is full, the stage before it waits for room, so work
+ * never piles up without limit.
+ * <p>
+ * Vehicles are admitted to the garage on the caller's thread, so a full
+ * garage still turns vehicles away at once. If a later stage fails, or the
+ * pipeline closes before the entry can be queued, the vehicle's space is
+ * given back and its ticket, if it was persisted, is closed, the same as
+ * <code>EntryStation.processParkingTransaction()</code>. Each stage counts its entries and keeps its queue depth and the
+ * time from being queued to finishing.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of EntryPipeline class</li>
+ * <li>2026-10-17: Queue stages through a <code>BoundedExecutor</code>, so an
+ * entry queued while the pipeline closes is finished or failed, never stranded</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.01
+ * @since 1.8
+ */
+public class EntryPipeline implements Closeable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+    private static final Logger LOGGER = Logger.getLogger(EntryPipeline.class.getName());
+
+    /**
+     * The stages of an entry, in the order they run
+     */
+    public enum Stage {
+        CAPTURE, ISSUE, PERSIST, PRINT, ACTUATE;
+
+        private Stage next() {
+            return this == ACTUATE ? null : values()[ordinal() + 1];
+        }
+    }
+
+    private final EntryStation station;
+    private final Map<Stage, BoundedExecutor> executors = new EnumMap<>(Stage.class);
+    private final Map<Stage, StageMetrics> metrics = new EnumMap<>(Stage.class);
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Constructs an EntryPipeline with one worker per stage and the default
+     * queue capacity
+     *
+     * @param station a valid <code>EntryStation</code> that is not null
+     */
+    public EntryPipeline(EntryStation station) {
+        this(station, DEFAULT_QUEUE_CAPACITY, 1, 1, 1, 1, 1);
+    }
+
+    /**
+     * Constructs an EntryPipeline and starts the workers of each stage
+     *
+     * @param station a valid <code>EntryStation</code> that is not null
+     * @param queueCapacity the number of entries that may wait at each stage,
+     * at least 1
+     * @param workersPerStage the number of workers for capture, issue,
+     * persist, print and actuate, each at least 1. Tickets may be printed and
+     * gates raised out of order when print or actuate has more than one.
+     * @throws IllegalArgumentException if the station is null or a count is invalid
+     */
+    public EntryPipeline(EntryStation station, int queueCapacity, int... workersPerStage) throws IllegalArgumentException {
+        if(station == null){
+            throw new IllegalArgumentException("Sorry, the station is null");
+        }
+        if(queueCapacity < 1){
+            throw new IllegalArgumentException("Sorry, each stage must queue at least one entry");
+        }
+        if(workersPerStage == null || workersPerStage.length != Stage.values().length){
+            throw new IllegalArgumentException("Sorry, there must be a worker count for each of the "
+                    + Stage.values().length + " stages");
+        }
+        this.station = station;
+        for(Stage stage : Stage.values()){
+            int workers = workersPerStage[stage.ordinal()];
+            if(workers < 1){
+                throw new IllegalArgumentException("Sorry, the " + stage + " stage needs at least one worker");
+            }
+            executors.put(stage, new BoundedExecutor(workers, queueCapacity, new StageThreadFactory(station, stage)));
+            metrics.put(stage, new StageMetrics());
+        }
+    }
+
+    /**
+     * Admits a vehicle to the garage and queues its entry. Returns once the
+     * entry is queued; the ticket is set on the vehicle when the gate stage
+     * finishes.
+     *
+     * @param vehicle a valid <code>Vehicle</code> that is not null
+     * @return true if the vehicle was admitted, false if the garage was full
+     * @throws IllegalArgumentException if the vehicle is null
+     * @throws IllegalStateException if the pipeline has been closed
+     */
+    public final boolean submit(Vehicle vehicle) throws IllegalArgumentException, IllegalStateException {
+        if(vehicle == null){
+            throw new IllegalArgumentException("Sorry, the vehicle is null");
+        }
+        if(closed){
+            throw new IllegalStateException("Sorry, the pipeline has been closed");
+        }
+        if(!station.admit()){
+            station.displayOutputToScreen("Sorry, the garage is full.");
+            return false;
+        }
+        Entry entry = new Entry(vehicle, station.allocateSpace());
+        inFlight.incrementAndGet();
+        try {
+            queue(Stage.CAPTURE, entry);
+        } catch (RejectedExecutionException ex) {
+            fail(entry, ex);
+            throw new IllegalStateException("Sorry, the pipeline has been closed");
+        }
+        return true;
+    }
+
+    private void queue(final Stage stage, final Entry entry) {
+        metrics.get(stage).queued(entry);
+        executors.get(stage).execute(new Runnable() {
+            @Override
+            public void run() {
+                process(stage, entry);
+            }
+        });
+    }
+
+    private void process(Stage stage, Entry entry) {
+        try {
+            switch(stage){
+                case CAPTURE:
+                    station.displayWelcome();
+                    entry.licensePlate = station.captureLicensePlate(entry.vehicle);
+                    break;
+                case ISSUE:
+                    entry.ticket = station.createTicket(entry.vehicle, entry.licensePlate, entry.space);
+                    break;
+                case PERSIST:
+                    station.persistTicket(entry.ticket, entry.licensePlate);
+                    entry.persisted = true;
+                    break;
+                case PRINT:
+                    station.printTicket(entry.ticket);
+                    break;
+                case ACTUATE:
+                    station.actuateGate(entry.vehicle, entry.ticket);
+                    break;
+            }
+        } catch (RuntimeException ex) {
+            metrics.get(stage).finished(entry);
+            fail(entry, ex);
+            return;
+        }
+        metrics.get(stage).finished(entry);
+        Stage next = stage.next();
+        if(next == null){
+            completedCount.incrementAndGet();
+            inFlight.decrementAndGet();
+            return;
+        }
+        try {
+            queue(next, entry);
+        } catch (RejectedExecutionException ex) {
+            fail(entry, ex);
+        }
+    }
+
+    private void fail(Entry entry, Exception ex) {
+        LOGGER.log(Level.WARNING, "Could not finish the entry of " + entry.vehicle.getLicensePlate(), ex);
+        try {
+            station.abandonEntry(entry.persisted ? entry.ticket : null, entry.space);
+        } catch (RuntimeException cleanup) {
+            LOGGER.log(Level.WARNING, "Could not give back the space of " + entry.vehicle.getLicensePlate(), cleanup);
+        }
+        failedCount.incrementAndGet();
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Waits until every entry submitted so far has finished or failed, or
+     * the timeout runs out
+     *
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if every entry finished in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public final boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while(inFlight.get() > 0){
+            if(System.nanoTime() >= deadline){
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * Finishes every queued entry, then stops the workers. Stages are shut
+     * down from first to last so each one has handed all of its entries on
+     * before the next one stops taking them.
+     */
+    @Override
+    public final void close() {
+        if(closed){
+            return;
+        }
+        closed = true;
+        for(Stage stage : Stage.values()){
+            BoundedExecutor executor = executors.get(stage);
+            executor.shutdown();
+            try {
+                while(!executor.awaitTermination(1, TimeUnit.SECONDS)){
+                    LOGGER.fine("Waiting for the " + stage + " stage to finish");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public final EntryStation getStation() {
+        return station;
+    }
+
+    public final int getQueueDepth(Stage stage) {
+        return executors.get(stage).getQueueDepth();
+    }
+
+    public final int getWorkerCount(Stage stage) {
+        return executors.get(stage).getWorkerCount();
+    }
+
+    public final long getProcessedCount(Stage stage) {
+        return metrics.get(stage).count.get();
+    }
+
+    /**
+     * Returns the average time an entry spent at a stage, waiting in its
+     * queue and being processed
+     *
+     * @param stage the <code>Stage</code>
+     * @return the average in milliseconds, 0 if the stage has processed nothing
+     */
+    public final double getAverageLatencyMillis(Stage stage) {
+        StageMetrics m = metrics.get(stage);
+        long count = m.count.get();
+        return count == 0 ? 0 : m.totalNanos.get() / 1e6 / count;
+    }
+
+    /**
+     * Returns the longest time an entry spent at a stage, waiting in its
+     * queue and being processed
+     *
+     * @param stage the <code>Stage</code>
+     * @return the longest time in milliseconds
+     */
+    public final double getMaxLatencyMillis(Stage stage) {
+        return metrics.get(stage).maxNanos.get() / 1e6;
+    }
+
+    public final long getInFlightCount() {
+        return inFlight.get();
+    }
+
+    public final long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public final long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public final boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 3;
+        hash = 59 * hash + Objects.hashCode(this.station);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final EntryPipeline other = (EntryPipeline) obj;
+        if (!Objects.equals(this.station, other.station)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the queue depth and average latency of each stage
+     *
+     * @return a <code>String</code> describing the pipeline
+     */
+    @Override
+    public final String toString() {
+        StringBuilder s = new StringBuilder("Entry pipeline for ").append(station.getEntryStationID());
+        for(Stage stage : Stage.values()){
+            s.append(String.format("%n%-8s queued %3d, processed %7d, avg %8.3f ms, max %8.3f ms", stage,
+                    getQueueDepth(stage), getProcessedCount(stage), getAverageLatencyMillis(stage),
+                    getMaxLatencyMillis(stage)));
+        }
+        return s.append(String.format("%n%d completed, %d failed, %d in flight",
+                completedCount.get(), failedCount.get(), inFlight.get())).toString();
+    }
+
+    /*
+     * One vehicle's entry as it moves from stage to stage. Each stage hands it
+     * to the next through the executor's queue, which makes the earlier
+     * stage's writes visible to the later one.
+     */
+    private static final class Entry {
+        private final Vehicle vehicle;
+        private final int space;
+        private String licensePlate;
+        private Ticket ticket;
+        private boolean persisted;
+        private long queuedAt;
+
+        private Entry(Vehicle vehicle, int space) {
+            this.vehicle = vehicle;
+            this.space = space;
+        }
+    }
+
+    private static final class StageMetrics {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void queued(Entry entry) {
+            entry.queuedAt = System.nanoTime();
+        }
+
+        private void finished(Entry entry) {
+            long nanos = System.nanoTime() - entry.queuedAt;
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            long max = maxNanos.get();
+            while(nanos > max && !maxNanos.compareAndSet(max, nanos)){
+                max = maxNanos.get();
+            }
+        }
+    }
+
+    private static final class StageThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger threadNum = new AtomicInteger();
+
+        private StageThreadFactory(EntryStation station, Stage stage) {
+            prefix = station.getEntryStationID() + "-" + stage.name().toLowerCase() + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, prefix + threadNum.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package ics.parkinggarageapp;
 
+import java.time.Clock;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
 
 /**
  * An EntryStation is an implementation of <code>AutomatedParkingStation</code>.
@@ -15,22 +18,44 @@ import java.util.Objects;
  * <li>2017-11-14: Add unique identifier to differentiate between entry stations</li>
  * <li>2017-11-30: Add <code>TicketDatabase</code> to track cars and tickets</li>
  * <li>2017-12-12: Add and use <code>ExternalSpecFactory</code> in application</li>
+ * <li>2026-10-17: Warn when a license plate already has an open ticket</li>
+ * <li>2026-10-17: Show messages on any <code>ParkingInfoOutput</code>, queued by default so
+ * the station does not wait for the screen</li>
+ * <li>2026-10-17: Take the time parked for each ticket from an optional function</li>
+ * <li>2026-10-17: Read entry times from an optional <code>Clock</code></li>
+ * <li>2026-10-17: Admit vehicles with <code>ParkingGarage.tryAdmit()</code> and turn them away,
+ * or let them wait, when the garage is full</li>
+ * <li>2026-10-17: Give each vehicle the free space nearest the gate when the garage has a
+ * <code>ParkingSpaceMap</code></li>
+ * <li>2026-10-17: Split entries into steps that an <code>EntryPipeline</code> can run on separate
+ * workers</li>
+ * <li>2026-10-17: Print tickets through an optional <code>PrintSpooler</code></li>
+ * <li>2026-10-17: Publish TicketIssued and VehicleEntered events to an optional
+ * <code>ParkingEventBus</code></li>
+ * <li>2026-10-17: Close the persisted ticket of a failed entry, like <code>EntryPipeline</code></li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.04
+ * @version 1.14
  * @since 1.8
  */
 public class EntryStation {
     private static int entryStationNum;
     private String entryStationID;
-    private ParkingStationScreen screen = new ParkingStationScreen();
+    private ParkingInfoOutput screen = new QueuedParkingInfoOutput(new ParkingStationScreen());
     private TicketPrinter ticketPrinter;
     private TicketDatabase ticketDB;
     private Camera camera;
     private ParkingGarage garage;
     private String welcomeMessage;
     private boolean armLowered = true;
+    private ToLongFunction<Vehicle> minutesParked;
+    private Clock clock;
+    private long fullWaitMillis;
+    private int gateLevel;
+    private int gateSpace;
+    private PrintSpooler printSpooler;
+    private ParkingEventBus eventBus;
     
     /**
      * Constructor to create an EntryStation object
@@ -51,28 +76,137 @@ public class EntryStation {
     
     /**
      * Creates and prints a ticket for the vehicle that is parking in the garage
-     * and deducts one space from the number of available parking spaces
+     * and deducts one space from the number of available parking spaces. A
+     * warning is shown if the license plate already has an open ticket. If the
+     * garage is full, the vehicle waits up to the full wait time for a space
+     * and is turned away without a ticket if none is left.
      * 
      * @param vehicle a valid <code>Vehicle</code> that is not null
+     * @return true if the vehicle was given a ticket, false if the garage was full
      */
-    public final void processParkingTransaction(Vehicle vehicle){
+    public final boolean processParkingTransaction(Vehicle vehicle){
+        displayWelcome();
+        if(!admit()){
+            displayOutputToScreen("Sorry, the garage is full.");
+            return false;
+        }
+        int space = allocateSpace();
+        Ticket persisted = null;
+        try {
+            String licensePlate = captureLicensePlate(vehicle);
+            Ticket ticket = createTicket(vehicle, licensePlate, space);
+            persistTicket(ticket, licensePlate);
+            persisted = ticket;
+            printTicket(ticket);
+            actuateGate(vehicle, ticket);
+        } catch (RuntimeException ex) {
+            abandonEntry(persisted, space);
+            throw ex;
+        }
+        return true;
+    }
+    
+    /*
+     * The steps of an entry, in order. processParkingTransaction() runs them
+     * one after another, an EntryPipeline runs each one on its own workers.
+     */
+    
+    final void displayWelcome() {
         displayOutputToScreen(welcomeMessage + "\n\nThere are " + garage.getEmptyParkingSpaces() + " spaces available.");
-        camera.capture(vehicle.getLicensePlate());
-        Ticket ticket = new Ticket(vehicle);
-        setTicketPrinter(new TicketPrinter(ticket));
-        ticketDB.addTicket(ticket, camera.getData());
-        activatePrinter(ticketPrinter);
+    }
+    
+    final boolean admit() {
+        if(fullWaitMillis <= 0){
+            return garage.tryAdmit();
+        }
+        try {
+            return garage.tryAdmit(fullWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    final int allocateSpace() {
+        ParkingSpaceMap spaceMap = garage.getSpaceMap();
+        return spaceMap == null ? ParkingSpaceMap.NO_SPACE : spaceMap.allocateNearest(gateLevel, gateSpace);
+    }
+    
+    /*
+     * Undoes a failed entry: closes its ticket if it was persisted, so it does
+     * not stay open for the plate, and gives the space back so a failed entry
+     * does not shrink the garage
+     */
+    final void abandonEntry(Ticket persisted, int space) {
+        if(persisted != null){
+            ticketDB.closeTicket(persisted);
+        }
+        releaseSpace(space);
+    }
+    
+    final void releaseSpace(int space) {
+        ParkingSpaceMap spaceMap = garage.getSpaceMap();
+        if(spaceMap != null && space != ParkingSpaceMap.NO_SPACE){
+            spaceMap.release(space);
+        }
+        garage.leaveParkingSpace();
+    }
+    
+    final String captureLicensePlate(Vehicle vehicle) {
+        //The camera holds the last capture, so pipeline workers take turns with it
+        synchronized(camera){
+            camera.capture(vehicle.getLicensePlate());
+            return camera.getData();
+        }
+    }
+    
+    final Ticket createTicket(Vehicle vehicle, String licensePlate, int space) {
+        if(ticketDB.hasOpenTicket(licensePlate)){
+            displayOutputToScreen("A ticket is already open for " + licensePlate
+                    + ".\nPlease see an attendant if this vehicle has not left the garage.");
+        }
+        Ticket ticket;
+        if(clock != null){
+            ticket = new Ticket(vehicle, clock);
+        } else if(minutesParked != null){
+            ticket = new Ticket(vehicle, minutesParked.applyAsLong(vehicle));
+        } else {
+            ticket = new Ticket(vehicle);
+        }
+        if(space != ParkingSpaceMap.NO_SPACE){
+            ticket.setParkingSpace(space, garage.getSpaceMap().describe(space));
+        }
+        return ticket;
+    }
+    
+    final void persistTicket(Ticket ticket, String licensePlate) {
+        ticketDB.addTicket(ticket, licensePlate);
+        if(eventBus != null){
+            eventBus.publish(new ParkingEvent.TicketIssued(entryStationID, eventTime(), ticket, licensePlate));
+        }
+    }
+    
+    final void printTicket(Ticket ticket) {
+        TicketPrinter printer = new TicketPrinter(ticket);
+        setTicketPrinter(printer);
+        activatePrinter(printSpooler == null ? printer : new SpoolingPrinter(ticket, printSpooler));
+    }
+    
+    final void actuateGate(Vehicle vehicle, Ticket ticket) {
         raiseArm();
         vehicle.setTicket(ticket);
-        garage.fillParkingSpace();
         lowerArm();
+        if(eventBus != null){
+            eventBus.publish(new ParkingEvent.VehicleEntered(entryStationID, eventTime(), vehicle));
+        }
     }
     
     /**
-     * Calls the screen output method with a message to display
+     * Calls the screen output method with a message to display. The default
+     * screen queues the message and returns without waiting for it to be shown.
      * 
      * @param message a <code>String</code> that is not null and contains the 
-     * information to display on the <code>ParkingStationScreen</code>
+     * information to display on the <code>ParkingInfoOutput</code>
      */
     public final void displayOutputToScreen(String message) {
         screen.outputParkingInfo(message);
@@ -128,12 +262,16 @@ public class EntryStation {
         }
     }
 
-    public final ParkingStationScreen getScreen() {
+    public final ParkingInfoOutput getScreen() {
         return screen;
     }
 
-    public final void setScreen(ParkingStationScreen screen) throws IllegalArgumentException {
+    public final void setScreen(ParkingInfoOutput screen) throws IllegalArgumentException {
         if(screen != null){
+            if(this.screen instanceof QueuedParkingInfoOutput && this.screen != screen){
+                //Stop the renderer thread of the screen being replaced
+                ((QueuedParkingInfoOutput)this.screen).close();
+            }
             this.screen = screen;
         } else {
             throw new IllegalArgumentException("Sorry, the screen is null");
@@ -164,6 +302,112 @@ public class EntryStation {
         }
     }
 
+    public final ToLongFunction<Vehicle> getMinutesParked() {
+        return minutesParked;
+    }
+
+    /**
+     * Sets where the time parked printed on each ticket comes from. When it is
+     * null, as it is by default, each ticket draws a random time parked.
+     * 
+     * @param minutesParked a function giving the minutes each vehicle will be
+     * parked, or null for random times
+     */
+    public final void setMinutesParked(ToLongFunction<Vehicle> minutesParked) {
+        this.minutesParked = minutesParked;
+    }
+    
+    public final Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the clock that entry times are read from. With a clock, tickets
+     * get their exit time when the vehicle leaves instead of a made-up one,
+     * and the minutes parked function is not used. When it is null, as it is
+     * by default, tickets use the system time.
+     * 
+     * @param clock a <code>Clock</code>, like a <code>VirtualClock</code>, or null
+     */
+    public final void setClock(Clock clock) {
+        this.clock = clock;
+    }
+    
+    public final long getFullWaitMillis() {
+        return fullWaitMillis;
+    }
+
+    /**
+     * Sets how long a vehicle waits at the gate for a space when the garage
+     * is full before it is turned away
+     * 
+     * @param fullWaitMillis milliseconds to wait, 0 to turn vehicles away at once
+     * @throws IllegalArgumentException if fullWaitMillis is negative
+     */
+    public final void setFullWaitMillis(long fullWaitMillis) throws IllegalArgumentException {
+        if(fullWaitMillis >= 0){
+            this.fullWaitMillis = fullWaitMillis;
+        } else {
+            throw new IllegalArgumentException("Sorry, the full wait cannot be negative");
+        }
+    }
+    
+    public final ParkingEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Sets the bus that TicketIssued and VehicleEntered events are published to
+     * 
+     * @param eventBus a <code>ParkingEventBus</code>, or null to publish nothing
+     */
+    public final void setEventBus(ParkingEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    private long eventTime() {
+        return clock == null ? System.currentTimeMillis() : clock.millis();
+    }
+    
+    public final PrintSpooler getPrintSpooler() {
+        return printSpooler;
+    }
+
+    /**
+     * Sets the spooler that tickets are sent to. With a spooler, printing
+     * returns without waiting for the console. When it is null, as it is by
+     * default, tickets are printed to the console on the station's thread.
+     * 
+     * @param printSpooler a <code>PrintSpooler</code>, or null
+     */
+    public final void setPrintSpooler(PrintSpooler printSpooler) {
+        this.printSpooler = printSpooler;
+    }
+    
+    public final int getGateLevel() {
+        return gateLevel;
+    }
+
+    public final int getGateSpace() {
+        return gateSpace;
+    }
+
+    /**
+     * Sets where the station is, so vehicles are given the free space nearest
+     * to it when the garage has a <code>ParkingSpaceMap</code>
+     * 
+     * @param gateLevel the level the station is on, starting at 0
+     * @param gateSpace the space on that level closest to the station, starting at 0
+     * @throws IllegalArgumentException if either is negative
+     */
+    public final void setGatePosition(int gateLevel, int gateSpace) throws IllegalArgumentException {
+        if(gateLevel < 0 || gateSpace < 0){
+            throw new IllegalArgumentException("Sorry, that gate position is invalid");
+        }
+        this.gateLevel = gateLevel;
+        this.gateSpace = gateSpace;
+    }
+    
     public final boolean isArmLowered() {
         return armLowered;
     }
@@ -0,0 +1,237 @@
+package ics.parkinggarageapp;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An EscPosEncoder turns a <code>Ticket</code> or <code>Receipt</code> into
+ * the ESC/POS commands that thermal ticket and receipt printers take. The
+ * printer commands and the fixed lines of each document are encoded to bytes
+ * once, and the rest is written a character at a time into one
+ * <code>ByteBuffer</code> that the encoder reuses, so encoding a document
+ * creates no objects once the buffer has grown to fit. Tickets end with a
+ * CODE128 barcode of the vehicle ID so an exit station can scan them.
+ * <p>
+ * Text is printed as ASCII; any other character prints as <code>?</code>.
+ * An EscPosEncoder is not thread-safe. forCurrentThread() gives each thread
+ * its own.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of EscPosEncoder class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public final class EscPosEncoder {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final byte ESC = 0x1B;
+    private static final byte GS = 0x1D;
+    private static final byte LF = 0x0A;
+
+    private static final byte[] INITIALIZE = {ESC, '@'};
+    private static final byte[] ALIGN_LEFT = {ESC, 'a', 0};
+    private static final byte[] ALIGN_CENTER = {ESC, 'a', 1};
+    private static final byte[] BOLD_ON = {ESC, 'E', 1};
+    private static final byte[] BOLD_OFF = {ESC, 'E', 0};
+    private static final byte[] DOUBLE_SIZE = {GS, '!', 0x11};
+    private static final byte[] NORMAL_SIZE = {GS, '!', 0};
+    private static final byte[] FEED_AND_CUT = {GS, 'V', 66, 3};
+    //Barcode 80 dots high, 2 dots per module, with the digits printed below it
+    private static final byte[] BARCODE_SETUP = {GS, 'h', 80, GS, 'w', 2, GS, 'H', 2};
+    private static final byte[] CODE128 = {GS, 'k', 73};
+    private static final byte[] CODE_SET_B = {'{', 'B'};
+    private static final int MAX_BARCODE_DATA = 255 - CODE_SET_B.length;
+
+    private static final byte[] TICKET_TITLE = ascii("PARKING TICKET\n");
+    private static final byte[] TICKET_NUMBER = ascii("Ticket #: ");
+    private static final byte[] VEHICLE_ID = ascii("Vehicle ID: ");
+    private static final byte[] ENTRY_TIME = ascii("Entry Time: ");
+    private static final byte[] PARKING_SPACE = ascii("Parking Space: ");
+    private static final byte[] DASHBOARD = ascii("PLACE THIS TICKET ON DASHBOARD\n");
+    private static final byte[] RECEIPT_TITLE = ascii("RECEIPT\n");
+    private static final byte[] RECEIPT_NUMBER = ascii("Receipt #: ");
+    private static final byte[] EXIT_TIME = ascii("Exit Time: ");
+    private static final byte[] HOURS_PARKED = ascii("Hours Parked: ");
+    private static final byte[] TOTAL_DUE = ascii("TOTAL DUE: ");
+
+    private static final ThreadLocal<EscPosEncoder> ENCODERS = new ThreadLocal<EscPosEncoder>() {
+        @Override
+        protected EscPosEncoder initialValue() {
+            return new EscPosEncoder(DEFAULT_CAPACITY);
+        }
+    };
+
+    private ByteBuffer buffer;
+    private final StringBuilder scratch = new StringBuilder(32);
+
+    /**
+     * Constructs an EscPosEncoder
+     *
+     * @param capacity the starting size of the buffer in bytes, at least 1.
+     * The buffer grows if a document does not fit.
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    public EscPosEncoder(int capacity) throws IllegalArgumentException {
+        if(capacity < 1){
+            throw new IllegalArgumentException("Sorry, the buffer must hold at least one byte");
+        }
+        buffer = ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * Returns the EscPosEncoder of the current thread
+     *
+     * @return an <code>EscPosEncoder</code> only used by this thread
+     */
+    public static EscPosEncoder forCurrentThread() {
+        return ENCODERS.get();
+    }
+
+    /**
+     * Encodes a ticket with a barcode of its vehicle ID
+     *
+     * @param ticket a valid <code>Ticket</code> that is not null
+     * @return the buffer, ready to be written, which holds the ticket until
+     * this encoder encodes something else
+     */
+    public ByteBuffer encode(Ticket ticket) {
+        buffer.clear();
+        put(INITIALIZE).put(ALIGN_CENTER).put(BOLD_ON).put(DOUBLE_SIZE).put(TICKET_TITLE)
+                .put(NORMAL_SIZE).put(BOLD_OFF).put(ALIGN_LEFT);
+        put(TICKET_NUMBER).putNumber(Ticket.getTicketNum()).putByte(LF);
+        put(VEHICLE_ID).putText(ticket.getVehicle().getVehicleID()).putByte(LF).putByte(LF);
+        scratch.setLength(0);
+        put(ENTRY_TIME).putText(PrintRenderer.appendDateTime(scratch, ticket.getEntryTime())).putByte(LF);
+        if(ticket.getParkingSpaceName() != null){
+            put(PARKING_SPACE).put(BOLD_ON).putText(ticket.getParkingSpaceName()).put(BOLD_OFF).putByte(LF);
+        }
+        putByte(LF).put(ALIGN_CENTER).put(DASHBOARD);
+        putBarcode(ticket.getVehicle().getVehicleID());
+        return finish();
+    }
+
+    /**
+     * Encodes a receipt
+     *
+     * @param receipt a valid <code>Receipt</code> that is not null
+     * @return the buffer, ready to be written, which holds the receipt until
+     * this encoder encodes something else
+     */
+    public ByteBuffer encode(Receipt receipt) {
+        ParkingGarage garage = receipt.getParkingGarage();
+        buffer.clear();
+        put(INITIALIZE).put(ALIGN_CENTER).put(BOLD_ON).put(DOUBLE_SIZE).put(RECEIPT_TITLE)
+                .put(NORMAL_SIZE).putText(garage.getGarageName()).put(BOLD_OFF).putByte(LF)
+                .putText(garage.getGarageAddress()).putByte(LF).putByte(LF).put(ALIGN_LEFT);
+        put(RECEIPT_NUMBER).putNumber(Receipt.getReceiptNum()).putByte(LF);
+        scratch.setLength(0);
+        put(EXIT_TIME).putText(PrintRenderer.appendDateTime(scratch, receipt.getExitTime())).putByte(LF);
+        put(VEHICLE_ID).putText(receipt.getTicket().getVehicle().getVehicleID()).putByte(LF);
+        scratch.setLength(0);
+        put(HOURS_PARKED).putText(PrintRenderer.appendHours(scratch, receipt.getTicket().getTimeParked())).putByte(LF);
+        scratch.setLength(0);
+        putByte(LF).put(BOLD_ON).put(DOUBLE_SIZE).put(TOTAL_DUE)
+                .putText(Money.appendTo(scratch, receipt.calcTotalDueCents())).put(NORMAL_SIZE).put(BOLD_OFF)
+                .putByte(LF);
+        return finish();
+    }
+
+    /**
+     * Encodes any other document as plain lines of text
+     *
+     * @param media a valid <code>PrintMedia</code> that is not null
+     * @return the buffer, ready to be written, which holds the document until
+     * this encoder encodes something else
+     */
+    public ByteBuffer encode(PrintMedia media) {
+        if(media instanceof Ticket){
+            return encode((Ticket)media);
+        } else if(media instanceof Receipt){
+            return encode((Receipt)media);
+        }
+        buffer.clear();
+        put(INITIALIZE).putText(media.formatForPrinting()).putByte(LF);
+        return finish();
+    }
+
+    private ByteBuffer finish() {
+        put(FEED_AND_CUT);
+        buffer.flip();
+        return buffer;
+    }
+
+    private void putBarcode(CharSequence data) {
+        int length = Math.min(data.length(), MAX_BARCODE_DATA);
+        put(BARCODE_SETUP).put(CODE128).putByte((byte)(CODE_SET_B.length + length)).put(CODE_SET_B);
+        ensureRoom(length);
+        for(int i = 0; i < length; i++){
+            buffer.put(toAscii(data.charAt(i)));
+        }
+        putByte(LF);
+    }
+
+    private EscPosEncoder put(byte[] bytes) {
+        ensureRoom(bytes.length);
+        buffer.put(bytes);
+        return this;
+    }
+
+    private EscPosEncoder putByte(byte b) {
+        ensureRoom(1);
+        buffer.put(b);
+        return this;
+    }
+
+    private EscPosEncoder putText(CharSequence text) {
+        int length = text.length();
+        ensureRoom(length);
+        for(int i = 0; i < length; i++){
+            char c = text.charAt(i);
+            //Documents are built with \n, which the printer takes as a line feed
+            buffer.put(c == '\n' ? LF : toAscii(c));
+        }
+        return this;
+    }
+
+    private EscPosEncoder putNumber(long number) {
+        scratch.setLength(0);
+        return putText(scratch.append(number));
+    }
+
+    private static byte toAscii(char c) {
+        return c >= ' ' && c < 0x7F ? (byte)c : (byte)'?';
+    }
+
+    private void ensureRoom(int bytes) {
+        if(buffer.remaining() < bytes){
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            buffer = bigger.put(buffer);
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        byte[] bytes = new byte[text.length()];
+        for(int i = 0; i < bytes.length; i++){
+            char c = text.charAt(i);
+            bytes[i] = c == '\n' ? LF : toAscii(c);
+        }
+        return bytes;
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Returns the size of this encoder's buffer
+     *
+     * @return a <code>String</code> describing the encoder
+     */
+    @Override
+    public String toString() {
+        return "ESC/POS encoder with a " + buffer.capacity() + " byte buffer";
+    }
+}
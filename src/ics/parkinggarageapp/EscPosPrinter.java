@@ -0,0 +1,118 @@
+package ics.parkinggarageapp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * The EscPosPrinter is an implementation of <code>Printer</code> that sends a
+ * <code>Ticket</code>, <code>Receipt</code> or other <code>PrintMedia</code>
+ * to a thermal printer as ESC/POS bytes. The bytes come from the
+ * <code>EscPosEncoder</code> of the printing thread and are written to a
+ * <code>WritableByteChannel</code>, which can be the printer device, a pipe,
+ * or a file in tests. Stations that share a channel take turns writing so
+ * their documents never interleave.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of EscPosPrinter class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public class EscPosPrinter implements Printer {
+    private PrintMedia media;
+    private WritableByteChannel channel;
+
+    /**
+     * Constructor for an EscPosPrinter object
+     *
+     * @param media a valid <code>PrintMedia</code> that is not null
+     * @param channel a valid, open <code>WritableByteChannel</code> that is not null
+     */
+    public EscPosPrinter(PrintMedia media, WritableByteChannel channel) {
+        setMedia(media);
+        setChannel(channel);
+    }
+
+    /**
+     * Encodes the media and writes all of its bytes to the channel
+     *
+     * @throws IllegalStateException if the channel cannot be written to
+     */
+    @Override
+    public final void performPrint() throws IllegalStateException {
+        ByteBuffer bytes = EscPosEncoder.forCurrentThread().encode(media);
+        try {
+            synchronized(channel){
+                while(bytes.hasRemaining()){
+                    channel.write(bytes);
+                }
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Sorry, the printer could not be written to", ex);
+        }
+    }
+
+    public final PrintMedia getMedia() {
+        return media;
+    }
+
+    public final void setMedia(PrintMedia media) throws IllegalArgumentException {
+        if(media != null){
+            this.media = media;
+        } else {
+            throw new IllegalArgumentException("Sorry, that is invalid print media");
+        }
+    }
+
+    public final WritableByteChannel getChannel() {
+        return channel;
+    }
+
+    public final void setChannel(WritableByteChannel channel) throws IllegalArgumentException {
+        if(channel != null && channel.isOpen()){
+            this.channel = channel;
+        } else {
+            throw new IllegalArgumentException("Sorry, the printer channel must be open");
+        }
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 5;
+        hash = 71 * hash + Objects.hashCode(this.media);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final EscPosPrinter other = (EscPosPrinter) obj;
+        if (!Objects.equals(this.media, other.media)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the media being printed
+     *
+     * @return a <code>String</code> describing the printer
+     */
+    @Override
+    public final String toString() {
+        return "ESC/POS " + media.getClass().getSimpleName() + " to " + channel;
+    }
+}
@@ -1,5 +1,8 @@
 package ics.parkinggarageapp;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -18,22 +21,36 @@ import java.util.logging.Logger;
  * <li>2017-11-10: Replace checkOutVehicle() with processParkingTransaction() to
  * more closely follow DIP/Strategy Pattern</li>
  * <li>2017-11-14: Add unique identifier to differentiate between exit stations</li>
+ * <li>2026-10-17: Find lost tickets by license plate and close tickets in the
+ * <code>TicketDatabase</code> at exit</li>
+ * <li>2026-10-17: Record payments in cents</li>
+ * <li>2026-10-17: Show messages on any <code>ParkingInfoOutput</code>, queued by default so
+ * the station does not wait for the screen</li>
+ * <li>2026-10-17: Check tickets out at the time of an optional <code>Clock</code></li>
+ * <li>2026-10-17: Free the vehicle's space in the garage's <code>ParkingSpaceMap</code></li>
+ * <li>2026-10-17: Print receipts through an optional <code>PrintSpooler</code></li>
+ * <li>2026-10-17: Publish VehicleExited and PaymentRecorded events to an optional
+ * <code>ParkingEventBus</code> instead of updating the totals on the exit path</li>
+ * <li>2026-10-17: Refuse the exit when the ticket is no longer open instead of charging it again</li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.02
+ * @version 1.10
  * @since 1.8
  */
 public class ExitStation {
     private static int exitStationNum;
     private String exitStationID;
-    private ParkingStationScreen screen = new ParkingStationScreen();
+    private ParkingInfoOutput screen = new QueuedParkingInfoOutput(new ParkingStationScreen());
     private ReceiptPrinter receiptPrinter;
     private ParkingGarage garage;
     private String exitMessage;
     private ParkingFeeCalculator parkingFeeCalc;
     private ManagementReportGenerator reportGen;
     private boolean armLowered = true;
+    private Clock clock;
+    private PrintSpooler printSpooler;
+    private ParkingEventBus eventBus;
     
     /**
      * Constructor to create an ExitStation object
@@ -57,31 +74,66 @@ public class ExitStation {
     
     /**
      * Receives the vehicle's ticket from entry and prints a receipt with the
-     * calculated fee for the time parked
+     * calculated fee for the time parked. If the driver has lost the ticket,
+     * the oldest open ticket for the vehicle's license plate is used instead.
+     * The ticket is closed before anything is charged, so a ticket that has
+     * already been paid at another exit is refused.
      * 
      * @param vehicle a valid <code>Vehicle</code> that is not null
+     * @throws IllegalArgumentException if the vehicle has no ticket and no open
+     * ticket is found for its license plate, or its ticket is no longer open
      */
     public final void processParkingTransaction(Vehicle vehicle) throws IllegalArgumentException, EncodingException {
+        TicketDatabase ticketDB = reportGen.getTicketDB();
         Ticket ticket = vehicle.getTicket();
+        if(ticket == null){
+            List<Ticket> openTickets = ticketDB.findOpenTickets(vehicle.getLicensePlate());
+            if(openTickets.isEmpty()){
+                throw new IllegalArgumentException("Sorry, no open ticket was found for " + vehicle.getLicensePlate());
+            }
+            ticket = openTickets.get(0);
+        }
+        if(!ticketDB.closeTicket(ticket)){
+            //Already paid, possibly by another exit that found the same lost ticket
+            throw new IllegalArgumentException("Sorry, the ticket for " + vehicle.getLicensePlate() + " is not open");
+        }
+        if(clock != null){
+            ticket.checkOut(LocalDateTime.now(clock));
+        } else if(!ticket.isCheckedOut()){
+            ticket.checkOut(LocalDateTime.now());
+        }
         displayOutputToScreen(exitMessage);
         Receipt receipt = new Receipt(garage, ticket, parkingFeeCalc);
         receiptPrinter = new ReceiptPrinter(receipt);
-        activatePrinter(receiptPrinter);
+        activatePrinter(printSpooler == null ? receiptPrinter : new SpoolingPrinter(receipt, printSpooler));
         raiseArm();
+        ParkingSpaceMap spaceMap = garage.getSpaceMap();
+        if(spaceMap != null && ticket.getParkingSpace() != ParkingSpaceMap.NO_SPACE){
+            spaceMap.release(ticket.getParkingSpace());
+        }
         garage.leaveParkingSpace();
         lowerArm();
+        if(eventBus != null){
+            //Subscribers, like the report generator, update on their own threads
+            long time = eventTime();
+            eventBus.publish(new ParkingEvent.VehicleExited(exitStationID, time, vehicle, ticket));
+            eventBus.publish(new ParkingEvent.PaymentRecorded(exitStationID, time, ticket,
+                    ticket.getTimeParked(), receipt.calcTotalDueCents()));
+            return;
+        }
         try {
             //Generate a report for management after the vehicle is checked out
-            reportGen.updateTotals(ticket.getTimeParked(), receipt.calcTotalDue());
+            reportGen.updateTotalsCents(ticket.getTimeParked(), receipt.calcTotalDueCents());
         } catch (Exception ex) {
         }
     }
     
     /**
-     * Calls the screen output method with a message to display
+     * Calls the screen output method with a message to display. The default
+     * screen queues the message and returns without waiting for it to be shown.
      * 
      * @param message a <code>String</code> that is not null and contains the 
-     * information to display on the <code>ParkingStationScreen</code>
+     * information to display on the <code>ParkingInfoOutput</code>
      */
     public final void displayOutputToScreen(String message) {
         screen.outputParkingInfo(message);
@@ -138,12 +190,16 @@ public class ExitStation {
         }
     }
 
-    public final ParkingStationScreen getScreen() {
+    public final ParkingInfoOutput getScreen() {
         return screen;
     }
 
-    public final void setScreen(ParkingStationScreen screen) throws IllegalArgumentException {
+    public final void setScreen(ParkingInfoOutput screen) throws IllegalArgumentException {
         if(screen != null){
+            if(this.screen instanceof QueuedParkingInfoOutput && this.screen != screen){
+                //Stop the renderer thread of the screen being replaced
+                ((QueuedParkingInfoOutput)this.screen).close();
+            }
             this.screen = screen;
         } else {
             throw new IllegalArgumentException("Sorry, the screen is null");
@@ -198,6 +254,57 @@ public class ExitStation {
         }
     }
     
+    public final Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the clock that exit times are read from. With a clock, every
+     * ticket is checked out at the clock's time, so the receipt shows the
+     * real time parked. When it is null, as it is by default, tickets keep
+     * the exit time given at entry.
+     * 
+     * @param clock a <code>Clock</code>, like a <code>VirtualClock</code>, or null
+     */
+    public final void setClock(Clock clock) {
+        this.clock = clock;
+    }
+    
+    public final ParkingEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Sets the bus that VehicleExited and PaymentRecorded events are published
+     * to. With a bus, the station no longer updates the running totals itself,
+     * so the <code>ManagementReportGenerator</code> must subscribe with
+     * subscribeTo().
+     * 
+     * @param eventBus a <code>ParkingEventBus</code>, or null to publish nothing
+     */
+    public final void setEventBus(ParkingEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    private long eventTime() {
+        return clock == null ? System.currentTimeMillis() : clock.millis();
+    }
+    
+    public final PrintSpooler getPrintSpooler() {
+        return printSpooler;
+    }
+
+    /**
+     * Sets the spooler that receipts are sent to. With a spooler, printing
+     * returns without waiting for the console. When it is null, as it is by
+     * default, receipts are printed to the console on the station's thread.
+     * 
+     * @param printSpooler a <code>PrintSpooler</code>, or null
+     */
+    public final void setPrintSpooler(PrintSpooler printSpooler) {
+        this.printSpooler = printSpooler;
+    }
+    
     public final boolean isArmLowered() {
         return armLowered;
     }
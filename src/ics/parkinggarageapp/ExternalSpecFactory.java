@@ -2,8 +2,11 @@ package ics.parkinggarageapp;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * This ExternalSpecFactory reads in the specifications for building objects
@@ -13,13 +16,17 @@ import java.util.Properties;
  * Revision History:
  * <ul>
  * <li>2017-12-12: Initial version</li>
+ * <li>2026-10-17: Attach a <code>TicketLog</code> when <code>ticketlog</code> is set</li>
+ * <li>2026-10-17: Log a ticket log that cannot be opened or replayed at SEVERE and
+ * return no database instead of one that loses its tickets</li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.00
+ * @version 1.02
  * @since 1.8
  */
 public abstract class ExternalSpecFactory {
+    private static final Logger LOGGER = Logger.getLogger(ExternalSpecFactory.class.getName());
 
     public static Camera getCameraInstance() {
         Camera cam = null;
@@ -60,8 +67,37 @@ public abstract class ExternalSpecFactory {
             
         } catch (Exception ex) {
             System.out.println("Error reading config.properties");
+            return null;
+        }
+        
+        String logPath = props.getProperty("ticketlog");
+        if(logPath != null && logPath.length() > 0){
+            boolean sync = Boolean.parseBoolean(props.getProperty("ticketlog.sync", "true"));
+            if(!attachTicketLog(db, new File(logPath), sync)){
+                //Without its log the database would lose every ticket on restart
+                return null;
+            }
         }
         
         return db;
     }
+    
+    private static boolean attachTicketLog(TicketDatabase db, File logFile, boolean sync) {
+        TicketLog log = null;
+        try {
+            log = new TicketLog(logFile, sync);
+            db.setTicketLog(log);
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(Level.SEVERE, "Could not open or replay the ticket log " + logFile, ex);
+            if(log != null){
+                try {
+                    log.close();
+                } catch (IOException closeEx) {
+                    LOGGER.log(Level.WARNING, "Could not close the ticket log " + logFile, closeEx);
+                }
+            }
+            return false;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,456 @@
+package ics.parkinggarageapp;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * HeadlessStartup runs the parking garage without a display. It builds the
+ * <code>ParkingGarage</code>, the <code>EntryStation</code>s and
+ * <code>ExitStation</code>s and a <code>ManagementReportGenerator</code> from
+ * a properties file, then reads vehicle events one per line from a file or
+ * standard input until the input ends. Events are:
+ * <ul>
+ * <li><code>ENTER plate</code>: the vehicle takes a ticket at the next entry station</li>
+ * <li><code>EXIT plate</code>: the vehicle pays at the next exit station. A
+ * plate that did not enter during this run is treated as a lost ticket.</li>
+ * <li><code>REPORT</code>: prints the running totals report</li>
+ * </ul>
+ * Blank lines and lines starting with <code>#</code> are skipped. A bad event
+ * is logged and the run continues. Vehicles that arrive when the garage is
+ * full are turned away and counted.
+ * <p>
+ * Run with: <code>java ics.parkinggarageapp.HeadlessStartup [config.properties] [events.txt]</code>
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of HeadlessStartup class</li>
+ * <li>2026-10-17: Count vehicles turned away when the garage is full</li>
+ * <li>2026-10-17: Assign parking spaces when garage.levels is set</li>
+ * <li>2026-10-17: Print through a <code>PrintSpooler</code> when print.spool is set</li>
+ * <li>2026-10-17: Update totals from a <code>ParkingEventBus</code> when events.async is set</li>
+ * <li>2026-10-17: Save the running totals to a <code>TotalsStore</code> when totals.store is set</li>
+ * <li>2026-10-17: Give every station the <code>Clock</code> named by the clock property</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.06
+ * @since 1.8
+ */
+public class HeadlessStartup {
+    public static final String DEFAULT_CONFIG = "src" + File.separatorChar + "headless.properties";
+    private static final Logger LOGGER = Logger.getLogger(HeadlessStartup.class.getName());
+
+    private final ParkingGarage garage;
+    private final ParkingFeeCalculator feeCalc;
+    private final ManagementReportGenerator reportGen;
+    private final List<EntryStation> entryStations = new ArrayList<>();
+    private final List<ExitStation> exitStations = new ArrayList<>();
+    private final Map<String, Deque<Vehicle>> parkedVehicles = new HashMap<>();
+    private final PrintStream reportOut;
+    private final PrintSpooler printSpooler;
+    private final ParkingEventBus eventBus;
+    private final Clock clock;
+    private int nextEntry;
+    private int nextExit;
+    private long eventCount;
+    private long errorCount;
+    private long turnedAwayCount;
+
+    /**
+     * Builds the garage, stations and report generator from the given
+     * configuration
+     *
+     * @param config a <code>Properties</code> that is not null, see
+     * <code>src/headless.properties</code> for the keys
+     * @param reportOut a <code>PrintStream</code> that is not null, where
+     * REPORT events are printed
+     * @throws IllegalArgumentException if the configuration is invalid
+     * @throws Exception if the ticket database or totals file cannot be opened
+     */
+    public HeadlessStartup(Properties config, PrintStream reportOut) throws IllegalArgumentException, Exception {
+        if(config == null || reportOut == null){
+            throw new IllegalArgumentException("Sorry, the configuration and report output cannot be null");
+        }
+        this.reportOut = reportOut;
+        garage = new ParkingGarage(
+                config.getProperty("garage.name", "Headless Garage"),
+                config.getProperty("garage.address", "Unknown"),
+                intProperty(config, "garage.spaces", 500));
+        int levels = intProperty(config, "garage.levels", 0);
+        if(levels > 0){
+            garage.setSpaceMap(createSpaceMap(garage.getTotalParkingSpaces(), levels));
+        }
+        feeCalc = createFeeCalc(config);
+
+        TicketDatabase ticketDB = ExternalSpecFactory.getTicketDatabaseInstance();
+        if(ticketDB == null){
+            throw new IllegalArgumentException("Sorry, the ticket database could not be created");
+        }
+        reportGen = new ManagementReportGenerator(ticketDB,
+                new File(config.getProperty("totals.file", "src" + File.separatorChar + "totals.txt")),
+                new TextFileService(new RunningTotalsFormatter()));
+        String totalsStore = config.getProperty("totals.store", "").trim();
+        if(!totalsStore.isEmpty()){
+            reportGen.setTotalsStore(new TotalsStore(new File(totalsStore),
+                    Boolean.parseBoolean(config.getProperty("totals.store.sync", "true"))));
+        }
+
+        String output = config.getProperty("output", "log");
+        String welcomeMessage = config.getProperty("entry.message", "Welcome");
+        String exitMessage = config.getProperty("exit.message", "Thank you");
+        printSpooler = createPrintSpooler(config);
+        clock = createClock(config);
+        if(Boolean.parseBoolean(config.getProperty("events.async", "false"))){
+            eventBus = new ParkingEventBus();
+            reportGen.subscribeTo(eventBus);
+        } else {
+            eventBus = null;
+        }
+        int entryCount = intProperty(config, "entry.stations", 1);
+        int exitCount = intProperty(config, "exit.stations", 1);
+        if(entryCount < 1 || exitCount < 1){
+            throw new IllegalArgumentException("Sorry, there must be at least one entry and one exit station");
+        }
+        for(int i = 0; i < entryCount; i++){
+            EntryStation entry = new EntryStation(garage, welcomeMessage, ticketDB);
+            entry.setScreen(createOutput(output, entry.getEntryStationID()));
+            entry.setPrintSpooler(printSpooler);
+            entry.setEventBus(eventBus);
+            entry.setClock(clock);
+            entryStations.add(entry);
+        }
+        for(int i = 0; i < exitCount; i++){
+            ExitStation exit = new ExitStation(garage, exitMessage, feeCalc, reportGen);
+            exit.setScreen(createOutput(output, exit.getExitStationID()));
+            exit.setPrintSpooler(printSpooler);
+            exit.setEventBus(eventBus);
+            exit.setClock(clock);
+            exitStations.add(exit);
+        }
+    }
+
+    /**
+     * Reads events until the end of the input, processing each one as it is read
+     *
+     * @param in a <code>Reader</code> that is not null with one event per line
+     * @return the number of events processed
+     * @throws IOException if the input cannot be read
+     */
+    public final long run(Reader in) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader)in : new BufferedReader(in);
+        long processed = 0;
+        String line;
+        while((line = reader.readLine()) != null){
+            if(processEvent(line)){
+                processed++;
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * Processes one event line. Errors are logged, counted and skipped so a
+     * single bad event does not stop the run.
+     *
+     * @param line a <code>String</code> with one event
+     * @return true if the line held an event, false if it was blank or a comment
+     */
+    public final boolean processEvent(String line) {
+        String event = line.trim();
+        if(event.isEmpty() || event.startsWith("#")){
+            return false;
+        }
+        eventCount++;
+        int space = event.indexOf(' ');
+        String command = (space < 0 ? event : event.substring(0, space)).toUpperCase();
+        String plate = space < 0 ? "" : event.substring(space + 1).trim();
+        try {
+            switch(command){
+                case "ENTER":
+                    enter(plate);
+                    break;
+                case "EXIT":
+                    exit(plate);
+                    break;
+                case "REPORT":
+                    if(eventBus != null){
+                        //Report every payment made before this line
+                        eventBus.awaitIdle(5, TimeUnit.SECONDS);
+                    }
+                    reportOut.println(reportGen.outputRunningTotals());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Sorry, " + command + " is not a known event");
+            }
+        } catch (Exception ex) {
+            errorCount++;
+            LOGGER.log(Level.WARNING, "Could not process event: " + event, ex);
+        } catch (EncodingException ex) {
+            errorCount++;
+            LOGGER.log(Level.WARNING, "Could not process event: " + event, ex);
+        }
+        return true;
+    }
+
+    private void enter(String plate) throws IllegalArgumentException {
+        Vehicle vehicle = new Vehicle(checkPlate(plate));
+        boolean admitted = entryStations.get(nextEntry).processParkingTransaction(vehicle);
+        nextEntry = (nextEntry + 1) % entryStations.size();
+        if(!admitted){
+            turnedAwayCount++;
+            return;
+        }
+        Deque<Vehicle> vehicles = parkedVehicles.get(plate);
+        if(vehicles == null){
+            vehicles = new ArrayDeque<>(1);
+            parkedVehicles.put(plate, vehicles);
+        }
+        vehicles.addLast(vehicle);
+    }
+
+    private void exit(String plate) throws IllegalArgumentException, EncodingException {
+        Deque<Vehicle> vehicles = parkedVehicles.get(checkPlate(plate));
+        Vehicle vehicle;
+        if(vehicles == null){
+            //Entered before this run, the exit station looks the ticket up by plate
+            vehicle = new Vehicle(plate);
+        } else {
+            vehicle = vehicles.removeFirst();
+            if(vehicles.isEmpty()){
+                parkedVehicles.remove(plate);
+            }
+        }
+        exitStations.get(nextExit).processParkingTransaction(vehicle);
+        nextExit = (nextExit + 1) % exitStations.size();
+    }
+
+    private String checkPlate(String plate) throws IllegalArgumentException {
+        if(plate.isEmpty()){
+            throw new IllegalArgumentException("Sorry, the event has no license plate");
+        }
+        return plate;
+    }
+
+    /**
+     * Stops the station screens, prints any spooled documents, lets event
+     * subscribers catch up and saves the running totals
+     *
+     * @throws Exception if the totals cannot be written
+     * @throws EncodingException if the totals cannot be encoded
+     */
+    public final void close() throws Exception, EncodingException {
+        for(EntryStation entry : entryStations){
+            closeOutput(entry.getScreen());
+        }
+        for(ExitStation exit : exitStations){
+            closeOutput(exit.getScreen());
+        }
+        if(printSpooler != null){
+            printSpooler.close();
+        }
+        if(eventBus != null){
+            eventBus.close();
+        }
+        reportGen.close();
+    }
+
+    private static void closeOutput(ParkingInfoOutput output) {
+        if(output instanceof QueuedParkingInfoOutput){
+            ((QueuedParkingInfoOutput)output).close();
+        }
+    }
+
+    private static ParkingInfoOutput createOutput(String output, String stationID) throws IllegalArgumentException {
+        switch(output){
+            case "log":
+                return new QueuedParkingInfoOutput(new LoggingParkingInfoOutput(stationID));
+            case "null":
+                return new NullParkingInfoOutput();
+            default:
+                throw new IllegalArgumentException("Sorry, output must be log or null");
+        }
+    }
+
+    private static PrintSpooler createPrintSpooler(Properties config) throws IllegalArgumentException {
+        if(!Boolean.parseBoolean(config.getProperty("print.spool", "false"))){
+            return null;
+        }
+        int capacity = intProperty(config, "print.capacity", PrintSpooler.DEFAULT_CAPACITY);
+        PrintSpooler.OverflowPolicy policy;
+        try {
+            policy = PrintSpooler.OverflowPolicy.valueOf(config.getProperty("print.overflow", "BLOCK").trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Sorry, print.overflow must be BLOCK, DROP_OLDEST or FAIL_FAST");
+        }
+        return new PrintSpooler(new OutputStreamWriter(System.out), capacity, policy);
+    }
+
+    private static Clock createClock(Properties config) throws IllegalArgumentException {
+        String value = config.getProperty("clock", "system").trim();
+        switch(value.toLowerCase()){
+            case "system":
+                return Clock.systemDefaultZone();
+            case "utc":
+                return Clock.systemUTC();
+            case "simulated":
+                //Stations make up the time each vehicle parks
+                return null;
+            default:
+                try {
+                    return Clock.system(ZoneId.of(value));
+                } catch (DateTimeException ex) {
+                    throw new IllegalArgumentException("Sorry, clock must be system, utc, simulated or a time zone");
+                }
+        }
+    }
+
+    private static ParkingSpaceMap createSpaceMap(int spaces, int levels) throws IllegalArgumentException {
+        if(levels > spaces){
+            throw new IllegalArgumentException("Sorry, garage.levels cannot be more than garage.spaces");
+        }
+        //Spread the spaces as evenly as possible, lower levels take any left over
+        int[] spacesPerLevel = new int[levels];
+        for(int level = 0; level < levels; level++){
+            spacesPerLevel[level] = spaces / levels + (level < spaces % levels ? 1 : 0);
+        }
+        return new ParkingSpaceMap(spacesPerLevel);
+    }
+
+    private static ParkingFeeCalculator createFeeCalc(Properties config) throws IllegalArgumentException {
+        double min = doubleProperty(config, "fee.min", 2.00);
+        double add = doubleProperty(config, "fee.add", 0.50);
+        ParkingFeeCalculator calc;
+        String type = config.getProperty("fee.calc", "MinMax");
+        switch(type){
+            case "MinMax":
+                calc = new MinMaxFeeCalc(min, add, doubleProperty(config, "fee.max", 10.00));
+                break;
+            case "MinNoMax":
+                calc = new MinNoMaxFeeCalc(min, add);
+                break;
+            case "SpecialEvent":
+                calc = new SpecialEventParkingFeeCalc(min, add);
+                break;
+            default:
+                throw new IllegalArgumentException("Sorry, " + type + " is not a known fee calculator");
+        }
+        if(Boolean.parseBoolean(config.getProperty("fee.precompute", "true"))){
+            calc = new PrecomputedFeeCalc(calc);
+        }
+        return calc;
+    }
+
+    private static int intProperty(Properties config, String key, int defaultValue) throws IllegalArgumentException {
+        String value = config.getProperty(key);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Sorry, " + key + " must be a whole number");
+        }
+    }
+
+    private static double doubleProperty(Properties config, String key, double defaultValue) throws IllegalArgumentException {
+        String value = config.getProperty(key);
+        try {
+            return value == null ? defaultValue : Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Sorry, " + key + " must be a number");
+        }
+    }
+
+    public final ParkingGarage getGarage() {
+        return garage;
+    }
+
+    public final ParkingFeeCalculator getFeeCalc() {
+        return feeCalc;
+    }
+
+    public final Clock getClock() {
+        return clock;
+    }
+
+    public final ParkingEventBus getEventBus() {
+        return eventBus;
+    }
+
+    public final PrintSpooler getPrintSpooler() {
+        return printSpooler;
+    }
+
+    public final ManagementReportGenerator getReportGen() {
+        return reportGen;
+    }
+
+    public final List<EntryStation> getEntryStations() {
+        return entryStations;
+    }
+
+    public final List<ExitStation> getExitStations() {
+        return exitStations;
+    }
+
+    public final long getEventCount() {
+        return eventCount;
+    }
+
+    public final long getErrorCount() {
+        return errorCount;
+    }
+
+    public final long getTurnedAwayCount() {
+        return turnedAwayCount;
+    }
+
+    /**
+     * Returns the garage and the number of events processed
+     *
+     * @return a <code>String</code> describing the run
+     */
+    @Override
+    public final String toString() {
+        return "Headless " + garage.getGarageName() + ": " + eventCount + " events, " + errorCount + " errors, "
+                + turnedAwayCount + " turned away";
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties config = new Properties();
+        try (FileInputStream in = new FileInputStream(args.length > 0 ? args[0] : DEFAULT_CONFIG)) {
+            config.load(in);
+        }
+        HeadlessStartup startup = new HeadlessStartup(config, System.out);
+        long start = System.nanoTime();
+        long events;
+        try (Reader in = args.length > 1 ? new FileReader(args[1]) : new InputStreamReader(System.in)) {
+            events = startup.run(in);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        try {
+            startup.close();
+        } catch (EncodingException ex) {
+            LOGGER.log(Level.WARNING, "Could not save running totals", ex);
+        }
+        System.err.printf("%d events (%d errors, %d turned away when full) in %.3f s, %.0f events/s%n",
+                events, startup.getErrorCount(), startup.getTurnedAwayCount(), seconds, events / seconds);
+    }
+}
@@ -0,0 +1,114 @@
+package ics.parkinggarageapp;
+
+import java.util.Arrays;
+
+/**
+ * An IssuedTicketIndex numbers the tickets of a <code>TicketDatabase</code>
+ * in the order they were issued, so a ticket can be found by its row without
+ * walking the database's sorted map. It only holds references to the ticket
+ * numbers and license plates already in the map, in chunks that are never
+ * moved once filled, so adding a ticket never copies the ones before it.
+ * <p>
+ * Tickets are added one at a time, but can be read from any thread without
+ * locking: a row below <code>size()</code> is always fully written.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of IssuedTicketIndex class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public final class IssuedTicketIndex {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile String[][] keyChunks = new String[4][];
+    private volatile String[][] plateChunks = new String[4][];
+    //Written last, after the row it counts, so readers never see half a row
+    private volatile int size;
+
+    /**
+     * Adds a ticket after the last one
+     *
+     * @param key a <code>String</code> that is not null with the ticket number
+     * @param licensePlate a <code>String</code> that is not null with the license plate
+     * @return the row of the ticket
+     * @throws IllegalArgumentException if either value is null
+     */
+    public final synchronized int append(String key, String licensePlate) throws IllegalArgumentException {
+        if(key == null || licensePlate == null){
+            throw new IllegalArgumentException("Sorry, cannot index a ticket without a number and plate");
+        }
+        int row = size;
+        int chunk = row >>> CHUNK_BITS;
+        String[][] keys = keyChunks;
+        String[][] plates = plateChunks;
+        if(chunk == keys.length){
+            keys = Arrays.copyOf(keys, keys.length * 2);
+            plates = Arrays.copyOf(plates, plates.length * 2);
+        }
+        if(keys[chunk] == null){
+            keys[chunk] = new String[CHUNK_SIZE];
+            plates[chunk] = new String[CHUNK_SIZE];
+        }
+        keys[chunk][row & CHUNK_MASK] = key;
+        plates[chunk][row & CHUNK_MASK] = licensePlate;
+        keyChunks = keys;
+        plateChunks = plates;
+        size = row + 1;
+        return row;
+    }
+
+    /**
+     * Returns the number of tickets indexed
+     *
+     * @return the number of rows
+     */
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ticket number in a row
+     *
+     * @param row a row from 0 to <code>size() - 1</code>
+     * @return the ticket number as a <code>String</code>
+     * @throws IndexOutOfBoundsException if there is no such row
+     */
+    public final String getKey(int row) throws IndexOutOfBoundsException {
+        checkRow(row);
+        return keyChunks[row >>> CHUNK_BITS][row & CHUNK_MASK];
+    }
+
+    /**
+     * Returns the license plate in a row
+     *
+     * @param row a row from 0 to <code>size() - 1</code>
+     * @return the license plate as a <code>String</code>
+     * @throws IndexOutOfBoundsException if there is no such row
+     */
+    public final String getLicensePlate(int row) throws IndexOutOfBoundsException {
+        checkRow(row);
+        return plateChunks[row >>> CHUNK_BITS][row & CHUNK_MASK];
+    }
+
+    private void checkRow(int row) throws IndexOutOfBoundsException {
+        if(row < 0 || row >= size){
+            throw new IndexOutOfBoundsException("Sorry, there is no ticket in row " + row);
+        }
+    }
+
+    /**
+     * Returns the number of tickets indexed
+     *
+     * @return a <code>String</code> describing the index
+     */
+    @Override
+    public final String toString() {
+        return "Issued ticket index: " + size + " tickets";
+    }
+}
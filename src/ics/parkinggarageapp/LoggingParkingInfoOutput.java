@@ -0,0 +1,111 @@
+package ics.parkinggarageapp;
+
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * LoggingParkingInfoOutput is an implementation of <code>ParkingInfoOutput</code>
+ * for running without a display. Each message is written to a
+ * <code>java.util.logging.Logger</code> instead of being shown on a screen.
+ * Wrap it in a <code>QueuedParkingInfoOutput</code> so that stations do not
+ * wait on the log handlers.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of LoggingParkingInfoOutput class</li>
+ * </ul>
+ * 
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public class LoggingParkingInfoOutput implements ParkingInfoOutput {
+    private final Logger logger;
+    private final String stationID;
+    
+    /**
+     * Constructs a LoggingParkingInfoOutput that logs under this class's name
+     * 
+     * @param stationID a <code>String</code> that is not null identifying the
+     * station, added in front of each message
+     */
+    public LoggingParkingInfoOutput(String stationID) {
+        this(Logger.getLogger(LoggingParkingInfoOutput.class.getName()), stationID);
+    }
+    
+    /**
+     * Constructs a LoggingParkingInfoOutput that logs to the given logger
+     * 
+     * @param logger a valid <code>Logger</code> that is not null
+     * @param stationID a <code>String</code> that is not null identifying the
+     * station, added in front of each message
+     * @throws IllegalArgumentException if either argument is null
+     */
+    public LoggingParkingInfoOutput(Logger logger, String stationID) throws IllegalArgumentException {
+        if(logger == null || stationID == null){
+            throw new IllegalArgumentException("Sorry, the logger and station ID cannot be null");
+        }
+        this.logger = logger;
+        this.stationID = stationID;
+    }
+    
+    /**
+     * Writes the message to the log at INFO level
+     * 
+     * @param message a <code>String</code> with information to log
+     */
+    @Override
+    public final void outputParkingInfo(String message) {
+        if(logger.isLoggable(Level.INFO)){
+            logger.info(stationID + ": " + message);
+        }
+    }
+    
+    public final Logger getLogger() {
+        return logger;
+    }
+    
+    public final String getStationID() {
+        return stationID;
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 3;
+        hash = 59 * hash + Objects.hashCode(this.logger);
+        hash = 59 * hash + Objects.hashCode(this.stationID);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final LoggingParkingInfoOutput other = (LoggingParkingInfoOutput) obj;
+        if (!Objects.equals(this.stationID, other.stationID)) {
+            return false;
+        }
+        if (!Objects.equals(this.logger, other.logger)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the logger name and station ID
+     * 
+     * @return a <code>String</code> with the logger name and station ID
+     */
+    @Override
+    public final String toString() {
+        return "Log output " + logger.getName() + " for " + stationID;
+    }
+}
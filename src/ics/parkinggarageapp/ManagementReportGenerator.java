@@ -1,15 +1,28 @@
 package ics.parkinggarageapp;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A ManagementReportGenerator creates and displays reports that include total
@@ -20,37 +33,76 @@ import java.util.Objects;
  * <li>2017-10-17: Initial version of ManagementReportGenerator class</li>
  * <li>2017-11-14: Add unique identifier to differentiate between report generators</li>
  * <li>2017-12-15: Add capability to output reports to a GUI (<code>ParkingGarageOperationsWindow</code>)</li>
+ * <li>2026-10-17: Keep running totals in memory and save them to the totals
+ * file in the background (write-behind)</li>
+ * <li>2026-10-17: Keep payments collected exactly in cents</li>
+ * <li>2026-10-17: Accumulate totals with a striped <code>RunningTotalsAccumulator</code> so
+ * several exit stations can share one generator</li>
+ * <li>2026-10-17: Add a constructor without a window for headless use</li>
+ * <li>2026-10-17: Update the totals from payments published on a <code>ParkingEventBus</code></li>
+ * <li>2026-10-17: Refresh the window's reports through a <code>ReportRefreshScheduler</code> instead of
+ * on the exit station's thread</li>
+ * <li>2026-10-17: Read the totals back through the file service's formatter when it can
+ * decode them, instead of by line position</li>
+ * <li>2026-10-17: Read only the first two lines of a totals file the formatter cannot decode</li>
+ * <li>2026-10-17: Save the totals to a crash-safe <code>TotalsStore</code> when one is set</li>
+ * <li>2026-10-17: Save after every flushThreshold updates across all stripes, not per stripe</li>
+ * <li>2026-10-17: Read the totals file with a <code>BufferedReader</code>, which does not hold it mapped after closing</li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.02
+ * @version 1.13
  * @since 1.8
  */
 public class ManagementReportGenerator {
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+    private static final int DEFAULT_FLUSH_THRESHOLD = 100;
+    private static final Logger LOGGER = Logger.getLogger(ManagementReportGenerator.class.getName());
     private static int rptGenNum;
     private String rptGenID;
-    private double totalTimeCharged;
-    private double totalPaymentsCollected;
+    private final RunningTotalsAccumulator totals = new RunningTotalsAccumulator();
     private TicketDatabase ticketDB;
     private File totalsFile;
     private TextFileService fileService;
     private double totalTime;
-    private double totalRevenue;
+    private long totalRevenueCents;
     private ParkingGarageOperationsWindow win;
-    
-    NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(new Locale("en", "US"));
+    private ReportRefreshScheduler refreshScheduler;
+    private TotalsStore totalsStore;
+    private final Object flushLock = new Object();
+    private long savedCount;
+    private long flushIntervalMillis = DEFAULT_FLUSH_INTERVAL_MILLIS;
+    private volatile int flushThreshold = DEFAULT_FLUSH_THRESHOLD;
+    //Updates since the totals were last saved, across every stripe
+    private final AtomicLong unsavedUpdates = new AtomicLong();
+    private ScheduledExecutorService flusher;
+    private ScheduledFuture<?> scheduledFlush;
+    private Thread shutdownFlush;
     
     /**
-     * Constructs a ManagementReportGenerator, incrementing rptGenNum and setting the ID
+     * Constructs a ManagementReportGenerator, incrementing rptGenNum and setting the ID.
+     * The totals file is read once here; after that the totals in memory are
+     * authoritative and are saved in the background every second or after
+     * every 100 updates, whichever comes first, and again when the JVM exits.
      */
     public ManagementReportGenerator(TicketDatabase ticketDB, File totalsFile, TextFileService fileService, ParkingGarageOperationsWindow win) throws Exception {
+        this(ticketDB, totalsFile, fileService);
+        setWin(win);
+    }
+    
+    /**
+     * Constructs a ManagementReportGenerator without a window, for running
+     * headless. Reports are only produced when asked for with
+     * outputRunningTotals() or outputIssuedTickets().
+     */
+    public ManagementReportGenerator(TicketDatabase ticketDB, File totalsFile, TextFileService fileService) throws Exception {
         rptGenNum++;
         setRptGenID("RPTG" + rptGenNum);
         setTicketDB(ticketDB);
         setTotalsFile(totalsFile);
         setFileService(fileService);
         extractTotalsFromFile(totalsFile, fileService);
-        setWin(win);
+        startFlusher();
     }
     
     /**
@@ -72,7 +124,10 @@ public class ManagementReportGenerator {
     }
     
     /**
-     * Updates running totals for time charged and payments collected
+     * Updates running totals for time charged and payments collected. The
+     * totals are saved to the totals file later by a background thread, so
+     * this method never waits on the disk. Any number of <code>ExitStation</code>s
+     * can call it at the same time.
      * 
      * @param time a <code>double</code> with the amount of time parked in hours
      * (3.5 hours instead of 3:30)
@@ -84,12 +139,58 @@ public class ManagementReportGenerator {
         if(time < 0.0 || revenue < 0.0){
             throw new IllegalArgumentException("Sorry, you have attempted to use invalid data for a report");
         }
-        extractTotalsFromFile(totalsFile, fileService);
-        setTotalTimeCharged(getTotalTimeCharged() + time);
-        setTotalPaymentsCollected(getTotalPaymentsCollected() + revenue);
-        saveTotalsToFile(totalsFile, fileService);
-        win.getTotalsReportOut().setText(generateRunningTotalsReport());
-        win.getTicketsOut().setText(ticketDB.generateIssuedTicketsReport());
+        updateTotalsCents(time, Money.toCents(revenue));
+    }
+    
+    /**
+     * Updates running totals for time charged and payments collected, with the
+     * payment given exactly in cents
+     * 
+     * @param time a <code>double</code> with the amount of time parked in hours
+     * @param revenueCents a <code>long</code> with the fee paid in cents
+     * @throws IllegalArgumentException if time or revenue are negative
+     */
+    public final void updateTotalsCents(double time, long revenueCents) throws IllegalArgumentException, IOException, EncodingException, Exception{
+        if(time < 0.0 || revenueCents < 0){
+            throw new IllegalArgumentException("Sorry, you have attempted to use invalid data for a report");
+        }
+        totals.add(Math.round(time * 60), revenueCents);
+        //Only the update that reaches the threshold asks for a save, the
+        //save then takes the count back down by what it wrote
+        if(unsavedUpdates.incrementAndGet() == flushThreshold){
+            requestFlush();
+        }
+        ReportRefreshScheduler scheduler = refreshScheduler;
+        if(scheduler != null){
+            //The window is refreshed a few times a second on the event dispatch thread
+            scheduler.markDirty();
+        }
+    }
+    
+    /**
+     * Subscribes to the payments published on a bus, so exit stations that
+     * publish events do not wait for the totals or the window to update
+     * 
+     * @param eventBus a valid <code>ParkingEventBus</code> that is not null
+     * @return the subscription, which can be closed to stop updating
+     * @throws IllegalArgumentException if eventBus is null
+     */
+    public final ParkingEventBus.Subscription<ParkingEvent.PaymentRecorded> subscribeTo(ParkingEventBus eventBus)
+            throws IllegalArgumentException {
+        if(eventBus == null){
+            throw new IllegalArgumentException("Sorry, the event bus is null");
+        }
+        return eventBus.subscribe(ParkingEvent.PaymentRecorded.class,
+                new ParkingEventListener<ParkingEvent.PaymentRecorded>() {
+            @Override
+            public void onEvent(ParkingEvent.PaymentRecorded event) throws Exception {
+                try {
+                    updateTotalsCents(event.getHoursParked(), event.getCents());
+                } catch (EncodingException ex) {
+                    LOGGER.log(Level.WARNING, "Could not encode running totals", ex);
+                }
+            }
+        }, rptGenID + "-totals");
     }
     
     /**
@@ -99,34 +200,183 @@ public class ManagementReportGenerator {
      * @return a report as a formatted <code>String</code>
      */
     public final String generateRunningTotalsReport() {
+        RunningTotalsAccumulator.Snapshot snapshot = totals.snapshot();
         DecimalFormat decFormat = new DecimalFormat("#.00");
         String s ="";
         s += "\nREPORT: RUNNING TOTALS";
-        s += "\nTotal Time Charged: " + decFormat.format(totalTimeCharged) + " hrs." + 
-                "\nTotal Payments Collected: " + currencyFormatter.format(totalPaymentsCollected);
+        s += "\nTotal Time Charged: " + decFormat.format(snapshot.getHours()) + " hrs." + 
+                "\nTotal Payments Collected: " + Money.format(snapshot.getCents());
         return s;
     }
     
+    /**
+     * Saves the running totals to the totals store, or the totals file when
+     * there is no store, now if any have changed since they were last saved
+     * 
+     * @throws Exception if the totals cannot be written
+     * @throws EncodingException if the totals cannot be encoded
+     */
+    public final void flush() throws Exception, EncodingException {
+        synchronized(flushLock){
+            RunningTotalsAccumulator.Snapshot snapshot = totals.snapshot();
+            if(snapshot.getCount() == savedCount){
+                return;
+            }
+            if(totalsStore != null){
+                totalsStore.save(snapshot.getMinutes(), snapshot.getCents());
+            } else {
+                saveTotalsToFile(totalsFile, fileService, snapshot.getHours(), snapshot.getCents());
+            }
+            long unsaved = unsavedUpdates.addAndGet(savedCount - snapshot.getCount());
+            savedCount = snapshot.getCount();
+            if(unsaved >= flushThreshold){
+                //Enough updates came in while saving to pass the threshold again
+                requestFlush();
+            }
+        }
+    }
+    
+    /**
+     * Stops background saving, saves any remaining totals and closes the
+     * totals store
+     * 
+     * @throws Exception if the totals cannot be written
+     * @throws EncodingException if the totals cannot be encoded
+     */
+    public final void close() throws Exception, EncodingException {
+        if(refreshScheduler != null){
+            refreshScheduler.close();
+        }
+        synchronized(flushLock){
+            if(flusher != null){
+                flusher.shutdown();
+                flusher = null;
+            }
+            if(shutdownFlush != null){
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownFlush);
+                } catch (IllegalStateException ex) {
+                    //Already shutting down, the hook will flush
+                }
+                shutdownFlush = null;
+            }
+        }
+        flush();
+        if(totalsStore != null){
+            totalsStore.close();
+        }
+    }
+    
+    private void startFlusher() {
+        flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, rptGenID + "-totals-flusher");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        scheduleFlush();
+        shutdownFlush = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                flushQuietly();
+            }
+        }, rptGenID + "-shutdown-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownFlush);
+    }
+    
+    private void scheduleFlush() {
+        synchronized(flushLock){
+            if(flusher == null){
+                return;
+            }
+            if(scheduledFlush != null){
+                scheduledFlush.cancel(false);
+            }
+            scheduledFlush = flusher.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    flushQuietly();
+                }
+            }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void requestFlush() {
+        ScheduledExecutorService executor = flusher;
+        if(executor == null){
+            return;
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    flushQuietly();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            //Closed while updating, close() saves the totals
+        }
+    }
+    
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            LOGGER.log(Level.WARNING, "Could not save running totals to " + totalsFile, ex);
+        } catch (EncodingException ex) {
+            LOGGER.log(Level.WARNING, "Could not encode running totals", ex);
+        }
+    }
+    
     private final void extractTotalsFromFile(File file, TextFileService fileService) throws Exception {
-        List<String> list = fileService.readFileToList(file);
+        if(fileService.canReadRecords()){
+            final List<Map<String, String>> saved = new ArrayList<>(1);
+            fileService.readFile(file, new Consumer<Map<String, String>>() {
+                @Override
+                public void accept(Map<String, String> record) {
+                    //The file holds one record, the latest totals
+                    saved.clear();
+                    saved.add(record);
+                }
+            });
+            if(saved.isEmpty()){
+                //Initial run, requires new file, start totals at 0.0
+                setTotalTime(0.0);
+                setTotalRevenueCents(0);
+            } else {
+                setTotalTime(Double.parseDouble(saved.get(0).get(RunningTotalsFormatter.TIME)));
+                setTotalRevenueCents(Money.parseCents(saved.get(0).get(RunningTotalsFormatter.REVENUE)));
+            }
+            totals.setTotals(Math.round(totalTime * 60), totalRevenueCents);
+            return;
+        }
+        //Only the first two lines are read, however long the file is. Not
+        //mapped, so nothing holds the file open once it has been read and
+        //flush() can rename over it on Windows too.
+        List<String> list;
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), Charset.defaultCharset());
+                Stream<String> lines = in.lines()) {
+            list = lines.limit(2).collect(Collectors.<String>toList());
+        }
         if(list.size() > 0){
             setTotalTime(Double.parseDouble(list.get(0)));
-            setTotalRevenue(Double.parseDouble(list.get(1)));
+            setTotalRevenueCents(Money.parseCents(list.get(1)));
         } else {
             //Initial run, requires new file, start totals at 0.0
             setTotalTime(0.0);
-            setTotalRevenue(0.0);
+            setTotalRevenueCents(0);
         }        
-        setTotalTimeCharged(totalTime);
-        setTotalPaymentsCollected(totalRevenue);
+        totals.setTotals(Math.round(totalTime * 60), totalRevenueCents);
     }
     
-    private final void saveTotalsToFile(File file, TextFileService fileService) throws Exception, IOException, EncodingException {
+    private final void saveTotalsToFile(File file, TextFileService fileService, double time, long revenueCents) throws Exception, IOException, EncodingException {
         DecimalFormat decFormat = new DecimalFormat("#.00");
         List<Map<String, String>> totals = new ArrayList();
         Map<String, String> totalsMap = new LinkedHashMap<>();
-        totalsMap.put("time", decFormat.format(totalTimeCharged));
-        totalsMap.put("revenue", totalPaymentsCollected+"");
+        totalsMap.put(RunningTotalsFormatter.TIME, decFormat.format(time));
+        totalsMap.put(RunningTotalsFormatter.REVENUE, Money.toPlainString(revenueCents));
         totals.add(totalsMap);
         fileService.writeFile(totals, file);
     }
@@ -156,24 +406,32 @@ public class ManagementReportGenerator {
     }
 
     public final double getTotalTimeCharged() {
-        return totalTimeCharged;
+        return totals.snapshot().getHours();
     }
 
     public final void setTotalTimeCharged(double totalTimeCharged) throws IllegalArgumentException {
         if(totalTimeCharged >= 0.0){
-            this.totalTimeCharged = totalTimeCharged;
+            totals.setTotals(Math.round(totalTimeCharged * 60), totals.snapshot().getCents());
         } else {
             throw new IllegalArgumentException("Sorry, that is an invalid value for total time charged");
         }
     }
 
     public final double getTotalPaymentsCollected() {
-        return totalPaymentsCollected;
+        return Money.toDollars(getTotalPaymentsCollectedCents());
     }
 
     public final void setTotalPaymentsCollected(double totalPaymentsCollected) throws IllegalArgumentException {
-        if(totalPaymentsCollected >= 0.0){
-            this.totalPaymentsCollected = totalPaymentsCollected;
+        setTotalPaymentsCollectedCents(Money.toCents(totalPaymentsCollected));
+    }
+
+    public final long getTotalPaymentsCollectedCents() {
+        return totals.snapshot().getCents();
+    }
+
+    public final void setTotalPaymentsCollectedCents(long totalPaymentsCollectedCents) throws IllegalArgumentException {
+        if(totalPaymentsCollectedCents >= 0){
+            totals.setTotals(totals.snapshot().getMinutes(), totalPaymentsCollectedCents);
         } else {
             throw new IllegalArgumentException("Sorry, that is an invalid value for total payments collected");
         }
@@ -215,6 +473,37 @@ public class ManagementReportGenerator {
         }
     }
 
+    public final TotalsStore getTotalsStore() {
+        return totalsStore;
+    }
+
+    /**
+     * Saves the running totals to a <code>TotalsStore</code> from now on
+     * instead of rewriting the totals file. Totals already in the store
+     * replace the ones read from the totals file. An empty store is started
+     * with the current totals. The generator closes the store when it is
+     * closed.
+     * 
+     * @param totalsStore a valid, open <code>TotalsStore</code> that is not null
+     * @throws IllegalArgumentException if totalsStore is null
+     */
+    public final void setTotalsStore(TotalsStore totalsStore) throws IllegalArgumentException {
+        if(totalsStore == null){
+            throw new IllegalArgumentException("Sorry, that is an invalid totals store");
+        }
+        synchronized(flushLock){
+            if(totalsStore.isEmpty()){
+                RunningTotalsAccumulator.Snapshot snapshot = totals.snapshot();
+                totalsStore.save(snapshot.getMinutes(), snapshot.getCents());
+            } else {
+                totals.setTotals(totalsStore.getMinutes(), totalsStore.getCents());
+                setTotalTime(totalsStore.getMinutes() / 60.0);
+                setTotalRevenueCents(totalsStore.getCents());
+            }
+            this.totalsStore = totalsStore;
+        }
+    }
+
     public final double getTotalTime() {
         return totalTime;
     }
@@ -228,17 +517,48 @@ public class ManagementReportGenerator {
     }
 
     public final double getTotalRevenue() {
-        return totalRevenue;
+        return Money.toDollars(totalRevenueCents);
     }
 
     public final void setTotalRevenue(double totalRevenue) throws IllegalArgumentException {
-        if(totalRevenue >= 0){
-            this.totalRevenue = totalRevenue;
+        setTotalRevenueCents(Money.toCents(totalRevenue));
+    }
+
+    public final long getTotalRevenueCents() {
+        return totalRevenueCents;
+    }
+
+    public final void setTotalRevenueCents(long totalRevenueCents) throws IllegalArgumentException {
+        if(totalRevenueCents >= 0){
+            this.totalRevenueCents = totalRevenueCents;
         } else {
             throw new IllegalArgumentException("Sorry, that is an invalid value for revenue");
         }
     }
 
+    public final long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public final void setFlushIntervalMillis(long flushIntervalMillis) throws IllegalArgumentException {
+        if(flushIntervalMillis <= 0){
+            throw new IllegalArgumentException("Sorry, the flush interval must be more than 0 milliseconds");
+        }
+        this.flushIntervalMillis = flushIntervalMillis;
+        scheduleFlush();
+    }
+
+    public final int getFlushThreshold() {
+        return flushThreshold;
+    }
+
+    public final void setFlushThreshold(int flushThreshold) throws IllegalArgumentException {
+        if(flushThreshold <= 0){
+            throw new IllegalArgumentException("Sorry, the flush threshold must be at least 1 update");
+        }
+        this.flushThreshold = flushThreshold;
+    }
+
     public final ParkingGarageOperationsWindow getWin() {
         return win;
     }
@@ -247,7 +567,15 @@ public class ManagementReportGenerator {
         if(win == null){
             throw new IllegalArgumentException("Sorry, configuration window cannot be null");
         }
+        if(refreshScheduler != null){
+            refreshScheduler.close();
+        }
         this.win = win;
+        refreshScheduler = new ReportRefreshScheduler(this, win);
+    }
+
+    public final ReportRefreshScheduler getRefreshScheduler() {
+        return refreshScheduler;
     }
 
     @Override
@@ -0,0 +1,193 @@
+package ics.parkinggarageapp;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A MappedLineIterator reads the lines of a text file one at a time from a
+ * memory-mapped <code>FileChannel</code>. Only a window of the file is mapped
+ * at once and a line is only decoded when <code>next()</code> asks for it, so
+ * a file of any size is read in the same small amount of memory and the
+ * first line is ready without reading the rest.
+ * <p>
+ * Lines end with <code>\n</code> or <code>\r\n</code>, which are not part of
+ * the line, like <code>BufferedReader.readLine()</code>. The charset must
+ * write <code>\n</code> as a single byte, which is true of UTF-8, ASCII and
+ * ISO-8859-1.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of MappedLineIterator class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public final class MappedLineIterator implements Iterator<String>, Closeable {
+    public static final int DEFAULT_WINDOW_SIZE = 16 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final long fileSize;
+    private final int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    //Holds the start of a line that runs past the end of a window
+    private byte[] carry = new byte[256];
+    private int carryLength;
+    private String nextLine;
+    private boolean closed;
+
+    /**
+     * Constructs a MappedLineIterator reading a file in the platform's default
+     * charset, like <code>FileReader</code>
+     *
+     * @param file a valid <code>File</code> that is not null
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedLineIterator(File file) throws IOException {
+        this(file, Charset.defaultCharset(), DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs a MappedLineIterator
+     *
+     * @param file a valid <code>File</code> that is not null
+     * @param charset a valid <code>Charset</code> that is not null
+     * @param windowSize the number of bytes to map at once, at least 1
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if an argument is null or the window
+     * size is less than 1
+     */
+    public MappedLineIterator(File file, Charset charset, int windowSize) throws IOException, IllegalArgumentException {
+        if(file == null || charset == null){
+            throw new IllegalArgumentException("Sorry, the file and charset cannot be null");
+        }
+        if(windowSize < 1){
+            throw new IllegalArgumentException("Sorry, the window must be at least one byte");
+        }
+        this.charset = charset;
+        this.windowSize = windowSize;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        fileSize = channel.size();
+    }
+
+    @Override
+    public final boolean hasNext() {
+        if(nextLine == null && !closed){
+            try {
+                nextLine = readLine();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return nextLine != null;
+    }
+
+    @Override
+    public final String next() {
+        if(!hasNext()){
+            throw new NoSuchElementException("Sorry, there are no more lines");
+        }
+        String line = nextLine;
+        nextLine = null;
+        return line;
+    }
+
+    private String readLine() throws IOException {
+        carryLength = 0;
+        while(true){
+            if(window == null || !window.hasRemaining()){
+                long position = window == null ? 0 : windowStart + window.limit();
+                if(position >= fileSize){
+                    //A last line without a line ending
+                    return carryLength > 0 ? decode(carry, 0, carryLength) : null;
+                }
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(windowSize, fileSize - position));
+            }
+            int start = window.position();
+            int limit = window.limit();
+            for(int i = start; i < limit; i++){
+                if(window.get(i) == '\n'){
+                    window.position(i + 1);
+                    if(carryLength == 0){
+                        return decode(window, start, i);
+                    }
+                    append(window, start, i);
+                    return decode(carry, 0, carryLength);
+                }
+            }
+            //The line goes on into the next window
+            append(window, start, limit);
+            window.position(limit);
+        }
+    }
+
+    private void append(MappedByteBuffer bytes, int from, int to) {
+        int length = to - from;
+        if(carryLength + length > carry.length){
+            carry = Arrays.copyOf(carry, Math.max(carry.length * 2, carryLength + length));
+        }
+        for(int i = from; i < to; i++){
+            carry[carryLength++] = bytes.get(i);
+        }
+    }
+
+    private String decode(MappedByteBuffer bytes, int from, int to) {
+        if(to > from && bytes.get(to - 1) == '\r'){
+            to--;
+        }
+        int length = to - from;
+        if(length > carry.length){
+            carry = new byte[Math.max(carry.length * 2, length)];
+        }
+        for(int i = 0; i < length; i++){
+            carry[i] = bytes.get(from + i);
+        }
+        return new String(carry, 0, length, charset);
+    }
+
+    private String decode(byte[] bytes, int from, int to) {
+        if(to > from && bytes[to - 1] == '\r'){
+            to--;
+        }
+        return new String(bytes, from, to - from, charset);
+    }
+
+    /**
+     * Closes the file. The mapped window is released when it is garbage
+     * collected.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public final void close() throws IOException {
+        closed = true;
+        nextLine = null;
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Returns how far through the file the iterator has read
+     *
+     * @return a <code>String</code> describing the iterator
+     */
+    @Override
+    public final String toString() {
+        long position = window == null ? 0 : windowStart + window.position();
+        return "Mapped lines: " + position + " of " + fileSize + " bytes read";
+    }
+}
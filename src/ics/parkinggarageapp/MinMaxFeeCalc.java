@@ -11,16 +11,21 @@ package ics.parkinggarageapp;
  * <li>2017-10-17: Initial version of MinMaxFeeCalc class</li>
  * <li>2017-11-10: Revise fees to increase flexibility</li>
  * <li>2017-11-14: Add overrides to equals(), hashCode(), and toString()</li>
+ * <li>2026-10-17: Calculate fees exactly in cents</li>
+ * <li>2026-10-17: Add branch-free batch fee calculation</li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.02
+ * @version 1.04
  * @since 1.8
  */
 public class MinMaxFeeCalc implements ParkingFeeCalculator {
     private double minFee;
     private double addFee;
     private double maxFee;
+    private long minFeeCents;
+    private long addFeeCents;
+    private long maxFeeCents;
 
     /**
      * Constructor to create a MinMaxFeeCalc variant of a 
@@ -70,6 +75,95 @@ public class MinMaxFeeCalc implements ParkingFeeCalculator {
         }
     }
     
+    /**
+     * Calculates the fee owed for the time parked exactly in cents
+     * 
+     * @param hrsParked a <code>double</code> with the amount of time parked in hours
+     * @return a <code>long</code> that is the amount owed in cents
+     */
+    @Override
+    public final long calcParkingFeeCents(double hrsParked) {
+        if(hrsParked <= 3.0){
+            return minFeeCents;
+        } else if(hrsParked > 3.0 && hrsParked < 24.0){
+            double timeBeyondThreeHours = hrsParked - 3.0;
+            int integer = (int)timeBeyondThreeHours;
+            double decimal = (10 * timeBeyondThreeHours - 10 * integer)/10;
+            
+            //Same branches as calcParkingFee() so both always agree
+            if(decimal > 0){
+                if((minFeeCents + (addFeeCents * integer) + addFeeCents) < 1000){
+                    return minFeeCents + (addFeeCents * integer) + addFeeCents;
+                } else {
+                    return maxFeeCents;
+                }
+            } else {
+                if((minFeeCents + (addFeeCents * integer)) < 1000){
+                    return minFeeCents + (addFeeCents * integer) + addFeeCents;
+                } else {
+                    return maxFeeCents;
+                }
+            }
+        } else {
+            return maxFeeCents;
+        }
+    }
+    
+    /**
+     * Calculates the fees for a whole array of times parked. The loop body
+     * has no branches, only selects, so it runs much faster than calling
+     * calcParkingFee() for each time while giving the same results.
+     * 
+     * @param hrsParked a <code>double[]</code> with times parked in hours
+     * @param fees a <code>double[]</code> at least as long as <code>hrsParked</code>
+     * that receives the fees
+     */
+    @Override
+    public final void calcParkingFees(double[] hrsParked, double[] fees) throws IllegalArgumentException {
+        ParkingFeeCalculator.checkBatch(hrsParked, fees == null ? -1 : fees.length);
+        final double min = minFee;
+        final double add = addFee;
+        final double max = maxFee;
+        for(int i = 0; i < hrsParked.length; i++){
+            double hrs = hrsParked[i];
+            double beyond = hrs - 3.0;
+            int integer = (int)beyond;
+            //Same sign as the single fee's decimal part without the divide
+            double decimal = 10 * beyond - 10 * integer;
+            double whole = min + (add * integer);
+            double withPart = whole + add;
+            double capped = decimal > 0 ? withPart : whole;
+            double fee = (hrs < 24.0) & (capped < 10.00) ? withPart : max;
+            fees[i] = hrs <= 3.0 ? min : fee;
+        }
+    }
+    
+    /**
+     * Calculates the fees in cents for a whole array of times parked
+     * 
+     * @param hrsParked a <code>double[]</code> with times parked in hours
+     * @param feesCents a <code>long[]</code> at least as long as <code>hrsParked</code>
+     * that receives the fees in cents
+     */
+    @Override
+    public final void calcParkingFeesCents(double[] hrsParked, long[] feesCents) throws IllegalArgumentException {
+        ParkingFeeCalculator.checkBatch(hrsParked, feesCents == null ? -1 : feesCents.length);
+        final long min = minFeeCents;
+        final long add = addFeeCents;
+        final long max = maxFeeCents;
+        for(int i = 0; i < hrsParked.length; i++){
+            double hrs = hrsParked[i];
+            double beyond = hrs - 3.0;
+            int integer = (int)beyond;
+            double decimal = 10 * beyond - 10 * integer;
+            long whole = min + (add * integer);
+            long withPart = whole + add;
+            long capped = decimal > 0 ? withPart : whole;
+            long fee = (hrs < 24.0) & (capped < 1000) ? withPart : max;
+            feesCents[i] = hrs <= 3.0 ? min : fee;
+        }
+    }
+    
     public final double getMinFee(){
         return minFee;
     }
@@ -77,6 +171,7 @@ public class MinMaxFeeCalc implements ParkingFeeCalculator {
     public final void setMinFee(double minFee) throws IllegalArgumentException {
         if(minFee > 0.00){
             this.minFee = minFee;
+            this.minFeeCents = Money.toCents(minFee);
         } else {
             throw new IllegalArgumentException("Sorry, that amount is invalid");
         }
@@ -89,6 +184,7 @@ public class MinMaxFeeCalc implements ParkingFeeCalculator {
     public final void setAdditionalTimeFee(double addFee) throws IllegalArgumentException {
         if(addFee > 0.00){
             this.addFee = addFee;
+            this.addFeeCents = Money.toCents(addFee);
         } else {
             throw new IllegalArgumentException("Sorry, that amount is invalid");
         }
@@ -101,6 +197,7 @@ public class MinMaxFeeCalc implements ParkingFeeCalculator {
     public final void setMaxFee(double maxFee) {
         if(maxFee > 0.00){
             this.maxFee = maxFee;
+            this.maxFeeCents = Money.toCents(maxFee);
         } else {
             throw new IllegalArgumentException("Sorry, that amount is invalid");
         }
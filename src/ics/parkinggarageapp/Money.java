@@ -0,0 +1,164 @@
+package ics.parkinggarageapp;
+
+/**
+ * Money holds the static helpers for working with amounts of money as a
+ * <code>long</code> number of cents. Adding cents is exact, so running totals
+ * do not drift the way repeated <code>double</code> additions do, and nothing
+ * needs to be boxed or run through a <code>NumberFormat</code>.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of Money class</li>
+ * </ul>
+ * 
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public final class Money {
+    
+    private Money() {
+    }
+    
+    /**
+     * Converts a dollar amount to cents, rounding to the nearest cent
+     * 
+     * @param dollars a <code>double</code> with an amount in dollars
+     * @return a <code>long</code> with the amount in cents
+     */
+    public static long toCents(double dollars) {
+        return Math.round(dollars * 100.0);
+    }
+    
+    /**
+     * Converts cents to dollars for code that still works with <code>double</code>
+     * 
+     * @param cents a <code>long</code> with an amount in cents
+     * @return a <code>double</code> with the amount in dollars
+     */
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+    
+    /**
+     * Parses a plain decimal amount such as "73.39", "65.0" or "12" into cents
+     * without going through <code>double</code>. Digits past the cents are
+     * rounded half up.
+     * 
+     * @param amount a <code>String</code> with a plain decimal amount
+     * @return a <code>long</code> with the amount in cents
+     * @throws NumberFormatException if the amount is not a plain decimal number
+     */
+    public static long parseCents(String amount) throws NumberFormatException {
+        if(amount == null){
+            throw new NumberFormatException("Sorry, cannot parse a null amount");
+        }
+        String s = amount.trim();
+        int i = 0;
+        boolean negative = false;
+        if(i < s.length() && (s.charAt(i) == '-' || s.charAt(i) == '+')){
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        long dollars = 0;
+        int digits = 0;
+        while(i < s.length() && Character.isDigit(s.charAt(i))){
+            dollars = Math.addExact(Math.multiplyExact(dollars, 10), s.charAt(i) - '0');
+            digits++;
+            i++;
+        }
+        long cents = 0;
+        if(i < s.length() && s.charAt(i) == '.'){
+            i++;
+            int places = 0;
+            while(i < s.length() && Character.isDigit(s.charAt(i))){
+                int d = s.charAt(i) - '0';
+                if(places < 2){
+                    cents = cents * 10 + d;
+                } else if(places == 2 && d >= 5){
+                    cents++;
+                }
+                places++;
+                digits++;
+                i++;
+            }
+            if(places == 1){
+                cents *= 10;
+            }
+        }
+        if(digits == 0 || i != s.length()){
+            throw new NumberFormatException("Sorry, \"" + amount + "\" is not a valid amount");
+        }
+        long total = Math.addExact(Math.multiplyExact(dollars, 100), cents);
+        return negative ? -total : total;
+    }
+    
+    /**
+     * Formats cents as US currency, like <code>$1,234.50</code>
+     * 
+     * @param cents a <code>long</code> with an amount in cents
+     * @return the formatted amount
+     */
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(16), cents).toString();
+    }
+    
+    /**
+     * Appends cents formatted as US currency, like <code>$1,234.50</code>,
+     * without creating any intermediate objects
+     * 
+     * @param sb a valid <code>StringBuilder</code> that is not null
+     * @param cents a <code>long</code> with an amount in cents
+     * @return <code>sb</code>
+     */
+    public static StringBuilder appendTo(StringBuilder sb, long cents) {
+        if(cents < 0){
+            sb.append('-');
+        }
+        sb.append('$');
+        long abs = Math.abs(cents);
+        appendGrouped(sb, abs / 100);
+        return appendFraction(sb, abs % 100);
+    }
+    
+    /**
+     * Formats cents as a plain decimal amount for saving, like <code>1234.50</code>
+     * 
+     * @param cents a <code>long</code> with an amount in cents
+     * @return the amount as a plain decimal <code>String</code>
+     */
+    public static String toPlainString(long cents) {
+        StringBuilder sb = new StringBuilder(16);
+        if(cents < 0){
+            sb.append('-');
+        }
+        long abs = Math.abs(cents);
+        sb.append(abs / 100);
+        return appendFraction(sb, abs % 100).toString();
+    }
+    
+    private static void appendGrouped(StringBuilder sb, long dollars) {
+        if(dollars < 1000){
+            sb.append(dollars);
+            return;
+        }
+        appendGrouped(sb, dollars / 1000);
+        long group = dollars % 1000;
+        sb.append(',');
+        if(group < 100){
+            sb.append('0');
+        }
+        if(group < 10){
+            sb.append('0');
+        }
+        sb.append(group);
+    }
+    
+    private static StringBuilder appendFraction(StringBuilder sb, long fraction) {
+        sb.append('.');
+        if(fraction < 10){
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+}
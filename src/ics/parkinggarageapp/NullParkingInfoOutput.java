@@ -0,0 +1,37 @@
+package ics.parkinggarageapp;
+
+/**
+ * NullParkingInfoOutput is an implementation of <code>ParkingInfoOutput</code>
+ * that discards every message. It is meant for benchmarks and load tests,
+ * where the cost of showing messages should not be measured.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of NullParkingInfoOutput class</li>
+ * </ul>
+ * 
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public class NullParkingInfoOutput implements ParkingInfoOutput {
+    
+    /**
+     * Does nothing with the message
+     * 
+     * @param message a <code>String</code> that is ignored
+     */
+    @Override
+    public final void outputParkingInfo(String message) {
+    }
+
+    /**
+     * Returns a description of the output
+     * 
+     * @return a <code>String</code> describing the output
+     */
+    @Override
+    public final String toString() {
+        return "Null output";
+    }
+}
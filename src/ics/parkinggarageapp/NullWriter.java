@@ -0,0 +1,54 @@
+package ics.parkinggarageapp;
+
+import java.io.Writer;
+
+/**
+ * NullWriter is a <code>Writer</code> that discards everything written to it.
+ * Given to a <code>PrintSpooler</code>, it lets benchmarks and simulations
+ * print tickets and receipts without measuring or showing the output, and
+ * without replacing <code>System.out</code> for the rest of the program.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of NullWriter class</li>
+ * </ul>
+ * 
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public class NullWriter extends Writer {
+
+    /**
+     * Does nothing with the characters
+     * 
+     * @param cbuf the characters, which are ignored
+     * @param off the offset of the first character
+     * @param len the number of characters
+     */
+    @Override
+    public final void write(char[] cbuf, int off, int len) {
+    }
+
+    @Override
+    public final void write(String str, int off, int len) {
+    }
+
+    @Override
+    public final void flush() {
+    }
+
+    @Override
+    public final void close() {
+    }
+
+    /**
+     * Returns a description of the writer
+     * 
+     * @return a <code>String</code> describing the writer
+     */
+    @Override
+    public final String toString() {
+        return "Null writer";
+    }
+}
@@ -0,0 +1,169 @@
+package ics.parkinggarageapp;
+
+/**
+ * A ParkingEvent is something that happened at a station that other parts of
+ * the garage may want to know about. Stations publish events to a
+ * <code>ParkingEventBus</code> and subscribers, like the running totals, the
+ * operations window or metrics, receive them on their own threads. Each kind
+ * of event is its own class:
+ * <ul>
+ * <li><code>VehicleEntered</code>: a vehicle drove in past an entry gate</li>
+ * <li><code>TicketIssued</code>: a ticket was saved to the <code>TicketDatabase</code></li>
+ * <li><code>VehicleExited</code>: a vehicle drove out past an exit gate</li>
+ * <li><code>PaymentRecorded</code>: a vehicle paid its fee at an exit station</li>
+ * </ul>
+ * Events cannot be changed once made.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of ParkingEvent class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public abstract class ParkingEvent {
+    private final String stationID;
+    private final long timeMillis;
+
+    /**
+     * Constructs a ParkingEvent
+     *
+     * @param stationID a valid <code>String</code> that is not null with the
+     * ID of the station the event happened at
+     * @param timeMillis the time of the event in milliseconds since the epoch
+     * @throws IllegalArgumentException if stationID is null
+     */
+    protected ParkingEvent(String stationID, long timeMillis) throws IllegalArgumentException {
+        if(stationID == null){
+            throw new IllegalArgumentException("Sorry, the station ID is null");
+        }
+        this.stationID = stationID;
+        this.timeMillis = timeMillis;
+    }
+
+    public final String getStationID() {
+        return stationID;
+    }
+
+    public final long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Returns the kind of event and the station it happened at
+     *
+     * @return a <code>String</code> describing the event
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " at " + stationID;
+    }
+
+    private static <T> T checkNotNull(T value, String name) throws IllegalArgumentException {
+        if(value == null){
+            throw new IllegalArgumentException("Sorry, the " + name + " is null");
+        }
+        return value;
+    }
+
+    /**
+     * A vehicle drove in past an entry gate with its ticket
+     */
+    public static final class VehicleEntered extends ParkingEvent {
+        private final Vehicle vehicle;
+
+        public VehicleEntered(String stationID, long timeMillis, Vehicle vehicle) throws IllegalArgumentException {
+            super(stationID, timeMillis);
+            this.vehicle = checkNotNull(vehicle, "vehicle");
+        }
+
+        public Vehicle getVehicle() {
+            return vehicle;
+        }
+    }
+
+    /**
+     * A ticket was saved to the <code>TicketDatabase</code> under a license plate
+     */
+    public static final class TicketIssued extends ParkingEvent {
+        private final Ticket ticket;
+        private final String licensePlate;
+
+        public TicketIssued(String stationID, long timeMillis, Ticket ticket, String licensePlate)
+                throws IllegalArgumentException {
+            super(stationID, timeMillis);
+            this.ticket = checkNotNull(ticket, "ticket");
+            this.licensePlate = checkNotNull(licensePlate, "license plate");
+        }
+
+        public Ticket getTicket() {
+            return ticket;
+        }
+
+        public String getLicensePlate() {
+            return licensePlate;
+        }
+    }
+
+    /**
+     * A vehicle drove out past an exit gate and its ticket was closed
+     */
+    public static final class VehicleExited extends ParkingEvent {
+        private final Vehicle vehicle;
+        private final Ticket ticket;
+
+        public VehicleExited(String stationID, long timeMillis, Vehicle vehicle, Ticket ticket)
+                throws IllegalArgumentException {
+            super(stationID, timeMillis);
+            this.vehicle = checkNotNull(vehicle, "vehicle");
+            this.ticket = checkNotNull(ticket, "ticket");
+        }
+
+        public Vehicle getVehicle() {
+            return vehicle;
+        }
+
+        public Ticket getTicket() {
+            return ticket;
+        }
+    }
+
+    /**
+     * A vehicle paid the fee for the time it was parked
+     */
+    public static final class PaymentRecorded extends ParkingEvent {
+        private final Ticket ticket;
+        private final double hoursParked;
+        private final long cents;
+
+        public PaymentRecorded(String stationID, long timeMillis, Ticket ticket, double hoursParked, long cents)
+                throws IllegalArgumentException {
+            super(stationID, timeMillis);
+            if(hoursParked < 0 || cents < 0){
+                throw new IllegalArgumentException("Sorry, the time parked and payment cannot be negative");
+            }
+            this.ticket = checkNotNull(ticket, "ticket");
+            this.hoursParked = hoursParked;
+            this.cents = cents;
+        }
+
+        public Ticket getTicket() {
+            return ticket;
+        }
+
+        public double getHoursParked() {
+            return hoursParked;
+        }
+
+        public long getCents() {
+            return cents;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + ": " + Money.format(cents);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package ics.parkinggarageapp;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A ParkingEventBus passes <code>ParkingEvent</code>s from the stations to
+ * whoever subscribes to them. Every subscription has its own thread and
+ * bounded queue, so publishing an event only queues it and returns, and a
+ * station's gate does not wait for the running totals, the operations window
+ * or any other subscriber. Each subscriber gets its events in the order they
+ * were published. A subscriber that falls a full queue behind makes
+ * publishers wait for room rather than losing events.
+ * <p>
+ * A subscriber that throws is logged and counted, and keeps receiving later
+ * events. An event published before <code>close()</code> is handled by every
+ * subscriber; one published after it is dropped.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of ParkingEventBus class</li>
+ * <li>2026-10-17: Queue events through a <code>BoundedExecutor</code> and let
+ * publishes under way finish before closing, so no published event is lost</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.01
+ * @since 1.8
+ */
+public class ParkingEventBus implements Closeable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final Logger LOGGER = Logger.getLogger(ParkingEventBus.class.getName());
+    private static int busNum;
+
+    private final String busID;
+    private final int queueCapacity;
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong publishedCount = new AtomicLong();
+    //Publishers share the read lock, close() takes the write lock
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    /**
+     * Constructs a ParkingEventBus with the default queue capacity
+     */
+    public ParkingEventBus() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs a ParkingEventBus
+     *
+     * @param queueCapacity the number of events that may wait for each
+     * subscriber, at least 1
+     * @throws IllegalArgumentException if queueCapacity is less than 1
+     */
+    public ParkingEventBus(int queueCapacity) throws IllegalArgumentException {
+        if(queueCapacity < 1){
+            throw new IllegalArgumentException("Sorry, each subscriber must queue at least one event");
+        }
+        synchronized(ParkingEventBus.class){
+            busNum++;
+            busID = "BUS" + busNum;
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Subscribes a listener to one kind of event, or to every event when the
+     * type is <code>ParkingEvent.class</code>
+     *
+     * @param type the <code>Class</code> of the events to receive
+     * @param listener a valid <code>ParkingEventListener</code> that is not null
+     * @param name a <code>String</code> that is not null naming the
+     * subscriber, used for its thread and in logs
+     * @return the <code>Subscription</code>, which can be closed to unsubscribe
+     * @throws IllegalArgumentException if an argument is null
+     * @throws IllegalStateException if the bus has been closed
+     */
+    public final <E extends ParkingEvent> Subscription<E> subscribe(Class<E> type,
+            ParkingEventListener<? super E> listener, String name) throws IllegalArgumentException, IllegalStateException {
+        if(type == null || listener == null || name == null){
+            throw new IllegalArgumentException("Sorry, the event type, listener and name cannot be null");
+        }
+        if(closed){
+            throw new IllegalStateException("Sorry, the event bus has been closed");
+        }
+        Subscription<E> subscription = new Subscription<>(type, listener, name);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Queues an event for every subscriber to its kind and returns without
+     * waiting for them to handle it
+     *
+     * @param event a valid <code>ParkingEvent</code> that is not null
+     * @throws IllegalArgumentException if the event is null
+     */
+    public final void publish(ParkingEvent event) throws IllegalArgumentException {
+        if(event == null){
+            throw new IllegalArgumentException("Sorry, the event is null");
+        }
+        closeLock.readLock().lock();
+        try {
+            if(closed){
+                LOGGER.log(Level.FINE, "Event bus {0} is closed, dropping {1}", new Object[]{busID, event});
+                return;
+            }
+            publishedCount.incrementAndGet();
+            for(Subscription<?> subscription : subscriptions){
+                subscription.offer(event);
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until every subscriber has handled the events published so far,
+     * or the timeout runs out
+     *
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if every subscriber caught up in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public final boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for(Subscription<?> subscription : subscriptions){
+            while(subscription.getPendingCount() > 0){
+                if(System.nanoTime() >= deadline){
+                    return false;
+                }
+                Thread.sleep(1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lets every subscriber handle the events already published, then stops
+     * their threads. Events published after closing are dropped.
+     */
+    @Override
+    public final void close() {
+        //Wait for publishes under way, which may be waiting for room
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        for(Subscription<?> subscription : subscriptions){
+            subscription.close();
+        }
+    }
+
+    public final String getBusID() {
+        return busID;
+    }
+
+    public final List<Subscription<?>> getSubscriptions() {
+        return subscriptions;
+    }
+
+    public final long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    public final boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 3;
+        hash = 29 * hash + Objects.hashCode(this.busID);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final ParkingEventBus other = (ParkingEventBus) obj;
+        if (!Objects.equals(this.busID, other.busID)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the ID, subscriber count and number of events published
+     *
+     * @return a <code>String</code> describing the bus
+     */
+    @Override
+    public final String toString() {
+        return "Event bus " + busID + ": " + subscriptions.size() + " subscribers, "
+                + publishedCount.get() + " events published";
+    }
+
+    /**
+     * One listener's subscription to one kind of event, with its own thread
+     * and queue
+     */
+    public final class Subscription<E extends ParkingEvent> implements Closeable {
+        private final Class<E> type;
+        private final ParkingEventListener<? super E> listener;
+        private final String name;
+        private final BoundedExecutor executor;
+        private final AtomicLong pendingCount = new AtomicLong();
+        private final AtomicLong deliveredCount = new AtomicLong();
+        private final AtomicLong failedCount = new AtomicLong();
+
+        private Subscription(Class<E> type, ParkingEventListener<? super E> listener, final String name) {
+            this.type = type;
+            this.listener = listener;
+            this.name = name;
+            final AtomicInteger threadNum = new AtomicInteger();
+            executor = new BoundedExecutor(1, queueCapacity, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable task) {
+                    Thread thread = new Thread(task, busID + "-" + name + "-" + threadNum.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        private void offer(ParkingEvent event) {
+            if(!type.isInstance(event)){
+                return;
+            }
+            final E typed = type.cast(event);
+            pendingCount.incrementAndGet();
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        deliver(typed);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                pendingCount.decrementAndGet();
+                LOGGER.log(Level.FINE, "Subscriber " + name + " is closed, dropping " + event, ex);
+            }
+        }
+
+        private void deliver(E event) {
+            try {
+                listener.onEvent(event);
+                deliveredCount.incrementAndGet();
+            } catch (Exception ex) {
+                failedCount.incrementAndGet();
+                LOGGER.log(Level.WARNING, "Subscriber " + name + " could not handle " + event, ex);
+            } finally {
+                pendingCount.decrementAndGet();
+            }
+        }
+
+        /**
+         * Unsubscribes, after handling the events already queued
+         */
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+            executor.shutdown();
+            try {
+                while(!executor.awaitTermination(1, TimeUnit.SECONDS)){
+                    LOGGER.fine("Waiting for subscriber " + name + " to finish");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public Class<E> getType() {
+            return type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getQueueDepth() {
+            return executor.getQueueDepth();
+        }
+
+        public long getPendingCount() {
+            return pendingCount.get();
+        }
+
+        public long getDeliveredCount() {
+            return deliveredCount.get();
+        }
+
+        public long getFailedCount() {
+            return failedCount.get();
+        }
+
+        @Override
+        public String toString() {
+            return "Subscriber " + name + " to " + type.getSimpleName() + ": " + getQueueDepth() + " queued, "
+                    + deliveredCount.get() + " delivered, " + failedCount.get() + " failed";
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ics.parkinggarageapp;
+
+/**
+ * The ParkingEventListener interface can be implemented to receive
+ * <code>ParkingEvent</code>s from a <code>ParkingEventBus</code>. Each
+ * listener receives its events in the order they were published, on a thread
+ * of its own.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public interface ParkingEventListener<E extends ParkingEvent> {
+    public abstract void onEvent(E event) throws Exception;
+}
@@ -7,12 +7,77 @@ package ics.parkinggarageapp;
  * Revision History:
  * <ul>
  * <li>2017-10-17: Initial version of ParkingFeeCalculator interface</li>
+ * <li>2026-10-17: Add calcParkingFeeCents() for exact amounts in cents</li>
+ * <li>2026-10-17: Add batch calcParkingFees() and calcParkingFeesCents()</li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.00
+ * @version 1.02
  * @since 1.8
  */
 public interface ParkingFeeCalculator {
     public abstract double calcParkingFee(double hrsParked);
+    
+    /**
+     * Calculates the fee owed in cents. Implementations should override this to
+     * do the arithmetic in cents; the default rounds calcParkingFee().
+     * 
+     * @param hrsParked a <code>double</code> with the amount of time parked in hours
+     * @return a <code>long</code> that is the amount owed in cents
+     */
+    public default long calcParkingFeeCents(double hrsParked) {
+        return Money.toCents(calcParkingFee(hrsParked));
+    }
+    
+    /**
+     * Calculates the fee for every time in <code>hrsParked</code>, storing
+     * each fee at the same index in <code>fees</code>. Implementations should
+     * override this with a loop specialized for their pricing; the default
+     * calls calcParkingFee() once per time.
+     * 
+     * @param hrsParked a <code>double[]</code> with times parked in hours
+     * @param fees a <code>double[]</code> at least as long as <code>hrsParked</code>
+     * that receives the fees
+     * @throws IllegalArgumentException if either array is null or
+     * <code>fees</code> is too short
+     */
+    public default void calcParkingFees(double[] hrsParked, double[] fees) throws IllegalArgumentException {
+        checkBatch(hrsParked, fees == null ? -1 : fees.length);
+        for(int i = 0; i < hrsParked.length; i++){
+            fees[i] = calcParkingFee(hrsParked[i]);
+        }
+    }
+    
+    /**
+     * Calculates the fee in cents for every time in <code>hrsParked</code>,
+     * storing each fee at the same index in <code>feesCents</code>
+     * 
+     * @param hrsParked a <code>double[]</code> with times parked in hours
+     * @param feesCents a <code>long[]</code> at least as long as <code>hrsParked</code>
+     * that receives the fees in cents
+     * @throws IllegalArgumentException if either array is null or
+     * <code>feesCents</code> is too short
+     */
+    public default void calcParkingFeesCents(double[] hrsParked, long[] feesCents) throws IllegalArgumentException {
+        checkBatch(hrsParked, feesCents == null ? -1 : feesCents.length);
+        for(int i = 0; i < hrsParked.length; i++){
+            feesCents[i] = calcParkingFeeCents(hrsParked[i]);
+        }
+    }
+    
+    /**
+     * Checks the arrays passed to a batch calculation
+     * 
+     * @param hrsParked the times parked
+     * @param outputLength the length of the output array, or -1 if it is null
+     * @throws IllegalArgumentException if the arrays cannot be used
+     */
+    public static void checkBatch(double[] hrsParked, int outputLength) throws IllegalArgumentException {
+        if(hrsParked == null || outputLength < 0){
+            throw new IllegalArgumentException("Sorry, cannot calculate fees with a null array");
+        }
+        if(outputLength < hrsParked.length){
+            throw new IllegalArgumentException("Sorry, the fees array is shorter than the times array");
+        }
+    }
 }
\ No newline at end of file
@@ -1,27 +1,37 @@
 package ics.parkinggarageapp;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A ParkingGarage consists of a name, address, and parking spaces. It also has
- * methods to keep track of full spaces and available spaces.
+ * methods to keep track of full spaces and available spaces. The number of
+ * full spaces is one atomic counter, so any number of
+ * <code>EntryStation</code>s and <code>ExitStation</code>s can share a garage
+ * without locking, and tryAdmit() never lets it pass the total spaces.
  * <p>
  * Revision History:
  * <ul>
  * <li>2017-10-17: Initial version of ParkingGarage class</li>
  * <li>2017-11-14: Add overrides to equals(), hashCode(), and toString()</li>
+ * <li>2026-10-17: Track full spaces with one atomic counter and add tryAdmit() so the
+ * garage can never be overfilled</li>
+ * <li>2026-10-17: Add an optional <code>ParkingSpaceMap</code> of which spaces are taken</li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.01
+ * @version 1.03
  * @since 1.8
  */
 public class ParkingGarage {
     private String garageName;
     private String garageAddress;
-    private int totalParkingSpaces;
-    private int fullParkingSpaces;
-    private int emptyParkingSpaces;
+    private volatile int totalParkingSpaces;
+    private final AtomicInteger fullParkingSpaces = new AtomicInteger();
+    private final AtomicInteger waitingVehicles = new AtomicInteger();
+    private final Object spaceLeft = new Object();
+    private volatile ParkingSpaceMap spaceMap;
 
     /**
      * Constructor to create a ParkingGarage object
@@ -41,22 +51,80 @@ public class ParkingGarage {
         setEmptyParkingSpaces(totalParkingSpaces);
     }
     
+    /**
+     * Takes a parking space for a vehicle if one is empty
+     * 
+     * @return true if the vehicle was given a space, false if the garage is full
+     */
+    public final boolean tryAdmit(){
+        int full = fullParkingSpaces.get();
+        while(full < totalParkingSpaces){
+            if(fullParkingSpaces.compareAndSet(full, full + 1)){
+                return true;
+            }
+            full = fullParkingSpaces.get();
+        }
+        return false;
+    }
+    
+    /**
+     * Takes a parking space for a vehicle, waiting up to the timeout for one
+     * to be left if the garage is full
+     * 
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if the vehicle was given a space, false if none was left in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public final boolean tryAdmit(long timeout, TimeUnit unit) throws InterruptedException {
+        if(tryAdmit()){
+            return true;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        waitingVehicles.incrementAndGet();
+        try {
+            synchronized(spaceLeft){
+                while(!tryAdmit()){
+                    long remaining = deadline - System.nanoTime();
+                    if(remaining <= 0){
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(spaceLeft, remaining);
+                }
+                return true;
+            }
+        } finally {
+            waitingVehicles.decrementAndGet();
+        }
+    }
+    
     /**
      * Adds one to the amount of full parking spaces and removes one from the
      * amount of empty parking spaces
+     * 
+     * @throws IllegalStateException if the garage is already full
      */
-    public final void fillParkingSpace(){
-        fullParkingSpaces++;
-        emptyParkingSpaces--;
+    public final void fillParkingSpace() throws IllegalStateException {
+        if(!tryAdmit()){
+            throw new IllegalStateException("Sorry, the garage is full");
+        }
     }
     
     /**
      * Removes one from the amount of full parking spaces and adds one to the
-     * amount of empty parking spaces
+     * amount of empty parking spaces. Does nothing if the garage is empty.
      */
     public final void leaveParkingSpace(){
-        fullParkingSpaces--;
-        emptyParkingSpaces++;
+        int full = fullParkingSpaces.get();
+        while(full > 0 && !fullParkingSpaces.compareAndSet(full, full - 1)){
+            full = fullParkingSpaces.get();
+        }
+        //Only take the lock when a vehicle is waiting for this space
+        if(full > 0 && waitingVehicles.get() > 0){
+            synchronized(spaceLeft){
+                spaceLeft.notifyAll();
+            }
+        }
     }
 
     public final String getGarageName() {
@@ -95,27 +163,46 @@ public class ParkingGarage {
         }
     }
 
+    public final ParkingSpaceMap getSpaceMap() {
+        return spaceMap;
+    }
+
+    /**
+     * Sets the map of which spaces are taken. With a map, entry stations give
+     * each vehicle the free space nearest their gate and print it on the ticket.
+     * 
+     * @param spaceMap a <code>ParkingSpaceMap</code> with the same number of
+     * spaces as the garage, or null to only count spaces
+     * @throws IllegalArgumentException if the map is a different size than the garage
+     */
+    public final void setSpaceMap(ParkingSpaceMap spaceMap) throws IllegalArgumentException {
+        if(spaceMap != null && spaceMap.getSpaceCount() != totalParkingSpaces){
+            throw new IllegalArgumentException("Sorry, the space map must have " + totalParkingSpaces + " spaces");
+        }
+        this.spaceMap = spaceMap;
+    }
+
     public final int getFullParkingSpaces() {
-        return fullParkingSpaces;
+        return fullParkingSpaces.get();
     }
 
     public final void setFullParkingSpaces(int fullParkingSpaces) throws IllegalArgumentException {
-        if(fullParkingSpaces >= 0){
-            this.fullParkingSpaces = fullParkingSpaces;
+        if(fullParkingSpaces >= 0 && fullParkingSpaces <= totalParkingSpaces){
+            this.fullParkingSpaces.set(fullParkingSpaces);
         } else {
-            throw new IllegalArgumentException("Must enter valid number of full spaces (At least 0)");
+            throw new IllegalArgumentException("Must enter valid number of full spaces (At least 0, at most the total)");
         }
     }
 
     public final int getEmptyParkingSpaces() {
-        return emptyParkingSpaces;
+        return totalParkingSpaces - fullParkingSpaces.get();
     }
 
     public final void setEmptyParkingSpaces(int emptyParkingSpaces) throws IllegalArgumentException {
-        if(emptyParkingSpaces >= 0){
-            this.emptyParkingSpaces = emptyParkingSpaces;
+        if(emptyParkingSpaces >= 0 && emptyParkingSpaces <= totalParkingSpaces){
+            this.fullParkingSpaces.set(totalParkingSpaces - emptyParkingSpaces);
         } else {
-            throw new IllegalArgumentException("Must enter valid number of empty spaces (At least 0)");
+            throw new IllegalArgumentException("Must enter valid number of empty spaces (At least 0, at most the total)");
         }
     }
 
@@ -155,7 +242,8 @@ public class ParkingGarage {
      */
     @Override
     public final String toString() {
+        int full = fullParkingSpaces.get();
         return garageName + " " + garageAddress + "\nTotal Parking Spaces: " + totalParkingSpaces +
-                "\nFull Parking Spaces: " + fullParkingSpaces + "\nEmpty Parking Spaces: " + emptyParkingSpaces;
+                "\nFull Parking Spaces: " + full + "\nEmpty Parking Spaces: " + (totalParkingSpaces - full);
     }
 }
\ No newline at end of file
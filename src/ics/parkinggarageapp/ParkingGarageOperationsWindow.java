@@ -10,7 +10,9 @@ import java.util.Vector;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JOptionPane;
+import javax.swing.JTable;
 import javax.swing.JTextArea;
+import javax.swing.table.TableRowSorter;
 
 /**
  *
@@ -22,10 +24,17 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
         private String calc3 = "Special Event";
         private Vector<String> feeCalcList = new Vector<String>();
         private TicketDatabase tickets = ExternalSpecFactory.getTicketDatabaseInstance();
+        private TicketTableModel ticketTableModel = new TicketTableModel(tickets);
+        private TableRowSorter<TicketTableModel> ticketSorter = new TableRowSorter<TicketTableModel>(ticketTableModel);
         private ParkingGarage garage;
         private EntryStation entryStation;
         private ExitStation exitStation;
         private ParkingFeeCalculator feeCalc;
+        //Kept for the life of the window, since each holds a thread and the
+        //generator also holds totals.txt and a shutdown hook
+        private ManagementReportGenerator reportGen;
+        private QueuedParkingInfoOutput entryScreen = new QueuedParkingInfoOutput(new ParkingStationScreen());
+        private QueuedParkingInfoOutput exitScreen = new QueuedParkingInfoOutput(new ParkingStationScreen());
 
     /**
      * Creates new form ConfigForm
@@ -84,8 +93,10 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
         jLabel18 = new javax.swing.JLabel();
         jScrollPane1 = new javax.swing.JScrollPane();
         totalsReportOut = new javax.swing.JTextArea();
+        jLabel19 = new javax.swing.JLabel();
+        plateFilterInput = new javax.swing.JTextField();
         jScrollPane2 = new javax.swing.JScrollPane();
-        ticketsOut = new javax.swing.JTextArea();
+        ticketsTable = new javax.swing.JTable();
 
         setDefaultCloseOperation(javax.swing.WindowConstants.EXIT_ON_CLOSE);
 
@@ -354,9 +365,17 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
         totalsReportOut.setRows(5);
         jScrollPane1.setViewportView(totalsReportOut);
 
-        ticketsOut.setColumns(20);
-        ticketsOut.setRows(5);
-        jScrollPane2.setViewportView(ticketsOut);
+        jLabel19.setText("Filter by plate:");
+
+        plateFilterInput.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                plateFilterInputActionPerformed(evt);
+            }
+        });
+
+        ticketsTable.setModel(ticketTableModel);
+        ticketsTable.setRowSorter(ticketSorter);
+        jScrollPane2.setViewportView(ticketsTable);
 
         javax.swing.GroupLayout jPanel5Layout = new javax.swing.GroupLayout(jPanel5);
         jPanel5.setLayout(jPanel5Layout);
@@ -368,7 +387,12 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
                     .addGroup(jPanel5Layout.createSequentialGroup()
                         .addComponent(jScrollPane1, javax.swing.GroupLayout.PREFERRED_SIZE, 536, javax.swing.GroupLayout.PREFERRED_SIZE)
                         .addGap(18, 18, 18)
-                        .addComponent(jScrollPane2))
+                        .addGroup(jPanel5Layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                            .addGroup(jPanel5Layout.createSequentialGroup()
+                                .addComponent(jLabel19)
+                                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                                .addComponent(plateFilterInput))
+                            .addComponent(jScrollPane2)))
                     .addGroup(jPanel5Layout.createSequentialGroup()
                         .addComponent(jLabel18)
                         .addGap(0, 0, Short.MAX_VALUE)))
@@ -381,7 +405,12 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
                 .addComponent(jLabel18)
                 .addGap(18, 18, 18)
                 .addGroup(jPanel5Layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
-                    .addComponent(jScrollPane2, javax.swing.GroupLayout.DEFAULT_SIZE, 280, Short.MAX_VALUE)
+                    .addGroup(jPanel5Layout.createSequentialGroup()
+                        .addGroup(jPanel5Layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                            .addComponent(jLabel19)
+                            .addComponent(plateFilterInput, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(jScrollPane2, javax.swing.GroupLayout.DEFAULT_SIZE, 251, Short.MAX_VALUE))
                     .addComponent(jScrollPane1))
                 .addContainerGap())
         );
@@ -471,6 +500,7 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
                 String wMsg = welcomeMsgInput.getText();
                 if(wMsg != null){
                     entryStation = new EntryStation(garage, wMsg, tickets);
+                    entryStation.setScreen(entryScreen);
                 } else {
                     totalsReportOut.setText("ERROR: Could not configure entry station");
                 }
@@ -479,14 +509,16 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
                 String xMsg = exitMsgInput.getText();
                 if(xMsg != null){
                     try {
-                        exitStation = new ExitStation(garage, xMsg, feeCalc,
-                                new ManagementReportGenerator(
-                                        tickets,
-                                        new File("src" + File.separatorChar + "totals.txt"),
-                                        new TextFileService(new RunningTotalsFormatter()),
-                                        this
-                                )
-                        );
+                        if(reportGen == null){
+                            reportGen = new ManagementReportGenerator(
+                                    tickets,
+                                    new File("src" + File.separatorChar + "totals.txt"),
+                                    new TextFileService(new RunningTotalsFormatter()),
+                                    this
+                            );
+                        }
+                        exitStation = new ExitStation(garage, xMsg, feeCalc, reportGen);
+                        exitStation.setScreen(exitScreen);
                     } catch (Exception ex) {
                         JOptionPane.showMessageDialog(null, ex.getMessage());
                     }
@@ -515,6 +547,10 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
             }
     }//GEN-LAST:event_okBtnActionPerformed
 
+    private void plateFilterInputActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_plateFilterInputActionPerformed
+        ticketSorter.setRowFilter(TicketTableModel.plateFilter(plateFilterInput.getText()));
+    }//GEN-LAST:event_plateFilterInputActionPerformed
+
     public final ParkingFeeCalculator getFeeCalc() {
         return feeCalc;
     }
@@ -559,15 +595,19 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
         this.exitStation = exitStation;
     }
 
-    public final JTextArea getTicketsOut() {
-        return ticketsOut;
+    public final JTable getTicketsTable() {
+        return ticketsTable;
     }
 
-    public final void setTicketsOut(JTextArea ticketsOut) throws IllegalArgumentException {
-        if(ticketsOut == null){
-            throw new IllegalArgumentException("Sorry, ticket report window cannot be null");
+    public final void setTicketsTable(JTable ticketsTable) throws IllegalArgumentException {
+        if(ticketsTable == null){
+            throw new IllegalArgumentException("Sorry, ticket table cannot be null");
         }
-        this.ticketsOut = ticketsOut;
+        this.ticketsTable = ticketsTable;
+    }
+
+    public final TicketTableModel getTicketTableModel() {
+        return ticketTableModel;
     }
 
     public final JTextArea getTotalsReportOut() {
@@ -636,6 +676,7 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
     private javax.swing.JLabel jLabel16;
     private javax.swing.JLabel jLabel17;
     private javax.swing.JLabel jLabel18;
+    private javax.swing.JLabel jLabel19;
     private javax.swing.JLabel jLabel2;
     private javax.swing.JLabel jLabel3;
     private javax.swing.JLabel jLabel4;
@@ -655,8 +696,9 @@ public class ParkingGarageOperationsWindow extends javax.swing.JFrame {
     private javax.swing.JTextField minFeeInput;
     private javax.swing.JTextField numParkingSpaces;
     private javax.swing.JButton okBtn;
+    private javax.swing.JTextField plateFilterInput;
     private javax.swing.JTextField stateInput;
-    private javax.swing.JTextArea ticketsOut;
+    private javax.swing.JTable ticketsTable;
     private javax.swing.JTextArea totalsReportOut;
     private javax.swing.JTextField welcomeMsgInput;
     private javax.swing.JTextField zipInput;
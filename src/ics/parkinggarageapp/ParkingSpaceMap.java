@@ -0,0 +1,325 @@
+package ics.parkinggarageapp;
+
+import java.util.Arrays;
+
+/**
+ * ParkingSpaceMap knows which parking spaces in a <code>ParkingGarage</code>
+ * are taken. Each level keeps one bit per space, packed 64 to a
+ * <code>long</code>, plus a summary with one bit per <code>long</code> that
+ * still has a free space. Taking or leaving a space touches one word and at
+ * most one summary bit, and finding the free space nearest a gate only looks
+ * at the summary and the words it points to, so even a level with tens of
+ * thousands of spaces is never scanned space by space.
+ * <p>
+ * Spaces are numbered across the whole garage, starting with level 0 space 0.
+ * The nearest free space to a gate is the closest space on the gate's level;
+ * if that level is full, the closest space on the nearest level that is not.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of ParkingSpaceMap class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public class ParkingSpaceMap {
+    public static final int NO_SPACE = -1;
+    private static final int ADDRESS_BITS = 6;
+    private static final int WORD_MASK = 63;
+
+    private final int[] levelStart;
+    private final long[][] taken;
+    private final long[][] hasFree;
+    private final int[] freeOnLevel;
+    private int free;
+
+    /**
+     * Constructs a ParkingSpaceMap with every space free
+     *
+     * @param spacesPerLevel an <code>int[]</code> with the number of spaces on
+     * each level, each at least 1
+     * @throws IllegalArgumentException if there are no levels or a level has
+     * no spaces
+     */
+    public ParkingSpaceMap(int... spacesPerLevel) throws IllegalArgumentException {
+        if(spacesPerLevel == null || spacesPerLevel.length == 0){
+            throw new IllegalArgumentException("Sorry, a garage needs at least one level");
+        }
+        int levels = spacesPerLevel.length;
+        levelStart = new int[levels + 1];
+        taken = new long[levels][];
+        hasFree = new long[levels][];
+        freeOnLevel = new int[levels];
+        for(int level = 0; level < levels; level++){
+            int spaces = spacesPerLevel[level];
+            if(spaces < 1){
+                throw new IllegalArgumentException("Sorry, every level needs at least one space");
+            }
+            levelStart[level + 1] = Math.addExact(levelStart[level], spaces);
+            int words = (spaces + WORD_MASK) >>> ADDRESS_BITS;
+            taken[level] = new long[words];
+            //Bits past the last space count as taken so they are never handed out
+            int extra = spaces & WORD_MASK;
+            if(extra != 0){
+                taken[level][words - 1] = -1L << extra;
+            }
+            hasFree[level] = new long[(words + WORD_MASK) >>> ADDRESS_BITS];
+            for(int word = 0; word < words; word++){
+                hasFree[level][word >>> ADDRESS_BITS] |= 1L << word;
+            }
+            freeOnLevel[level] = spaces;
+        }
+        free = levelStart[levels];
+    }
+
+    /**
+     * Constructs a ParkingSpaceMap with the same number of spaces on every level
+     *
+     * @param levels the number of levels, at least 1
+     * @param spacesPerLevel the number of spaces on each level, at least 1
+     * @return a new <code>ParkingSpaceMap</code>
+     * @throws IllegalArgumentException if either count is less than 1
+     */
+    public static ParkingSpaceMap withLevels(int levels, int spacesPerLevel) throws IllegalArgumentException {
+        if(levels < 1){
+            throw new IllegalArgumentException("Sorry, a garage needs at least one level");
+        }
+        int[] spaces = new int[levels];
+        Arrays.fill(spaces, spacesPerLevel);
+        return new ParkingSpaceMap(spaces);
+    }
+
+    /**
+     * Takes the free space nearest to a gate
+     *
+     * @param gateLevel the level the gate is on
+     * @param gateSpace the space on that level closest to the gate
+     * @return the number of the space taken, or NO_SPACE if the garage is full
+     * @throws IllegalArgumentException if the gate is not in the garage
+     */
+    public final synchronized int allocateNearest(int gateLevel, int gateSpace) throws IllegalArgumentException {
+        checkSpace(gateLevel, gateSpace);
+        if(free == 0){
+            return NO_SPACE;
+        }
+        int levels = freeOnLevel.length;
+        for(int distance = 0; distance < levels; distance++){
+            int[] candidates = {gateLevel - distance, gateLevel + distance};
+            for(int c = 0; c < (distance == 0 ? 1 : 2); c++){
+                int level = candidates[c];
+                if(level < 0 || level >= levels || freeOnLevel[level] == 0){
+                    continue;
+                }
+                int spaces = levelStart[level + 1] - levelStart[level];
+                int index = nearestFree(level, Math.min(gateSpace, spaces - 1));
+                take(level, index);
+                return levelStart[level] + index;
+            }
+        }
+        return NO_SPACE;
+    }
+
+    /**
+     * Takes a particular space
+     *
+     * @param space the number of the space
+     * @return true if the space was free and is now taken
+     * @throws IllegalArgumentException if the space is not in the garage
+     */
+    public final synchronized boolean allocate(int space) throws IllegalArgumentException {
+        int level = levelOf(space);
+        int index = space - levelStart[level];
+        if((taken[level][index >>> ADDRESS_BITS] & (1L << index)) != 0){
+            return false;
+        }
+        take(level, index);
+        return true;
+    }
+
+    /**
+     * Leaves a space so it can be given to another vehicle
+     *
+     * @param space the number of the space
+     * @return true if the space was taken and is now free
+     * @throws IllegalArgumentException if the space is not in the garage
+     */
+    public final synchronized boolean release(int space) throws IllegalArgumentException {
+        int level = levelOf(space);
+        int index = space - levelStart[level];
+        int word = index >>> ADDRESS_BITS;
+        long bit = 1L << index;
+        if((taken[level][word] & bit) == 0){
+            return false;
+        }
+        taken[level][word] &= ~bit;
+        hasFree[level][word >>> ADDRESS_BITS] |= 1L << word;
+        freeOnLevel[level]++;
+        free++;
+        return true;
+    }
+
+    /**
+     * Tells whether a space is free
+     *
+     * @param space the number of the space
+     * @return true if no vehicle is in the space
+     * @throws IllegalArgumentException if the space is not in the garage
+     */
+    public final synchronized boolean isFree(int space) throws IllegalArgumentException {
+        int level = levelOf(space);
+        int index = space - levelStart[level];
+        return (taken[level][index >>> ADDRESS_BITS] & (1L << index)) == 0;
+    }
+
+    private void take(int level, int index) {
+        int word = index >>> ADDRESS_BITS;
+        taken[level][word] |= 1L << index;
+        if(taken[level][word] == -1L){
+            hasFree[level][word >>> ADDRESS_BITS] &= ~(1L << word);
+        }
+        freeOnLevel[level]--;
+        free--;
+    }
+
+    private int nearestFree(int level, int index) {
+        long[] words = taken[level];
+        int word = index >>> ADDRESS_BITS;
+        int bit = index & WORD_MASK;
+        long open = ~words[word];
+        //Closest free space at or below, then at or above, within the gate's word
+        long atOrBelow = open & (-1L >>> (WORD_MASK - bit));
+        long atOrAbove = open & (-1L << bit);
+        int below = atOrBelow != 0 ? (word << ADDRESS_BITS) + 63 - Long.numberOfLeadingZeros(atOrBelow) : -1;
+        int above = atOrAbove != 0 ? (word << ADDRESS_BITS) + Long.numberOfTrailingZeros(atOrAbove) : -1;
+        if(below < 0){
+            int w = previousSetBit(hasFree[level], word - 1);
+            if(w >= 0){
+                below = (w << ADDRESS_BITS) + 63 - Long.numberOfLeadingZeros(~words[w]);
+            }
+        }
+        if(above < 0){
+            int w = nextSetBit(hasFree[level], word + 1);
+            if(w >= 0){
+                above = (w << ADDRESS_BITS) + Long.numberOfTrailingZeros(~words[w]);
+            }
+        }
+        if(below < 0){
+            return above;
+        }
+        if(above < 0){
+            return below;
+        }
+        return index - below <= above - index ? below : above;
+    }
+
+    private static int nextSetBit(long[] bits, int from) {
+        if(from < 0){
+            from = 0;
+        }
+        int i = from >>> ADDRESS_BITS;
+        if(i >= bits.length){
+            return -1;
+        }
+        long word = bits[i] & (-1L << from);
+        while(word == 0){
+            if(++i == bits.length){
+                return -1;
+            }
+            word = bits[i];
+        }
+        return (i << ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+    }
+
+    private static int previousSetBit(long[] bits, int from) {
+        if(from < 0){
+            return -1;
+        }
+        int i = from >>> ADDRESS_BITS;
+        long word = bits[i] & (-1L >>> (WORD_MASK - (from & WORD_MASK)));
+        while(word == 0){
+            if(i-- == 0){
+                return -1;
+            }
+            word = bits[i];
+        }
+        return (i << ADDRESS_BITS) + 63 - Long.numberOfLeadingZeros(word);
+    }
+
+    private void checkSpace(int level, int index) throws IllegalArgumentException {
+        if(level < 0 || level >= freeOnLevel.length || index < 0){
+            throw new IllegalArgumentException("Sorry, that gate is not in the garage");
+        }
+    }
+
+    /**
+     * Finds the level a space is on
+     *
+     * @param space the number of the space
+     * @return the level, starting at 0
+     * @throws IllegalArgumentException if the space is not in the garage
+     */
+    public final int levelOf(int space) throws IllegalArgumentException {
+        if(space < 0 || space >= levelStart[levelStart.length - 1]){
+            throw new IllegalArgumentException("Sorry, that space is not in the garage");
+        }
+        int level = Arrays.binarySearch(levelStart, space);
+        //Spaces that start a level are found exactly, others fall between two starts
+        return level >= 0 ? level : -level - 2;
+    }
+
+    /**
+     * Finds a space's number on its own level
+     *
+     * @param space the number of the space
+     * @return the space's number on its level, starting at 0
+     * @throws IllegalArgumentException if the space is not in the garage
+     */
+    public final int spaceOnLevel(int space) throws IllegalArgumentException {
+        return space - levelStart[levelOf(space)];
+    }
+
+    /**
+     * Describes a space the way a driver would look for it
+     *
+     * @param space the number of the space
+     * @return a <code>String</code> like "Level 2, Space 15"
+     * @throws IllegalArgumentException if the space is not in the garage
+     */
+    public final String describe(int space) throws IllegalArgumentException {
+        int level = levelOf(space);
+        return "Level " + (level + 1) + ", Space " + (space - levelStart[level] + 1);
+    }
+
+    public final int getLevelCount() {
+        return freeOnLevel.length;
+    }
+
+    public final int getSpaceCount() {
+        return levelStart[levelStart.length - 1];
+    }
+
+    public final int getSpaceCount(int level) {
+        return levelStart[level + 1] - levelStart[level];
+    }
+
+    public final synchronized int getFreeCount() {
+        return free;
+    }
+
+    public final synchronized int getFreeCount(int level) {
+        return freeOnLevel[level];
+    }
+
+    /**
+     * Returns the size of the garage and the number of free spaces
+     *
+     * @return a <code>String</code> describing the map
+     */
+    @Override
+    public final String toString() {
+        return "Parking space map: " + getLevelCount() + " levels, " + getSpaceCount() + " spaces, "
+                + getFreeCount() + " free";
+    }
+}
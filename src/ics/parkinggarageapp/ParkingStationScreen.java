@@ -1,22 +1,26 @@
 package ics.parkinggarageapp;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.Objects;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 
 /**
  * ParkingStationScreen is an implementation of <code>ParkingInfoOutput</code>
  * that simulates the screen on an <code>AutomatedParkingStation</code> by using
  * a GUI. The outputParkingInfo() method utilizes a <code>JOptionPane</code> to
- * display output.
+ * display output. The dialog is always shown on the event dispatch thread,
+ * even when the message comes from another thread.
  * <p>
  * Revision History:
  * <ul>
  * <li>2017-10-17: Initial version of ParkingStationScreen class</li>
  * <li>2017-11-14: Add overrides to equals(), hashCode(), and toString()</li>
+ * <li>2026-10-17: Show the dialog on the event dispatch thread when called from another thread</li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.01
+ * @version 1.02
  * @since 1.8
  */
 public class ParkingStationScreen implements ParkingInfoOutput {
@@ -39,8 +43,27 @@ public class ParkingStationScreen implements ParkingInfoOutput {
      * to display to the GUI / screen
      */
     @Override
-    public final void outputParkingInfo(String message) {
-        JOptionPane.showMessageDialog(null, message);
+    public final void outputParkingInfo(final String message) {
+        if(SwingUtilities.isEventDispatchThread()){
+            JOptionPane.showMessageDialog(null, message);
+            return;
+        }
+        //Wait for the dialog to close so messages are still shown one at a time
+        try {
+            SwingUtilities.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                    JOptionPane.showMessageDialog(null, message);
+                }
+            });
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException ex) {
+            if(ex.getCause() instanceof RuntimeException){
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
     }
     
     public final static int getScreenNum() {
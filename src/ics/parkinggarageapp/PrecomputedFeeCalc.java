@@ -0,0 +1,202 @@
+package ics.parkinggarageapp;
+
+import java.util.Objects;
+
+/**
+ * A PrecomputedFeeCalc is a <code>ParkingFeeCalculator</code> that wraps
+ * another calculator and looks fees up in a table instead of working them out
+ * on every call. Fees only change at whole minutes, so when it is built the
+ * wrapped calculator is asked once for each minute up to a horizon (48 hours
+ * by default).
+ * <p>
+ * A time is only looked up if it is exactly the value a <code>Ticket</code>
+ * produces for a whole number of minutes (hours + minutes / 60). Any other
+ * time, or a time past the horizon, is passed to the wrapped calculator, so
+ * the result is always identical to calling the wrapped calculator directly.
+ * <p>
+ * The table is filled in the constructor. If the wrapped calculator's fees
+ * are changed afterward, build a new PrecomputedFeeCalc.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of PrecomputedFeeCalc class</li>
+ * <li>2026-10-17: Add batch table lookup</li>
+ * </ul>
+ * 
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.01
+ * @since 1.8
+ */
+public class PrecomputedFeeCalc implements ParkingFeeCalculator {
+    public static final int DEFAULT_HORIZON_MINUTES = 48 * 60;
+    private final ParkingFeeCalculator feeCalc;
+    private final long[] hoursBits;
+    private final double[] fees;
+    private final long[] feesCents;
+    
+    /**
+     * Constructor to create a PrecomputedFeeCalc with a 48 hour horizon
+     * 
+     * @param feeCalc a valid <code>ParkingFeeCalculator</code> that is not null
+     */
+    public PrecomputedFeeCalc(ParkingFeeCalculator feeCalc) {
+        this(feeCalc, DEFAULT_HORIZON_MINUTES);
+    }
+    
+    /**
+     * Constructor to create a PrecomputedFeeCalc
+     * 
+     * @param feeCalc a valid <code>ParkingFeeCalculator</code> that is not null
+     * @param horizonMinutes an <code>int</code> with the longest stay, in minutes,
+     * to precompute
+     */
+    public PrecomputedFeeCalc(ParkingFeeCalculator feeCalc, int horizonMinutes) throws IllegalArgumentException {
+        if(feeCalc == null){
+            throw new IllegalArgumentException("Sorry, you have attempted to use a null fee calculator");
+        }
+        if(horizonMinutes < 0){
+            throw new IllegalArgumentException("Sorry, the horizon cannot be negative");
+        }
+        this.feeCalc = feeCalc;
+        hoursBits = new long[horizonMinutes + 1];
+        fees = new double[horizonMinutes + 1];
+        feesCents = new long[horizonMinutes + 1];
+        for(int minute = 0; minute <= horizonMinutes; minute++){
+            double hrs = hoursAt(minute);
+            hoursBits[minute] = Double.doubleToRawLongBits(hrs);
+            fees[minute] = feeCalc.calcParkingFee(hrs);
+            feesCents[minute] = feeCalc.calcParkingFeeCents(hrs);
+        }
+    }
+    
+    /**
+     * Returns the time in hours for a whole number of minutes, worked out the
+     * same way <code>Ticket</code> works out time parked
+     * 
+     * @param minute an <code>int</code> with the minutes parked
+     * @return a <code>double</code> with the time parked in hours
+     */
+    static double hoursAt(int minute) {
+        double hrs = minute / 60;
+        double mins = minute % 60;
+        return hrs + (mins/60);
+    }
+
+    /**
+     * Returns the fee owed for the time parked from the table, or from the
+     * wrapped calculator if the time is not in the table
+     * 
+     * @param hrsParked a <code>double</code> with the amount of time parked in hours
+     * @return a <code>double</code> that is the amount owed
+     */
+    @Override
+    public final double calcParkingFee(double hrsParked) {
+        int minute = minuteOf(hrsParked);
+        return minute >= 0 ? fees[minute] : feeCalc.calcParkingFee(hrsParked);
+    }
+    
+    /**
+     * Returns the fee owed in cents for the time parked from the table, or
+     * from the wrapped calculator if the time is not in the table
+     * 
+     * @param hrsParked a <code>double</code> with the amount of time parked in hours
+     * @return a <code>long</code> that is the amount owed in cents
+     */
+    @Override
+    public final long calcParkingFeeCents(double hrsParked) {
+        int minute = minuteOf(hrsParked);
+        return minute >= 0 ? feesCents[minute] : feeCalc.calcParkingFeeCents(hrsParked);
+    }
+    
+    /**
+     * Looks up the fees for a whole array of times parked, sending any time
+     * that is not in the table to the wrapped calculator
+     * 
+     * @param hrsParked a <code>double[]</code> with times parked in hours
+     * @param fees a <code>double[]</code> at least as long as <code>hrsParked</code>
+     * that receives the fees
+     */
+    @Override
+    public final void calcParkingFees(double[] hrsParked, double[] fees) throws IllegalArgumentException {
+        ParkingFeeCalculator.checkBatch(hrsParked, fees == null ? -1 : fees.length);
+        for(int i = 0; i < hrsParked.length; i++){
+            int minute = minuteOf(hrsParked[i]);
+            fees[i] = minute >= 0 ? this.fees[minute] : feeCalc.calcParkingFee(hrsParked[i]);
+        }
+    }
+    
+    /**
+     * Looks up the fees in cents for a whole array of times parked, sending
+     * any time that is not in the table to the wrapped calculator
+     * 
+     * @param hrsParked a <code>double[]</code> with times parked in hours
+     * @param feesCents a <code>long[]</code> at least as long as <code>hrsParked</code>
+     * that receives the fees in cents
+     */
+    @Override
+    public final void calcParkingFeesCents(double[] hrsParked, long[] feesCents) throws IllegalArgumentException {
+        ParkingFeeCalculator.checkBatch(hrsParked, feesCents == null ? -1 : feesCents.length);
+        for(int i = 0; i < hrsParked.length; i++){
+            int minute = minuteOf(hrsParked[i]);
+            feesCents[i] = minute >= 0 ? this.feesCents[minute] : feeCalc.calcParkingFeeCents(hrsParked[i]);
+        }
+    }
+    
+    private int minuteOf(double hrsParked) {
+        if(!(hrsParked >= 0.0 && hrsParked * 60 < fees.length)){
+            return -1;
+        }
+        int minute = (int)Math.round(hrsParked * 60);
+        if(minute < fees.length && hoursBits[minute] == Double.doubleToRawLongBits(hrsParked)){
+            return minute;
+        }
+        return -1;
+    }
+    
+    public final ParkingFeeCalculator getFeeCalc() {
+        return feeCalc;
+    }
+    
+    public final int getHorizonMinutes() {
+        return fees.length - 1;
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 5;
+        hash = 41 * hash + Objects.hashCode(this.feeCalc);
+        hash = 41 * hash + fees.length;
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final PrecomputedFeeCalc other = (PrecomputedFeeCalc) obj;
+        if (this.fees.length != other.fees.length) {
+            return false;
+        }
+        if (!Objects.equals(this.feeCalc, other.feeCalc)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a <code>String</code> with basic information about the fee calculator
+     * 
+     * @return a <code>String</code> with basic information about the fee calculator
+     */
+    @Override
+    public final String toString() {
+        return feeCalc + " | Precomputed to " + getHorizonMinutes() + " min.";
+    }
+}
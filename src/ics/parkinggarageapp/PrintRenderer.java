@@ -0,0 +1,183 @@
+package ics.parkinggarageapp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A PrintRenderer writes the printed text of a <code>Ticket</code> or
+ * <code>Receipt</code> into one <code>StringBuilder</code> that it keeps and
+ * reuses. The fixed lines of each document are constants, and dates, hours
+ * and amounts are written digit by digit instead of through
+ * <code>DecimalFormat</code> or a date formatter, so rendering a document
+ * creates no objects once the buffer has grown to fit.
+ * <p>
+ * A PrintRenderer is not thread-safe. forCurrentThread() gives each thread
+ * its own.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of PrintRenderer class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public final class PrintRenderer {
+    private static final String TICKET_RULE = "\n******************************************";
+    private static final String TICKET_NUMBER = "\nTicket #: ";
+    private static final String VEHICLE_ID = "\nVehicle ID: ";
+    private static final String ENTRY_TIME = "\n\nEntry Time: ";
+    private static final String PARKING_SPACE = "\nParking Space: ";
+    private static final String DASHBOARD = "\n\nPLACE THIS TICKET ON DASHBOARD";
+    private static final String RECEIPT_RULE = "\n------------------------------------------";
+    private static final String RECEIPT_NUMBER = "\nReceipt #: ";
+    private static final String RECEIPT_GAP = "    ";
+    private static final String HOURS_PARKED = "\nHours Parked: ";
+    private static final String TOTAL_DUE = "\n\nTOTAL DUE: ";
+
+    private static final ThreadLocal<PrintRenderer> RENDERERS = new ThreadLocal<PrintRenderer>() {
+        @Override
+        protected PrintRenderer initialValue() {
+            return new PrintRenderer();
+        }
+    };
+
+    private final StringBuilder buffer = new StringBuilder(512);
+
+    /**
+     * Returns the PrintRenderer of the current thread
+     *
+     * @return a <code>PrintRenderer</code> only used by this thread
+     */
+    public static PrintRenderer forCurrentThread() {
+        return RENDERERS.get();
+    }
+
+    /**
+     * Renders a ticket into this renderer's buffer
+     *
+     * @param ticket a valid <code>Ticket</code> that is not null
+     * @return the buffer, which holds the ticket until this renderer renders
+     * something else
+     */
+    public CharSequence render(Ticket ticket) {
+        buffer.setLength(0);
+        return appendTicket(buffer, ticket);
+    }
+
+    /**
+     * Renders a receipt into this renderer's buffer
+     *
+     * @param receipt a valid <code>Receipt</code> that is not null
+     * @return the buffer, which holds the receipt until this renderer renders
+     * something else
+     */
+    public CharSequence render(Receipt receipt) {
+        buffer.setLength(0);
+        return appendReceipt(buffer, receipt);
+    }
+
+    /**
+     * Appends the text of a ticket, exactly as Ticket.formatForPrinting()
+     * returns it
+     *
+     * @param sb a valid <code>StringBuilder</code> that is not null
+     * @param ticket a valid <code>Ticket</code> that is not null
+     * @return <code>sb</code>
+     */
+    public static StringBuilder appendTicket(StringBuilder sb, Ticket ticket) {
+        sb.append(TICKET_RULE)
+                .append(TICKET_NUMBER).append(Ticket.getTicketNum())
+                .append(VEHICLE_ID).append(ticket.getVehicle().getVehicleID())
+                .append(ENTRY_TIME);
+        appendDateTime(sb, ticket.getEntryTime());
+        if(ticket.getParkingSpaceName() != null){
+            sb.append(PARKING_SPACE).append(ticket.getParkingSpaceName());
+        }
+        return sb.append(DASHBOARD).append(TICKET_RULE);
+    }
+
+    /**
+     * Appends the text of a receipt, exactly as Receipt.formatForPrinting()
+     * returns it
+     *
+     * @param sb a valid <code>StringBuilder</code> that is not null
+     * @param receipt a valid <code>Receipt</code> that is not null
+     * @return <code>sb</code>
+     */
+    public static StringBuilder appendReceipt(StringBuilder sb, Receipt receipt) {
+        ParkingGarage garage = receipt.getParkingGarage();
+        Ticket ticket = receipt.getTicket();
+        sb.append(RECEIPT_RULE)
+                .append(RECEIPT_NUMBER).append(Receipt.getReceiptNum()).append(RECEIPT_GAP);
+        appendDateTime(sb, receipt.getExitTime());
+        sb.append('\n')
+                .append('\n').append(garage.getGarageName())
+                .append('\n').append(garage.getGarageAddress())
+                .append('\n')
+                .append(VEHICLE_ID).append(ticket.getVehicle().getVehicleID())
+                .append(HOURS_PARKED);
+        appendHours(sb, ticket.getTimeParked());
+        sb.append(TOTAL_DUE);
+        Money.appendTo(sb, receipt.calcTotalDueCents());
+        return sb.append(RECEIPT_RULE);
+    }
+
+    /**
+     * Appends a date and time the way tickets and receipts print them, like
+     * the pattern <code>MM-dd-yyyy hh:mm</code> with a 12 hour clock
+     *
+     * @param sb a valid <code>StringBuilder</code> that is not null
+     * @param time a valid <code>LocalDateTime</code> that is not null
+     * @return <code>sb</code>
+     */
+    public static StringBuilder appendDateTime(StringBuilder sb, LocalDateTime time) {
+        int hour = time.getHour() % 12;
+        appendPadded(sb, time.getMonthValue(), 2).append('-');
+        appendPadded(sb, time.getDayOfMonth(), 2).append('-');
+        appendPadded(sb, time.getYear(), 4).append(' ');
+        appendPadded(sb, hour == 0 ? 12 : hour, 2).append(':');
+        return appendPadded(sb, time.getMinute(), 2);
+    }
+
+    /**
+     * Appends hours the way <code>new DecimalFormat("#.00")</code> formats
+     * them, like <code>.50</code> or <code>12.25</code>. Ties round to the
+     * even cent, as DecimalFormat does.
+     *
+     * @param sb a valid <code>StringBuilder</code> that is not null
+     * @param hours a <code>double</code> with the hours
+     * @return <code>sb</code>
+     */
+    public static StringBuilder appendHours(StringBuilder sb, double hours) {
+        long hundredths = (long)Math.rint(Math.abs(hours) * 100);
+        if(hours < 0 && hundredths != 0){
+            sb.append('-');
+        }
+        long whole = hundredths / 100;
+        if(whole != 0){
+            sb.append(whole);
+        }
+        sb.append('.');
+        return appendPadded(sb, (int)(hundredths % 100), 2);
+    }
+
+    private static StringBuilder appendPadded(StringBuilder sb, int value, int width) {
+        for(int limit = 10, digits = 1; digits < width; limit *= 10, digits++){
+            if(value < limit){
+                sb.append('0');
+            }
+        }
+        return sb.append(value);
+    }
+
+    /**
+     * Returns the size of this renderer's buffer
+     *
+     * @return a <code>String</code> describing the renderer
+     */
+    @Override
+    public String toString() {
+        return "Print renderer with a " + buffer.capacity() + " character buffer";
+    }
+}
@@ -0,0 +1,411 @@
+package ics.parkinggarageapp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A PrintSpooler takes printed documents, like tickets and receipts, off the
+ * stations' threads. Documents wait in a bounded queue and one writer thread
+ * writes them out in batches, flushing once per batch instead of once per
+ * document, so a station never waits for the console or a slow printer.
+ * <p>
+ * What happens when the queue is full is set by an <code>OverflowPolicy</code>:
+ * the station can wait for room, the oldest waiting document can be dropped,
+ * or the new document can be refused. The spooler counts printed, failed,
+ * dropped and refused documents and the time each printed document waited
+ * before it was written. Closing is decided under the same lock as queueing,
+ * so a document is either queued before the close and printed, or refused.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of PrintSpooler class</li>
+ * <li>2026-10-17: Guard the queue and the closed flag with one lock instead of
+ * a stop marker, so closing cannot hang and no accepted document is lost;
+ * count documents that could not be written as failed, not printed, and
+ * write to the given writer directly so a failure belongs to one document</li>
+ * <li>2026-10-17: Refuse a document by throwing when the spooler closes or the
+ * caller is interrupted while waiting for room, instead of returning false</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.02
+ * @since 1.8
+ */
+public class PrintSpooler implements Closeable {
+    public static final int DEFAULT_CAPACITY = 256;
+    public static final int DEFAULT_BATCH_SIZE = 32;
+    private static final Logger LOGGER = Logger.getLogger(PrintSpooler.class.getName());
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    /**
+     * What to do with a document when the queue is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait for the writer thread to make room
+         */
+        BLOCK,
+        /**
+         * Drop the oldest waiting document to make room
+         */
+        DROP_OLDEST,
+        /**
+         * Refuse the document with an <code>IllegalStateException</code>
+         */
+        FAIL_FAST
+    }
+
+    private final Writer out;
+    private final int capacity;
+    private final ArrayDeque<Job> queue;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final Thread writer;
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong printedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong refusedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Constructs a PrintSpooler that writes to the console, waiting for room
+     * when the queue is full
+     */
+    public PrintSpooler() {
+        this(new OutputStreamWriter(System.out), DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Constructs a PrintSpooler with the default batch size and starts its
+     * writer thread
+     *
+     * @param out a valid <code>Writer</code> that is not null, and buffered
+     * like an <code>OutputStreamWriter</code>. It is flushed once per batch and
+     * not closed when the spooler is closed.
+     * @param capacity the number of documents that may wait, at least 1
+     * @param overflowPolicy a valid <code>OverflowPolicy</code> that is not null
+     * @throws IllegalArgumentException if out or overflowPolicy is null or
+     * capacity is less than 1
+     */
+    public PrintSpooler(Writer out, int capacity, OverflowPolicy overflowPolicy) throws IllegalArgumentException {
+        this(out, capacity, overflowPolicy, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a PrintSpooler and starts its writer thread
+     *
+     * @param out a valid <code>Writer</code> that is not null, and buffered
+     * like an <code>OutputStreamWriter</code>. It is flushed once per batch and
+     * not closed when the spooler is closed.
+     * @param capacity the number of documents that may wait, at least 1
+     * @param overflowPolicy a valid <code>OverflowPolicy</code> that is not null
+     * @param batchSize the most documents written between flushes, at least 1
+     * @throws IllegalArgumentException if out or overflowPolicy is null or a
+     * count is less than 1
+     */
+    public PrintSpooler(Writer out, int capacity, OverflowPolicy overflowPolicy, int batchSize)
+            throws IllegalArgumentException {
+        if(out == null || overflowPolicy == null){
+            throw new IllegalArgumentException("Sorry, the output and overflow policy cannot be null");
+        }
+        if(capacity < 1 || batchSize < 1){
+            throw new IllegalArgumentException("Sorry, the capacity and batch size must be at least 1");
+        }
+        this.out = out;
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        queue = new ArrayDeque<>(capacity);
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                write();
+            }
+        }, "print-spooler");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a document to be printed
+     *
+     * @param document a valid <code>String</code> that is not null
+     * @throws IllegalArgumentException if the document is null
+     * @throws IllegalStateException if the spooler is closed, closes or the
+     * caller is interrupted while waiting for room, or the queue is full and
+     * the policy is FAIL_FAST
+     */
+    public final void spool(String document) throws IllegalArgumentException, IllegalStateException {
+        if(document == null){
+            throw new IllegalArgumentException("Sorry, the document is null");
+        }
+        Job job = new Job(document);
+        lock.lock();
+        try {
+            if(closed){
+                throw new IllegalStateException("Sorry, the print spooler has been closed");
+            }
+            while(queue.size() == capacity){
+                switch(overflowPolicy){
+                    case BLOCK:
+                        try {
+                            notFull.await();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("Sorry, interrupted while waiting for the print queue", ex);
+                        }
+                        if(closed){
+                            throw new IllegalStateException("Sorry, the print spooler has been closed");
+                        }
+                        break;
+                    case DROP_OLDEST:
+                        queue.poll();
+                        droppedCount.incrementAndGet();
+                        pendingCount.decrementAndGet();
+                        break;
+                    default:
+                        refusedCount.incrementAndGet();
+                        throw new IllegalStateException("Sorry, the print queue is full");
+                }
+            }
+            queue.add(job);
+            pendingCount.incrementAndGet();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write() {
+        List<Job> batch = new ArrayList<>(batchSize);
+        List<Job> written = new ArrayList<>(batchSize);
+        while(true){
+            lock.lock();
+            try {
+                while(queue.isEmpty() && !closed){
+                    notEmpty.awaitUninterruptibly();
+                }
+                if(queue.isEmpty()){
+                    //Closed and every document has been written
+                    return;
+                }
+                while(batch.size() < batchSize && !queue.isEmpty()){
+                    batch.add(queue.poll());
+                }
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            for(Job job : batch){
+                try {
+                    out.write(job.document);
+                    out.write(LINE_SEPARATOR);
+                    written.add(job);
+                } catch (IOException ex) {
+                    LOGGER.log(Level.WARNING, "Could not print a document", ex);
+                    failed();
+                }
+            }
+            try {
+                out.flush();
+                long now = System.nanoTime();
+                for(Job job : written){
+                    finished(now - job.queuedAt);
+                }
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Could not print " + written.size() + " documents", ex);
+                for(int i = 0; i < written.size(); i++){
+                    failed();
+                }
+            }
+            batchCount.incrementAndGet();
+            batch.clear();
+            written.clear();
+        }
+    }
+
+    private void finished(long nanos) {
+        printedCount.incrementAndGet();
+        pendingCount.decrementAndGet();
+        totalLatencyNanos.addAndGet(nanos);
+        long max = maxLatencyNanos.get();
+        while(nanos > max && !maxLatencyNanos.compareAndSet(max, nanos)){
+            max = maxLatencyNanos.get();
+        }
+    }
+
+    private void failed() {
+        failedCount.incrementAndGet();
+        pendingCount.decrementAndGet();
+    }
+
+    /**
+     * Prints the queued documents, then stops the writer thread. Documents
+     * spooled after closing are refused, and stations waiting for room give up.
+     */
+    @Override
+    public final void close() {
+        lock.lock();
+        try {
+            if(closed){
+                return;
+            }
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until every document queued so far has been written, or has
+     * failed, or the timeout runs out
+     *
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if the queue emptied in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public final boolean awaitEmpty(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while(pendingCount.get() > 0){
+            if(System.nanoTime() >= deadline){
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    public final OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public final int getBatchSize() {
+        return batchSize;
+    }
+
+    public final int getCapacity() {
+        return capacity;
+    }
+
+    public final int getQueueDepth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public final long getPrintedCount() {
+        return printedCount.get();
+    }
+
+    public final long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public final long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public final long getRefusedCount() {
+        return refusedCount.get();
+    }
+
+    public final long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Returns the average time from a document being spooled to it being
+     * written and flushed
+     *
+     * @return the average in milliseconds, 0 if nothing has been printed
+     */
+    public final double getAverageLatencyMillis() {
+        long count = printedCount.get();
+        return count == 0 ? 0 : totalLatencyNanos.get() / 1e6 / count;
+    }
+
+    public final double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1e6;
+    }
+
+    public final boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 7;
+        hash = 23 * hash + Objects.hashCode(this.out);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final PrintSpooler other = (PrintSpooler) obj;
+        if (!Objects.equals(this.out, other.out)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the overflow policy and counts of the spooler
+     *
+     * @return a <code>String</code> describing the spooler
+     */
+    @Override
+    public final String toString() {
+        return String.format("Print spooler (%s): %d queued, %d printed in %d batches, %d failed, %d dropped, "
+                + "%d refused, avg %.3f ms, max %.3f ms", overflowPolicy, getQueueDepth(), printedCount.get(),
+                batchCount.get(), failedCount.get(), droppedCount.get(), refusedCount.get(),
+                getAverageLatencyMillis(), getMaxLatencyMillis());
+    }
+
+    private static final class Job {
+        private final String document;
+        private final long queuedAt = System.nanoTime();
+
+        private Job(String document) {
+            this.document = document;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package ics.parkinggarageapp;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * QueuedParkingInfoOutput is an implementation of <code>ParkingInfoOutput</code>
+ * that hands each message to a bounded queue and returns right away. A
+ * background thread takes messages off the queue and passes them, in order,
+ * to another <code>ParkingInfoOutput</code> such as a
+ * <code>ParkingStationScreen</code>. A station therefore never waits for a
+ * slow screen or for a driver to dismiss a dialog. If the queue is full, the
+ * oldest waiting message is dropped to make room, since the driver at the gate
+ * only needs the newest message.
+ * <p>
+ * Closing is decided under the same lock as queueing, so a message is either
+ * queued before the close and shown, or rejected.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of QueuedParkingInfoOutput class</li>
+ * <li>2026-10-17: Guard the queue and the closed flag with one lock instead of
+ * a stop marker, so closing cannot hang and no message is lost; count the
+ * message being shown in <code>awaitEmpty()</code></li>
+ * </ul>
+ * 
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.01
+ * @since 1.8
+ */
+public class QueuedParkingInfoOutput implements ParkingInfoOutput, Closeable {
+    public static final int DEFAULT_CAPACITY = 64;
+    private static final Logger LOGGER = Logger.getLogger(QueuedParkingInfoOutput.class.getName());
+    
+    private final ParkingInfoOutput output;
+    private final int capacity;
+    private final ArrayDeque<String> queue;
+    private final ReentrantLock lock = new ReentrantLock();
+    //Signalled when a message is queued, one is shown, or the output closes
+    private final Condition changed = lock.newCondition();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Thread renderer;
+    private boolean rendering;
+    private volatile boolean closed;
+    
+    /**
+     * Constructs a QueuedParkingInfoOutput with the default capacity
+     * 
+     * @param output a valid <code>ParkingInfoOutput</code> that is not null,
+     * which will show the messages
+     */
+    public QueuedParkingInfoOutput(ParkingInfoOutput output) {
+        this(output, DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Constructs a QueuedParkingInfoOutput and starts its renderer thread
+     * 
+     * @param output a valid <code>ParkingInfoOutput</code> that is not null,
+     * which will show the messages
+     * @param capacity the number of messages that may wait, at least 1
+     * @throws IllegalArgumentException if output is null or capacity is less than 1
+     */
+    public QueuedParkingInfoOutput(ParkingInfoOutput output, int capacity) throws IllegalArgumentException {
+        if(output == null){
+            throw new IllegalArgumentException("Sorry, the output is null");
+        }
+        if(capacity < 1){
+            throw new IllegalArgumentException("Sorry, the queue must hold at least one message");
+        }
+        this.output = output;
+        this.capacity = capacity;
+        queue = new ArrayDeque<>(capacity);
+        renderer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                render();
+            }
+        }, "parking-info-output");
+        renderer.setDaemon(true);
+        renderer.start();
+    }
+    
+    /**
+     * Queues a message for the wrapped output and returns without waiting
+     * for it to be shown
+     * 
+     * @param message a valid <code>String</code> that is not null
+     * @throws IllegalArgumentException if the message is null
+     * @throws IllegalStateException if this output has been closed
+     */
+    @Override
+    public final void outputParkingInfo(String message) throws IllegalArgumentException, IllegalStateException {
+        if(message == null){
+            throw new IllegalArgumentException("Sorry, the message is null");
+        }
+        lock.lock();
+        try {
+            if(closed){
+                throw new IllegalStateException("Sorry, the output has been closed");
+            }
+            if(queue.size() == capacity){
+                queue.poll();
+                droppedCount.incrementAndGet();
+            }
+            queue.add(message);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void render() {
+        while(true){
+            String message;
+            lock.lock();
+            try {
+                rendering = false;
+                changed.signalAll();
+                while(queue.isEmpty() && !closed){
+                    changed.awaitUninterruptibly();
+                }
+                message = queue.poll();
+                if(message == null){
+                    //Closed and every message has been shown
+                    return;
+                }
+                rendering = true;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                output.outputParkingInfo(message);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Could not output parking info", ex);
+            }
+        }
+    }
+    
+    /**
+     * Waits for the queued messages to be shown, then stops the renderer
+     * thread. Messages sent after closing are rejected.
+     */
+    @Override
+    public final void close() {
+        lock.lock();
+        try {
+            if(closed){
+                return;
+            }
+            closed = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            renderer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Waits until every message queued so far has been shown by the wrapped
+     * output, including the one being shown now, or the timeout runs out
+     * 
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if the queue emptied in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public final boolean awaitEmpty(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while(!queue.isEmpty() || rendering){
+                if(nanos <= 0){
+                    return false;
+                }
+                nanos = changed.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public final ParkingInfoOutput getOutput() {
+        return output;
+    }
+    
+    public final int getQueuedCount() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public final int getCapacity() {
+        return capacity;
+    }
+    
+    public final long getDroppedCount() {
+        return droppedCount.get();
+    }
+    
+    public final boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 5;
+        hash = 41 * hash + Objects.hashCode(this.output);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final QueuedParkingInfoOutput other = (QueuedParkingInfoOutput) obj;
+        if (!Objects.equals(this.output, other.output)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the wrapped output and the number of waiting messages
+     * 
+     * @return a <code>String</code> describing the queue
+     */
+    @Override
+    public final String toString() {
+        return "Queued output to " + output + " (" + getQueuedCount() + " waiting, " + droppedCount.get() + " dropped)";
+    }
+}
@@ -1,11 +1,7 @@
 package ics.parkinggarageapp;
 
 import edu.wctc.advjava.ics.dateutilities.DateUtilities;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
-import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -20,10 +16,13 @@ import java.util.Objects;
  * <li>2017-11-10: Modify handling of <code>Ticket</code> information</li>
  * <li>2017-11-14: Add overrides to equals() and hashCode()</li>
  * <li>2017-12-12: Create and implement PrintMedia interface</li>
+ * <li>2026-10-17: Calculate and format the total due exactly in cents</li>
+ * <li>2026-10-17: Format for printing with a reusable <code>PrintRenderer</code> instead of new
+ * formatters and string concatenation</li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.04
+ * @version 1.06
  * @since 1.8
  */
 public class Receipt implements PrintMedia {
@@ -57,23 +56,7 @@ public class Receipt implements PrintMedia {
      */
     @Override
     public String formatForPrinting() {
-        NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(new Locale("en", "US"));
-        SimpleDateFormat dateFormat = new SimpleDateFormat("EEE MM-dd-yyyy");
-        DecimalFormat decFormat = new DecimalFormat("#.00");
-
-        String s = "";
-        s += "\n------------------------------------------";
-        s += "\nReceipt #: " + receiptNum + "    " + util.format(exitTime, "MM-dd-yyyy hh:mm");;
-        s += "\n";
-        s += "\n" + garage.getGarageName();
-        s += "\n" + garage.getGarageAddress();
-        s += "\n";
-        s += "\nVehicle ID: " + ticket.getVehicle().getVehicleID();
-        s += "\nHours Parked: " + decFormat.format(ticket.getTimeParked());
-        s += "\n";
-        s += "\nTOTAL DUE: " + currencyFormatter.format(calcTotalDue());
-        s += "\n------------------------------------------";
-        return s;
+        return PrintRenderer.forCurrentThread().render(this).toString();
     }
     
     /**
@@ -83,7 +66,17 @@ public class Receipt implements PrintMedia {
      * @return a <code>double</code> that is the fee owed
      */
     public final double calcTotalDue(){
-        return feeCalc.calcParkingFee(ticket.getTimeParked());
+        return Money.toDollars(calcTotalDueCents());
+    }
+    
+    /**
+     * Calls the calcParkingFeeCents() method of the fee calculator to get the
+     * exact fee in cents using the time parked from the ticket
+     * 
+     * @return a <code>long</code> that is the fee owed in cents
+     */
+    public final long calcTotalDueCents(){
+        return feeCalc.calcParkingFeeCents(ticket.getTimeParked());
     }
     
     public final static int getReceiptNum() {
@@ -0,0 +1,250 @@
+package ics.parkinggarageapp;
+
+import java.io.Closeable;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+
+/**
+ * A ReportRefreshScheduler keeps the report areas of the operations window up
+ * to date without making exit stations wait for them. An exit only marks the
+ * reports as out of date and returns. A background thread regenerates the
+ * marked reports at most once per interval, four times a second by default,
+ * however many exits happened in between, and hands the text to the Swing
+ * event dispatch thread with <code>SwingUtilities.invokeLater</code>, which
+ * is the only thread that touches the text areas.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of ReportRefreshScheduler class</li>
+ * <li>2026-10-17: Leave the issued tickets to the window's <code>TicketTableModel</code></li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.01
+ * @since 1.8
+ */
+public class ReportRefreshScheduler implements Closeable {
+    public static final long DEFAULT_MIN_INTERVAL_MILLIS = 250;
+
+    private final ManagementReportGenerator reportGen;
+    private final JTextArea totalsOut;
+    private final JTextArea ticketsOut;
+    private final long minIntervalNanos;
+    private final ScheduledExecutorService refresher;
+    private final AtomicBoolean totalsDirty = new AtomicBoolean();
+    private final AtomicBoolean ticketsDirty = new AtomicBoolean();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicLong markCount = new AtomicLong();
+    private final AtomicLong refreshCount = new AtomicLong();
+    private volatile long lastRefreshNanos;
+    private volatile boolean closed;
+    private final Runnable refreshTask = new Runnable() {
+        @Override
+        public void run() {
+            refresh();
+        }
+    };
+
+    /**
+     * Constructs a ReportRefreshScheduler for the totals report of a window,
+     * refreshing at most four times a second. The window's ticket table
+     * updates itself from the <code>TicketDatabase</code>.
+     *
+     * @param reportGen a valid <code>ManagementReportGenerator</code> that is not null
+     * @param win a valid <code>ParkingGarageOperationsWindow</code> that is not null
+     * @throws IllegalArgumentException if either is null
+     */
+    public ReportRefreshScheduler(ManagementReportGenerator reportGen, ParkingGarageOperationsWindow win)
+            throws IllegalArgumentException {
+        this(reportGen, checkWin(win).getTotalsReportOut(), null, DEFAULT_MIN_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructs a ReportRefreshScheduler and starts its background thread
+     *
+     * @param reportGen a valid <code>ManagementReportGenerator</code> that is not null
+     * @param totalsOut a valid <code>JTextArea</code> that is not null for the
+     * running totals report
+     * @param ticketsOut a <code>JTextArea</code> for the issued tickets report,
+     * or null if the tickets are shown some other way
+     * @param minIntervalMillis the shortest time between refreshes, at least 1
+     * @throws IllegalArgumentException if reportGen or totalsOut is null or the
+     * interval is less than 1
+     */
+    public ReportRefreshScheduler(ManagementReportGenerator reportGen, JTextArea totalsOut, JTextArea ticketsOut,
+            long minIntervalMillis) throws IllegalArgumentException {
+        if(reportGen == null || totalsOut == null){
+            throw new IllegalArgumentException("Sorry, the report generator and totals area cannot be null");
+        }
+        if(minIntervalMillis < 1){
+            throw new IllegalArgumentException("Sorry, the refresh interval must be at least 1 millisecond");
+        }
+        this.reportGen = reportGen;
+        this.totalsOut = totalsOut;
+        this.ticketsOut = ticketsOut;
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+        lastRefreshNanos = System.nanoTime() - minIntervalNanos;
+        refresher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "report-refresh");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private static ParkingGarageOperationsWindow checkWin(ParkingGarageOperationsWindow win) throws IllegalArgumentException {
+        if(win == null){
+            throw new IllegalArgumentException("Sorry, the window cannot be null");
+        }
+        return win;
+    }
+
+    /**
+     * Marks both reports as out of date
+     */
+    public final void markDirty() {
+        totalsDirty.set(true);
+        ticketsDirty.set(true);
+        schedule();
+    }
+
+    /**
+     * Marks the running totals report as out of date
+     */
+    public final void markTotalsDirty() {
+        totalsDirty.set(true);
+        schedule();
+    }
+
+    /**
+     * Marks the issued tickets report as out of date
+     */
+    public final void markTicketsDirty() {
+        ticketsDirty.set(true);
+        schedule();
+    }
+
+    private void schedule() {
+        markCount.incrementAndGet();
+        if(closed || !scheduled.compareAndSet(false, true)){
+            //A refresh is already coming and will pick this change up
+            return;
+        }
+        long delay = Math.max(0, lastRefreshNanos + minIntervalNanos - System.nanoTime());
+        try {
+            refresher.schedule(refreshTask, delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException ex) {
+            //Closed while marking, close() does the last refresh
+            scheduled.set(false);
+        }
+    }
+
+    private void refresh() {
+        lastRefreshNanos = System.nanoTime();
+        //Clear first so a change made while generating schedules another refresh
+        scheduled.set(false);
+        final String totals = totalsDirty.getAndSet(false) ? reportGen.generateRunningTotalsReport() : null;
+        final String tickets = ticketsOut != null && ticketsDirty.getAndSet(false)
+                ? reportGen.outputIssuedTickets() : null;
+        if(totals == null && tickets == null){
+            return;
+        }
+        refreshCount.incrementAndGet();
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                if(totals != null){
+                    totalsOut.setText(totals);
+                }
+                if(tickets != null){
+                    ticketsOut.setText(tickets);
+                }
+            }
+        });
+    }
+
+    /**
+     * Stops the background thread and shows any changes that have not been
+     * shown yet
+     */
+    @Override
+    public final void close() {
+        if(closed){
+            return;
+        }
+        closed = true;
+        refresher.shutdown();
+        try {
+            refresher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        refresh();
+    }
+
+    public final ManagementReportGenerator getReportGen() {
+        return reportGen;
+    }
+
+    public final long getMinIntervalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(minIntervalNanos);
+    }
+
+    public final long getMarkCount() {
+        return markCount.get();
+    }
+
+    public final long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    public final boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 7;
+        hash = 47 * hash + Objects.hashCode(this.reportGen);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final ReportRefreshScheduler other = (ReportRefreshScheduler) obj;
+        if (!Objects.equals(this.reportGen, other.reportGen)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns how many changes were marked and how many refreshes they took
+     *
+     * @return a <code>String</code> describing the scheduler
+     */
+    @Override
+    public final String toString() {
+        return "Report refresh every " + getMinIntervalMillis() + " ms at most: " + markCount.get()
+                + " changes shown in " + refreshCount.get() + " refreshes";
+    }
+}
@@ -0,0 +1,192 @@
+package ics.parkinggarageapp;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A RunningTotalsAccumulator adds up time charged (in minutes) and payments
+ * collected (in cents) for any number of <code>ExitStation</code>s at once.
+ * <p>
+ * Totals are split across stripes, each with its own lock, and each thread
+ * always adds to the same stripe, so exits on different lanes almost never
+ * wait on each other. A snapshot locks every stripe for the moment it takes to
+ * add them up, so it always contains whole exits: time and revenue in a
+ * snapshot always come from the same set of vehicles.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of RunningTotalsAccumulator class</li>
+ * <li>2026-10-17: <code>add()</code> no longer returns the stripe's exit count,
+ * which nothing used</li>
+ * </ul>
+ * 
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.01
+ * @since 1.8
+ */
+public class RunningTotalsAccumulator {
+    private final Stripe[] stripes;
+    private final int mask;
+    
+    /**
+     * Constructor for a RunningTotalsAccumulator with two stripes per processor
+     */
+    public RunningTotalsAccumulator() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+    
+    /**
+     * Constructor for a RunningTotalsAccumulator
+     * 
+     * @param stripeCount an <code>int</code> with the number of stripes, which
+     * is rounded up to a power of two
+     */
+    public RunningTotalsAccumulator(int stripeCount) {
+        if(stripeCount < 1){
+            throw new IllegalArgumentException("Sorry, there must be at least 1 stripe");
+        }
+        int size = Integer.highestOneBit(stripeCount);
+        if(size < stripeCount){
+            size <<= 1;
+        }
+        stripes = new Stripe[size];
+        for(int i = 0; i < size; i++){
+            stripes[i] = new Stripe();
+        }
+        mask = size - 1;
+    }
+    
+    /**
+     * Adds one exit to the totals
+     * 
+     * @param minutes a <code>long</code> with the time charged in minutes
+     * @param cents a <code>long</code> with the payment collected in cents
+     */
+    public final void add(long minutes, long cents) {
+        Stripe stripe = stripes[stripeIndex()];
+        stripe.lock();
+        try {
+            stripe.minutes += minutes;
+            stripe.cents += cents;
+            stripe.count++;
+        } finally {
+            stripe.unlock();
+        }
+    }
+    
+    /**
+     * Takes a consistent snapshot of the totals
+     * 
+     * @return a <code>Snapshot</code> of the minutes, cents and exit count
+     */
+    public final Snapshot snapshot() {
+        lockAll();
+        try {
+            long minutes = 0;
+            long cents = 0;
+            long count = 0;
+            for(Stripe stripe : stripes){
+                minutes += stripe.minutes;
+                cents += stripe.cents;
+                count += stripe.count;
+            }
+            return new Snapshot(minutes, cents, count);
+        } finally {
+            unlockAll();
+        }
+    }
+    
+    /**
+     * Replaces the totals, for example with totals read back from a file. The
+     * exit count is kept so callers can still tell whether anything changed.
+     * 
+     * @param minutes a <code>long</code> with the total time charged in minutes
+     * @param cents a <code>long</code> with the total payments collected in cents
+     */
+    public final void setTotals(long minutes, long cents) {
+        if(minutes < 0 || cents < 0){
+            throw new IllegalArgumentException("Sorry, totals cannot be negative");
+        }
+        lockAll();
+        try {
+            for(Stripe stripe : stripes){
+                stripe.minutes = 0;
+                stripe.cents = 0;
+            }
+            stripes[0].minutes = minutes;
+            stripes[0].cents = cents;
+        } finally {
+            unlockAll();
+        }
+    }
+    
+    public final int getStripeCount() {
+        return stripes.length;
+    }
+    
+    private int stripeIndex() {
+        //Spread sequential thread IDs across the stripes
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int)(id >>> 32) & mask;
+    }
+    
+    private void lockAll() {
+        for(Stripe stripe : stripes){
+            stripe.lock();
+        }
+    }
+    
+    private void unlockAll() {
+        for(int i = stripes.length - 1; i >= 0; i--){
+            stripes[i].unlock();
+        }
+    }
+    
+    /**
+     * A Snapshot holds the totals at one moment
+     */
+    public static final class Snapshot {
+        private final long minutes;
+        private final long cents;
+        private final long count;
+        
+        private Snapshot(long minutes, long cents, long count) {
+            this.minutes = minutes;
+            this.cents = cents;
+            this.count = count;
+        }
+
+        public final long getMinutes() {
+            return minutes;
+        }
+        
+        public final double getHours() {
+            return minutes / 60.0;
+        }
+
+        public final long getCents() {
+            return cents;
+        }
+
+        public final long getCount() {
+            return count;
+        }
+
+        @Override
+        public final String toString() {
+            return "Minutes: " + minutes + " | Cents: " + cents + " | Exits: " + count;
+        }
+    }
+    
+    /**
+     * One stripe of the totals. The padding keeps stripes that are used by
+     * different threads off the same cache line.
+     */
+    @SuppressWarnings("serial")
+    private static final class Stripe extends ReentrantLock {
+        long p0, p1, p2, p3, p4, p5, p6;
+        long minutes;
+        long cents;
+        long count;
+        long q0, q1, q2, q3, q4, q5, q6;
+    }
+}
@@ -1,23 +1,81 @@
 package ics.parkinggarageapp;
 
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  *
  * @author Isaac
  */
-public class RunningTotalsFormatter implements TextFileFormatter {
+public class RunningTotalsFormatter implements StreamingTextFileFormatter {
+    public static final String TIME = "time";
+    public static final String REVENUE = "revenue";
+
+    /**
+     * Writes each record as two lines, the time and then the revenue
+     *
+     * @param records the records to write
+     * @param out a valid <code>Writer</code> that is not null
+     * @throws IOException if <code>out</code> cannot be written to
+     * @throws EncodingException if the records are null
+     */
     @Override
-    public final String encode(List<Map<String, String>> rawData) throws EncodingException {
-        if(rawData == null){
+    public final void encode(Iterable<? extends Map<String, String>> records, Writer out)
+            throws IOException, EncodingException {
+        if(records == null || out == null){
             throw new EncodingException();
         }
-        String encodedData = "";
-        for(Map<String, String> map : rawData){
-            encodedData += map.get("time") + "\n";
-            encodedData += map.get("revenue") + "\n";
+        for(Map<String, String> map : records){
+            out.write(String.valueOf(map.get(TIME)));
+            out.write('\n');
+            out.write(String.valueOf(map.get(REVENUE)));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Reads records written by <code>encode</code>, skipping blank lines
+     *
+     * @param in a valid <code>Reader</code> that is not null
+     * @param sink a valid <code>Consumer</code> that is not null
+     * @return the number of records read
+     * @throws IOException if <code>in</code> cannot be read or a time has no
+     * revenue after it
+     */
+    @Override
+    public final long decode(Reader in, Consumer<? super Map<String, String>> sink) throws IOException {
+        if(in == null || sink == null){
+            throw new IllegalArgumentException("Sorry, cannot decode from a null reader or into a null sink");
+        }
+        BufferedReader lines = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        long count = 0;
+        String time;
+        while((time = nextLine(lines)) != null){
+            String revenue = nextLine(lines);
+            if(revenue == null){
+                throw new IOException("Sorry, the running totals end without a revenue");
+            }
+            Map<String, String> record = new LinkedHashMap<>();
+            record.put(TIME, time);
+            record.put(REVENUE, revenue);
+            sink.accept(record);
+            count++;
+        }
+        return count;
+    }
+
+    private static String nextLine(BufferedReader lines) throws IOException {
+        String line;
+        while((line = lines.readLine()) != null){
+            if(!line.trim().isEmpty()){
+                return line.trim();
+            }
         }
-        return encodedData;
+        return null;
     }
-}
\ No newline at end of file
+}
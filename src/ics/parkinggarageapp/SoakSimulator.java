@@ -0,0 +1,352 @@
+package ics.parkinggarageapp;
+
+import java.io.File;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * SoakSimulator runs days or weeks of garage traffic on a
+ * <code>VirtualClock</code> in a single thread. Arrivals, departures and
+ * report times are kept in one queue in time order; the clock jumps straight
+ * to each one, so a 30 day run takes as long as the work itself and no
+ * waiting. Every report interval it builds the running totals report and
+ * saves the totals, and once a virtual day it builds the issued tickets
+ * report, timing both so the reporting and saving paths can be measured with
+ * a month of tickets in the database.
+ * <p>
+ * The same seed always gives the same traffic and the same fees. Tickets and
+ * receipts are printed through a <code>PrintSpooler</code> that discards them.
+ * <p>
+ * Run with: <code>java ics.parkinggarageapp.SoakSimulator [days] [arrivalsPerHour] [seed]</code>
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of SoakSimulator class</li>
+ * <li>2026-10-17: Discard printing through a <code>PrintSpooler</code> instead of
+ * replacing <code>System.out</code></li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.01
+ * @since 1.8
+ */
+public class SoakSimulator {
+    private static final int ARRIVAL = 0;
+    private static final int DEPARTURE = 1;
+    private static final int REPORT = 2;
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+    private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+
+    private int days = 30;
+    private double arrivalsPerHour = 400;
+    private double meanDwellMinutes = 180;
+    private long reportIntervalMinutes = 60;
+    private int entryStationCount = 2;
+    private int exitStationCount = 2;
+    private long seed = 42;
+    private Instant start = Instant.parse("2026-01-01T06:00:00Z");
+
+    /**
+     * Runs the simulation with the current settings
+     *
+     * @return a <code>Result</code> with the measurements
+     * @throws Exception if the report generator cannot be created or the
+     * totals cannot be saved
+     * @throws EncodingException if the totals cannot be encoded
+     */
+    public final Result run() throws Exception, EncodingException {
+        VirtualClock clock = new VirtualClock(start, ZoneId.of("UTC"));
+        File totalsFile = File.createTempFile("soak-totals", ".txt");
+        totalsFile.deleteOnExit();
+        TicketDatabase ticketDB = new TicketDatabase();
+        ManagementReportGenerator reportGen = new ManagementReportGenerator(ticketDB, totalsFile,
+                new TextFileService(new RunningTotalsFormatter()));
+        ParkingGarage garage = new ParkingGarage("Soak Garage", "Nowhere", Integer.MAX_VALUE / 2);
+        ParkingFeeCalculator feeCalc = new PrecomputedFeeCalc(new MinMaxFeeCalc(2.00, 0.50, 10.00));
+        //A month of tickets and receipts would swamp the console
+        PrintSpooler printSpooler = new PrintSpooler(new NullWriter(), PrintSpooler.DEFAULT_CAPACITY,
+                PrintSpooler.OverflowPolicy.DROP_OLDEST);
+        List<EntryStation> entries = new ArrayList<>();
+        for(int s = 0; s < entryStationCount; s++){
+            EntryStation entry = new EntryStation(garage, "Welcome", ticketDB);
+            entry.setScreen(new NullParkingInfoOutput());
+            entry.setClock(clock);
+            entry.setPrintSpooler(printSpooler);
+            entries.add(entry);
+        }
+        List<ExitStation> exits = new ArrayList<>();
+        for(int s = 0; s < exitStationCount; s++){
+            ExitStation exit = new ExitStation(garage, "Thank you", feeCalc, reportGen);
+            exit.setScreen(new NullParkingInfoOutput());
+            exit.setClock(clock);
+            exit.setPrintSpooler(printSpooler);
+            exits.add(exit);
+        }
+
+        Random random = new Random(seed);
+        long startMillis = start.toEpochMilli();
+        long endMillis = startMillis + days * MILLIS_PER_DAY;
+        double millisBetween = 3600000.0 / arrivalsPerHour;
+        PriorityQueue<Event> events = new PriorityQueue<>();
+        long eventCount = 0;
+        events.add(new Event(startMillis + nextGap(random, millisBetween), ARRIVAL, null, eventCount++));
+        events.add(new Event(startMillis + reportIntervalMinutes * MILLIS_PER_MINUTE, REPORT, null, eventCount++));
+        long nextDailyReport = startMillis + MILLIS_PER_DAY;
+        int vehicleNum = 0;
+        long transactions = 0;
+        long reportNanos = 0;
+        long saveNanos = 0;
+        long ticketReportNanos = 0;
+        int reports = 0;
+
+        long wallStart = System.nanoTime();
+        try {
+            while(!events.isEmpty()){
+                Event event = events.poll();
+                clock.advanceTo(Instant.ofEpochMilli(event.millis));
+                switch(event.type){
+                    case ARRIVAL:
+                        Vehicle vehicle = new Vehicle(Integer.toString(vehicleNum++, Character.MAX_RADIX).toUpperCase());
+                        entries.get(random.nextInt(entryStationCount)).processParkingTransaction(vehicle);
+                        transactions++;
+                        long dwell = Math.round(-Math.log(1.0 - random.nextDouble()) * meanDwellMinutes);
+                        events.add(new Event(event.millis + dwell * MILLIS_PER_MINUTE, DEPARTURE, vehicle, eventCount++));
+                        long next = event.millis + nextGap(random, millisBetween);
+                        if(next < endMillis){
+                            events.add(new Event(next, ARRIVAL, null, eventCount++));
+                        }
+                        break;
+                    case DEPARTURE:
+                        exits.get(random.nextInt(exitStationCount)).processParkingTransaction(event.vehicle);
+                        transactions++;
+                        break;
+                    default:
+                        long t0 = System.nanoTime();
+                        reportGen.outputRunningTotals();
+                        long t1 = System.nanoTime();
+                        reportGen.flush();
+                        long t2 = System.nanoTime();
+                        reportNanos += t1 - t0;
+                        saveNanos += t2 - t1;
+                        reports++;
+                        if(event.millis >= nextDailyReport){
+                            reportGen.outputIssuedTickets();
+                            ticketReportNanos += System.nanoTime() - t2;
+                            nextDailyReport += MILLIS_PER_DAY;
+                        }
+                        long nextReport = event.millis + reportIntervalMinutes * MILLIS_PER_MINUTE;
+                        if(nextReport <= endMillis){
+                            events.add(new Event(nextReport, REPORT, null, eventCount++));
+                        }
+                        break;
+                }
+            }
+        } finally {
+            printSpooler.close();
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        reportGen.close();
+        totalsFile.delete();
+        return new Result(days, vehicleNum, transactions, wallNanos, reports, reportNanos, saveNanos,
+                ticketReportNanos, reportGen.getTotalPaymentsCollectedCents(), clock.instant());
+    }
+
+    private static long nextGap(Random random, double millisBetween) {
+        return Math.max(1, Math.round(-Math.log(1.0 - random.nextDouble()) * millisBetween));
+    }
+
+    /**
+     * Something that happens at a virtual time. Events at the same time run
+     * in the order they were made.
+     */
+    private static final class Event implements Comparable<Event> {
+        private final long millis;
+        private final int type;
+        private final Vehicle vehicle;
+        private final long order;
+
+        Event(long millis, int type, Vehicle vehicle, long order) {
+            this.millis = millis;
+            this.type = type;
+            this.vehicle = vehicle;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Long.compare(millis, other.millis);
+            return byTime != 0 ? byTime : Long.compare(order, other.order);
+        }
+    }
+
+    /**
+     * The measurements from one run of a <code>SoakSimulator</code>
+     */
+    public static final class Result {
+        private final int days;
+        private final int vehicles;
+        private final long transactions;
+        private final long wallNanos;
+        private final int reports;
+        private final long reportNanos;
+        private final long saveNanos;
+        private final long ticketReportNanos;
+        private final long revenueCents;
+        private final Instant endTime;
+
+        Result(int days, int vehicles, long transactions, long wallNanos, int reports, long reportNanos,
+                long saveNanos, long ticketReportNanos, long revenueCents, Instant endTime) {
+            this.days = days;
+            this.vehicles = vehicles;
+            this.transactions = transactions;
+            this.wallNanos = wallNanos;
+            this.reports = reports;
+            this.reportNanos = reportNanos;
+            this.saveNanos = saveNanos;
+            this.ticketReportNanos = ticketReportNanos;
+            this.revenueCents = revenueCents;
+            this.endTime = endTime;
+        }
+
+        public final int getVehicles() {
+            return vehicles;
+        }
+
+        public final long getTransactions() {
+            return transactions;
+        }
+
+        public final long getWallNanos() {
+            return wallNanos;
+        }
+
+        public final long getRevenueCents() {
+            return revenueCents;
+        }
+
+        public final Instant getEndTime() {
+            return endTime;
+        }
+
+        /**
+         * Returns a report of the measurements
+         *
+         * @return the measurements as a formatted <code>String</code>
+         */
+        @Override
+        public final String toString() {
+            double seconds = wallNanos / 1e9;
+            String s = "";
+            s += String.format("%d virtual days (to %s) in %.2f s of wall time%n", days, endTime, seconds);
+            s += String.format("vehicles: %,d  transactions: %,d (%,.0f/s)%n", vehicles, transactions, transactions / seconds);
+            s += String.format("running totals report: %d runs, %.1f us each%n", reports, reportNanos / 1e3 / Math.max(1, reports));
+            s += String.format("totals save: %.1f us each%n", saveNanos / 1e3 / Math.max(1, reports));
+            s += String.format("issued tickets report: %.1f ms per day%n", ticketReportNanos / 1e6 / Math.max(1, days));
+            s += "revenue: " + Money.format(revenueCents);
+            return s;
+        }
+    }
+
+    public final int getDays() {
+        return days;
+    }
+
+    public final void setDays(int days) throws IllegalArgumentException {
+        if(days < 1){
+            throw new IllegalArgumentException("Sorry, the simulation must run at least one day");
+        }
+        this.days = days;
+    }
+
+    public final double getArrivalsPerHour() {
+        return arrivalsPerHour;
+    }
+
+    public final void setArrivalsPerHour(double arrivalsPerHour) throws IllegalArgumentException {
+        if(!(arrivalsPerHour > 0)){
+            throw new IllegalArgumentException("Sorry, the arrival rate must be more than 0");
+        }
+        this.arrivalsPerHour = arrivalsPerHour;
+    }
+
+    public final double getMeanDwellMinutes() {
+        return meanDwellMinutes;
+    }
+
+    public final void setMeanDwellMinutes(double meanDwellMinutes) throws IllegalArgumentException {
+        if(!(meanDwellMinutes >= 0)){
+            throw new IllegalArgumentException("Sorry, the mean time parked cannot be negative");
+        }
+        this.meanDwellMinutes = meanDwellMinutes;
+    }
+
+    public final long getReportIntervalMinutes() {
+        return reportIntervalMinutes;
+    }
+
+    public final void setReportIntervalMinutes(long reportIntervalMinutes) throws IllegalArgumentException {
+        if(reportIntervalMinutes < 1){
+            throw new IllegalArgumentException("Sorry, the report interval must be at least one minute");
+        }
+        this.reportIntervalMinutes = reportIntervalMinutes;
+    }
+
+    public final int getEntryStationCount() {
+        return entryStationCount;
+    }
+
+    public final void setEntryStationCount(int entryStationCount) throws IllegalArgumentException {
+        if(entryStationCount < 1){
+            throw new IllegalArgumentException("Sorry, there must be at least one entry station");
+        }
+        this.entryStationCount = entryStationCount;
+    }
+
+    public final int getExitStationCount() {
+        return exitStationCount;
+    }
+
+    public final void setExitStationCount(int exitStationCount) throws IllegalArgumentException {
+        if(exitStationCount < 1){
+            throw new IllegalArgumentException("Sorry, there must be at least one exit station");
+        }
+        this.exitStationCount = exitStationCount;
+    }
+
+    public final long getSeed() {
+        return seed;
+    }
+
+    public final void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public final Instant getStart() {
+        return start;
+    }
+
+    public final void setStart(Instant start) throws IllegalArgumentException {
+        if(start == null){
+            throw new IllegalArgumentException("Sorry, the start time cannot be null");
+        }
+        this.start = start;
+    }
+
+    public static void main(String[] args) throws Exception, EncodingException {
+        SoakSimulator simulator = new SoakSimulator();
+        if(args.length > 0){
+            simulator.setDays(Integer.parseInt(args[0]));
+        }
+        if(args.length > 1){
+            simulator.setArrivalsPerHour(Double.parseDouble(args[1]));
+        }
+        if(args.length > 2){
+            simulator.setSeed(Long.parseLong(args[2]));
+        }
+        System.out.println(simulator.run());
+    }
+}
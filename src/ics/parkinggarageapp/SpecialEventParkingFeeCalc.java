@@ -11,15 +11,19 @@ package ics.parkinggarageapp;
  * <li>2017-10-17: Initial version of SpecialEventParkingFeeCalc class</li>
  * <li>2017-11-10: Revise fees to increase flexibility</li>
  * <li>2017-11-14: Add overrides to equals(), hashCode(), and toString()</li>
+ * <li>2026-10-17: Calculate fees exactly in cents</li>
+ * <li>2026-10-17: Add branch-free batch fee calculation</li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.02
+ * @version 1.04
  * @since 1.8
  */
 public class SpecialEventParkingFeeCalc implements ParkingFeeCalculator {
     private double minFee;
     private double addFee;
+    private long minFeeCents;
+    private long addFeeCents;
 
     /**
      * Constructor to create a SpecialEventParkingFeeCalc variant of a 
@@ -57,6 +61,76 @@ public class SpecialEventParkingFeeCalc implements ParkingFeeCalculator {
         }
     }
     
+    /**
+     * Calculates the fee owed for the time parked exactly in cents
+     * 
+     * @param hrsParked a <code>double</code> with the amount of time parked in hours
+     * @return a <code>long</code> that is the amount owed in cents
+     */
+    @Override
+    public final long calcParkingFeeCents(double hrsParked) {
+        if(hrsParked <= 4.0){
+            return minFeeCents;
+        } else {
+            double timeBeyondFourHours = hrsParked - 4.0;
+            int integer = (int)timeBeyondFourHours;
+            double decimal = (10 * timeBeyondFourHours - 10 * integer)/10;
+            
+            if(decimal > 0){
+                return minFeeCents + (addFeeCents * integer) + addFeeCents;
+            } else {
+                return minFeeCents + (addFeeCents * integer);
+            }
+        }
+    }
+    
+    /**
+     * Calculates the fees for a whole array of times parked. The loop body
+     * has no branches, only selects, so it runs much faster than calling
+     * calcParkingFee() for each time while giving the same results.
+     * 
+     * @param hrsParked a <code>double[]</code> with times parked in hours
+     * @param fees a <code>double[]</code> at least as long as <code>hrsParked</code>
+     * that receives the fees
+     */
+    @Override
+    public final void calcParkingFees(double[] hrsParked, double[] fees) throws IllegalArgumentException {
+        ParkingFeeCalculator.checkBatch(hrsParked, fees == null ? -1 : fees.length);
+        final double min = minFee;
+        final double add = addFee;
+        for(int i = 0; i < hrsParked.length; i++){
+            double hrs = hrsParked[i];
+            double beyond = hrs - 4.0;
+            int integer = (int)beyond;
+            //Same sign as the single fee's decimal part without the divide
+            double decimal = 10 * beyond - 10 * integer;
+            double fee = min + (add * integer) + (decimal > 0 ? add : 0.0);
+            fees[i] = hrs <= 4.0 ? min : fee;
+        }
+    }
+    
+    /**
+     * Calculates the fees in cents for a whole array of times parked
+     * 
+     * @param hrsParked a <code>double[]</code> with times parked in hours
+     * @param feesCents a <code>long[]</code> at least as long as <code>hrsParked</code>
+     * that receives the fees in cents
+     */
+    @Override
+    public final void calcParkingFeesCents(double[] hrsParked, long[] feesCents) throws IllegalArgumentException {
+        ParkingFeeCalculator.checkBatch(hrsParked, feesCents == null ? -1 : feesCents.length);
+        final long min = minFeeCents;
+        final long add = addFeeCents;
+        for(int i = 0; i < hrsParked.length; i++){
+            double hrs = hrsParked[i];
+            double beyond = hrs - 4.0;
+            int integer = (int)beyond;
+            double decimal = 10 * beyond - 10 * integer;
+            long fee = min + (add * integer) + (decimal > 0 ? add : 0);
+            feesCents[i] = hrs <= 4.0 ? min : fee;
+        }
+    }
+    
     public final double getMinFee(){
         return minFee;
     }
@@ -64,6 +138,7 @@ public class SpecialEventParkingFeeCalc implements ParkingFeeCalculator {
     public final void setMinFee(double minFee) throws IllegalArgumentException {
         if(minFee > 0.00){
             this.minFee = minFee;
+            this.minFeeCents = Money.toCents(minFee);
         } else {
             throw new IllegalArgumentException("Sorry, that amount is invalid");
         }
@@ -76,6 +151,7 @@ public class SpecialEventParkingFeeCalc implements ParkingFeeCalculator {
     public final void setAdditionalTimeFee(double addFee) throws IllegalArgumentException {
         if(addFee > 0.00){
             this.addFee = addFee;
+            this.addFeeCents = Money.toCents(addFee);
         } else {
             throw new IllegalArgumentException("Sorry, that amount is invalid");
         }
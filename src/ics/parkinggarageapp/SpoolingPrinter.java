@@ -0,0 +1,105 @@
+package ics.parkinggarageapp;
+
+import java.util.Objects;
+
+/**
+ * The SpoolingPrinter is an implementation of <code>Printer</code> that
+ * formats a <code>PrintMedia</code>, like a <code>Ticket</code> or
+ * <code>Receipt</code>, and hands it to a <code>PrintSpooler</code> instead of
+ * writing it to the console itself. The document is formatted when it is
+ * printed, so later changes to the media do not change what is printed.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of SpoolingPrinter class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public class SpoolingPrinter implements Printer {
+    private PrintMedia media;
+    private PrintSpooler spooler;
+
+    /**
+     * Constructor for a SpoolingPrinter object
+     *
+     * @param media a valid <code>PrintMedia</code> that is not null
+     * @param spooler a valid <code>PrintSpooler</code> that is not null
+     */
+    public SpoolingPrinter(PrintMedia media, PrintSpooler spooler) {
+        setMedia(media);
+        setSpooler(spooler);
+    }
+
+    /**
+     * Queues the formatted media with the spooler and returns without waiting
+     * for it to be written
+     *
+     * @throws IllegalStateException if the spooler refuses the document
+     */
+    @Override
+    public final void performPrint() throws IllegalStateException {
+        spooler.spool(media.formatForPrinting());
+    }
+
+    public final PrintMedia getMedia() {
+        return media;
+    }
+
+    public final void setMedia(PrintMedia media) throws IllegalArgumentException {
+        if(media != null){
+            this.media = media;
+        } else {
+            throw new IllegalArgumentException("Sorry, that is invalid print media");
+        }
+    }
+
+    public final PrintSpooler getSpooler() {
+        return spooler;
+    }
+
+    public final void setSpooler(PrintSpooler spooler) throws IllegalArgumentException {
+        if(spooler != null){
+            this.spooler = spooler;
+        } else {
+            throw new IllegalArgumentException("Sorry, the print spooler is null");
+        }
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 7;
+        hash = 61 * hash + Objects.hashCode(this.media);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final SpoolingPrinter other = (SpoolingPrinter) obj;
+        if (!Objects.equals(this.media, other.media)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the media being printed and the spooler it is sent to
+     *
+     * @return a <code>String</code> describing the printer
+     */
+    @Override
+    public final String toString() {
+        return "Spooling " + media.getClass().getSimpleName() + " to " + spooler;
+    }
+}
@@ -0,0 +1,74 @@
+package ics.parkinggarageapp;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The StreamingTextFileFormatter interface can be implemented by a
+ * <code>TextFileFormatter</code> that writes its records straight to a
+ * <code>Writer</code> and reads them back from a <code>Reader</code>, one
+ * record at a time, so a file is never held in memory as a single
+ * <code>String</code>. <code>TextFileService</code> uses these methods when
+ * its formatter has them.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public interface StreamingTextFileFormatter extends TextFileFormatter {
+    /**
+     * Writes each record to <code>out</code>. Does not flush or close it.
+     *
+     * @param records the records to write, each a <code>Map</code> of field
+     * names to values
+     * @param out a valid <code>Writer</code> that is not null
+     * @throws IOException if <code>out</code> cannot be written to
+     * @throws EncodingException if the records are null or cannot be encoded
+     */
+    public abstract void encode(Iterable<? extends Map<String, String>> records, Writer out)
+            throws IOException, EncodingException;
+
+    /**
+     * Reads records written by <code>encode</code> and hands each one to
+     * <code>sink</code> as soon as it has been read
+     *
+     * @param in a valid <code>Reader</code> that is not null
+     * @param sink a valid <code>Consumer</code> that is not null to receive
+     * each record
+     * @return the number of records read
+     * @throws IOException if <code>in</code> cannot be read or ends partway
+     * through a record
+     */
+    public abstract long decode(Reader in, Consumer<? super Map<String, String>> sink) throws IOException;
+
+    /**
+     * Encodes the records into one <code>String</code>, for callers that
+     * still need one
+     *
+     * @param rawData the records to encode
+     * @return the encoded records
+     * @throws EncodingException if the records are null or cannot be encoded
+     */
+    @Override
+    public default String encode(List<Map<String, String>> rawData) throws EncodingException {
+        StringWriter out = new StringWriter();
+        try {
+            encode(rawData, out);
+        } catch (IOException ex) {
+            //StringWriter never throws IOException
+            throw new UncheckedIOException(ex);
+        }
+        return out.toString();
+    }
+}
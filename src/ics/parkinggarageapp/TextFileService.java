@@ -4,14 +4,24 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *
@@ -24,27 +34,150 @@ public class TextFileService {
         setFormatter(formatter);
     }
     
+    /**
+     * Writes the records to a file, replacing what was in it. The records are
+     * written to a temporary file next to it, which is forced to disk and then
+     * renamed over it, so a crash while writing leaves the old file whole. The
+     * temporary file is deleted if anything fails. Where the file system
+     * cannot rename atomically the old file is replaced in a second step, and
+     * a crash between the two can still lose it. A
+     * <code>StreamingTextFileFormatter</code> writes the records straight to
+     * the file without building the whole file as a <code>String</code> first.
+     * 
+     * @param rawData the records to write
+     * @param file a valid <code>File</code> that is not null
+     * @throws IOException if the file cannot be written
+     * @throws EncodingException if the records cannot be encoded
+     */
     public final void writeFile(List<Map<String, String>> rawData, File file) throws IOException, EncodingException {
-        String formattedData = formatter.encode(rawData);    
-        PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(file, false)));        
-        out.println(formattedData);      
-        out.close();
+        String formattedData = null;
+        if(!(formatter instanceof StreamingTextFileFormatter)){
+            formattedData = formatter.encode(rawData);
+        } else if(rawData == null){
+            throw new EncodingException();
+        }
+        File temp = tempFileFor(file);
+        boolean replaced = false;
+        try {
+            FileOutputStream fileOut = new FileOutputStream(temp, false);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(fileOut))) {
+                if(formattedData == null){
+                    ((StreamingTextFileFormatter) formatter).encode(rawData, out);
+                } else {
+                    out.write(formattedData);
+                    out.write(System.lineSeparator());
+                }
+                out.flush();
+                //Without this the rename can reach the disk before the data does
+                fileOut.getFD().sync();
+            }
+            replace(temp, file);
+            replaced = true;
+        } finally {
+            if(!replaced){
+                temp.delete();
+            }
+        }
+    }
+    
+    private static File tempFileFor(File file) {
+        return new File(file.getPath() + ".tmp");
+    }
+    
+    private static void replace(File temp, File file) throws IOException {
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * Reads the records in a file back with the formatter, handing each one
+     * to <code>sink</code> as it is read
+     * 
+     * @param file a valid <code>File</code> that is not null
+     * @param sink a valid <code>Consumer</code> that is not null to receive
+     * each record
+     * @return the number of records read
+     * @throws IOException if the file cannot be read or is not in the
+     * formatter's format
+     * @throws IllegalStateException if the formatter cannot read records back
+     */
+    public final long readFile(File file, Consumer<? super Map<String, String>> sink)
+            throws FileNotFoundException, IOException, IllegalStateException {
+        if(!canReadRecords()){
+            throw new IllegalStateException("Sorry, this formatter cannot read records back");
+        }
+        try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+            return ((StreamingTextFileFormatter) formatter).decode(in, sink);
+        }
+    }
+    
+    /**
+     * Checks whether the formatter can read records back with
+     * <code>readFile()</code>
+     * 
+     * @return <code>true</code> if the formatter is a <code>StreamingTextFileFormatter</code>
+     */
+    public final boolean canReadRecords() {
+        return formatter instanceof StreamingTextFileFormatter;
     }
     
-    public final List readFileToList(File file) throws FileNotFoundException, IOException {
-        FileReader fileReader = new FileReader(file);
-        BufferedReader bufferedReader = new BufferedReader(fileReader);
+    /**
+     * Reads every line of a file into a list. Use <code>lines()</code> for
+     * files too large to hold in memory.
+     * 
+     * @param file a valid <code>File</code> that is not null
+     * @return a <code>List</code> of the lines in the file
+     * @throws IOException if the file cannot be read
+     */
+    public final List<String> readFileToList(File file) throws FileNotFoundException, IOException {
         List<String> list = new ArrayList<>();
-        String line = "";
-        
-        while((line = bufferedReader.readLine()) != null) {
-            list.add(line);
+        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while((line = bufferedReader.readLine()) != null) {
+                list.add(line);
+            }
         }
-            
-        bufferedReader.close();
-        
         return list;
     }
+    
+    /**
+     * Reads the lines of a file lazily from a memory-mapped
+     * <code>MappedLineIterator</code>. A line is only read when the stream
+     * asks for it, so files of any size are read in constant memory and
+     * stopping early, with <code>limit()</code> or <code>findFirst()</code>,
+     * skips the rest of the file. Close the stream, for example with
+     * try-with-resources, to close the file.
+     * <p>
+     * The last window read stays mapped until it is garbage collected, even
+     * after the stream is closed, and on Windows a mapped file cannot be
+     * deleted or renamed over. Use this for large exports that are only read,
+     * not for small files that are rewritten, like the running totals.
+     * 
+     * @param file a valid <code>File</code> that is not null
+     * @return a <code>Stream</code> of the lines in the file
+     * @throws IOException if the file cannot be opened
+     */
+    public final Stream<String> lines(File file) throws IOException {
+        if(file == null){
+            throw new IllegalArgumentException("Sorry, cannot read a null file");
+        }
+        final MappedLineIterator lines = new MappedLineIterator(file);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(lines,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    lines.close();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        });
+    }
 
     public final TextFileFormatter getFormatter() {
         return formatter;
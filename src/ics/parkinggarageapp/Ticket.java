@@ -2,9 +2,11 @@ package ics.parkinggarageapp;
 
 import edu.wctc.advjava.ics.dateutilities.DateUtilities;
 import java.text.DecimalFormat;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 
 /**
  * The Ticket is printed by an <code>EntryStation</code> before a vehicle parks.
@@ -19,10 +21,15 @@ import java.util.Objects;
  * <li>2017-11-10: Implement custom DateUtilities API</li>
  * <li>2017-11-14: Add overrides to equals(), hashCode(), and toString()</li>
  * <li>2017-12-12: Create and implement PrintMedia interface</li>
+ * <li>2026-10-17: Allow a seeded <code>Random</code> or a known time parked</li>
+ * <li>2026-10-17: Add a constructor that reads the entry time from a <code>Clock</code> and
+ * checkOut() to record the exit time when the vehicle leaves</li>
+ * <li>2026-10-17: Print the assigned parking space</li>
+ * <li>2026-10-17: Format for printing with a reusable <code>PrintRenderer</code></li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.03
+ * @version 1.07
  * @since 1.8
  */
 public class Ticket implements PrintMedia {
@@ -32,6 +39,8 @@ public class Ticket implements PrintMedia {
     private LocalDateTime exitTime;
     private double timeParked;
     private DateUtilities util;
+    private int parkingSpace = ParkingSpaceMap.NO_SPACE;
+    private String parkingSpaceName;
     
     /**
      * Constructor for a Ticket that is printed for the <code>Vehicle</code> at
@@ -40,13 +49,101 @@ public class Ticket implements PrintMedia {
      * @param vehicle a valid <code>Vehicle</code> that is not null
      */
     public Ticket(Vehicle vehicle){
+        this(vehicle, generateMinutesParked(Math.random(), Math.random()));
+    }
+    
+    /**
+     * Constructor for a Ticket whose random time parked is drawn from the given
+     * <code>Random</code>, so a seeded generator gives the same times every run
+     * 
+     * @param vehicle a valid <code>Vehicle</code> that is not null
+     * @param random a <code>Random</code> that is not null
+     * @throws IllegalArgumentException if random is null
+     */
+    public Ticket(Vehicle vehicle, Random random) throws IllegalArgumentException {
+        this(vehicle, generateMinutesParked(random));
+    }
+    
+    /**
+     * Constructor for a Ticket with a known time parked
+     * 
+     * @param vehicle a valid <code>Vehicle</code> that is not null
+     * @param minutesParked a <code>long</code> with the minutes the vehicle
+     * will be parked, at least 0
+     * @throws IllegalArgumentException if minutesParked is negative
+     */
+    public Ticket(Vehicle vehicle, long minutesParked) throws IllegalArgumentException {
+        if(minutesParked < 0){
+            throw new IllegalArgumentException("Sorry, minutes parked cannot be negative");
+        }
         setUtil(new DateUtilities());
         ticketNum++;
         setEntryTime(util.now());
-        generateExitTime();
+        setExitTime(entryTime.plusMinutes(minutesParked));
         setVehicle(vehicle);
         setTimeParked(calcTimeParked());
     }
+    
+    /**
+     * Constructor for a Ticket that reads its entry time from a
+     * <code>Clock</code>. The ticket has no exit time until checkOut() is
+     * called when the vehicle leaves.
+     * 
+     * @param vehicle a valid <code>Vehicle</code> that is not null
+     * @param clock a <code>Clock</code> that is not null, like a
+     * <code>VirtualClock</code> for simulations
+     * @throws IllegalArgumentException if clock is null
+     */
+    public Ticket(Vehicle vehicle, Clock clock) throws IllegalArgumentException {
+        if(clock == null){
+            throw new IllegalArgumentException("Sorry, the clock cannot be null");
+        }
+        setUtil(new DateUtilities());
+        ticketNum++;
+        setEntryTime(LocalDateTime.now(clock));
+        setVehicle(vehicle);
+    }
+    
+    /**
+     * Records the time the vehicle left and calculates the time parked from it
+     * 
+     * @param exitTime a <code>LocalDateTime</code> that is not null or before
+     * the entry time
+     * @throws IllegalArgumentException if exitTime is null or before the entry time
+     */
+    public final void checkOut(LocalDateTime exitTime) throws IllegalArgumentException {
+        if(exitTime == null || exitTime.isBefore(entryTime)){
+            throw new IllegalArgumentException("Sorry, the exit time cannot be before the entry time");
+        }
+        setExitTime(exitTime);
+        setTimeParked(calcTimeParked());
+    }
+    
+    /**
+     * Tells whether the ticket has an exit time yet. Only tickets made with
+     * a <code>Clock</code> start without one.
+     * 
+     * @return true if the ticket has an exit time
+     */
+    public final boolean isCheckedOut() {
+        return exitTime != null;
+    }
+    
+    /**
+     * Draws a random time parked of up to 23 hours and 59 minutes, the same
+     * way a Ticket does when no time parked is given
+     * 
+     * @param random a <code>Random</code> that is not null
+     * @return the minutes parked
+     * @throws IllegalArgumentException if random is null
+     */
+    public static long generateMinutesParked(Random random) throws IllegalArgumentException {
+        if(random == null){
+            throw new IllegalArgumentException("Sorry, the random number generator is null");
+        }
+        double hourFraction = random.nextDouble();
+        return generateMinutesParked(hourFraction, random.nextDouble());
+    }
 
     /**
      * Formats a <code>Ticket</code> to prepare for printing
@@ -55,29 +152,20 @@ public class Ticket implements PrintMedia {
      */
     @Override
     public final String formatForPrinting() {
-        String s = "";
-        s += "\n******************************************";
-        s += "\nTicket #: " + ticketNum;
-        s += "\nVehicle ID: " + vehicle.getVehicleID();
-        s += "\n";
-        s += "\nEntry Time: " + util.format(entryTime, "MM-dd-yyyy hh:mm");
-        s += "\n";
-        s += "\nPLACE THIS TICKET ON DASHBOARD";
-        s += "\n******************************************";
-        return s;
+        return PrintRenderer.forCurrentThread().render(this).toString();
     }
     
     /**
      * Generates a random amount of time to better simulate vehicles parked in
      * a garage for varying, reasonable amounts of time
      * 
-     * @return a random <code>LocalDateTime</code> that is after the entry time
+     * @return a random number of minutes parked
      */
-    private final void generateExitTime(){
-        double randomHours = Math.random() * 23;
-        double randomMinutes = Math.random() * 59;
+    private static long generateMinutesParked(double hourFraction, double minuteFraction){
+        double randomHours = hourFraction * 23;
+        double randomMinutes = minuteFraction * 59;
         double addMins = (randomHours * 60) + randomMinutes;
-        setExitTime(entryTime.plusMinutes((long)addMins));
+        return (long)addMins;
     }
     
     /**
@@ -150,6 +238,31 @@ public class Ticket implements PrintMedia {
         this.util = util;
     }
 
+    public final int getParkingSpace() {
+        return parkingSpace;
+    }
+
+    public final String getParkingSpaceName() {
+        return parkingSpaceName;
+    }
+
+    /**
+     * Sets the space the vehicle was given, which is printed on the ticket
+     * 
+     * @param parkingSpace the number of the space in the garage's
+     * <code>ParkingSpaceMap</code>, at least 0
+     * @param parkingSpaceName a <code>String</code> that is not null telling
+     * the driver where the space is
+     * @throws IllegalArgumentException if the space is negative or the name is null
+     */
+    public final void setParkingSpace(int parkingSpace, String parkingSpaceName) throws IllegalArgumentException {
+        if(parkingSpace < 0 || parkingSpaceName == null){
+            throw new IllegalArgumentException("Sorry, that is an invalid parking space");
+        }
+        this.parkingSpace = parkingSpace;
+        this.parkingSpaceName = parkingSpaceName;
+    }
+
     public final double getTimeParked(){
         return timeParked;
     }
@@ -1,10 +1,17 @@
 package ics.parkinggarageapp;
 
-import java.util.Collection;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * A TicketDatabase uses key-value pairs to track which car has which ticket. It
@@ -13,29 +20,56 @@ import java.util.TreeMap;
  * Revision History:
  * <ul>
  * <li>2017-11-30: Initial version of TicketDatabase class</li>
+ * <li>2026-10-17: Allow subclasses to supply the backing <code>Map</code>
+ * (see <code>ConcurrentTicketDatabase</code>)</li>
+ * <li>2026-10-17: Add optional <code>TicketLog</code> so issued tickets survive
+ * a restart</li>
+ * <li>2026-10-17: Stream the issued tickets report into an <code>Appendable</code></li>
+ * <li>2026-10-17: Index open tickets by license plate for lookup at exit</li>
+ * <li>2026-10-17: Number issued tickets in the order they were issued and tell a
+ * <code>TicketDatabaseListener</code> about each one, for <code>TicketTableModel</code></li>
+ * <li>2026-10-17: Document that tickets recovered from the log are not open</li>
  * </ul>
  * 
  * @author Isaac Stefanski, istefanski@my.wctc.edu
- * @version 1.00
+ * @version 1.06
  * @since 1.8
  */
 public class TicketDatabase {
     private static int ticketDBnum;
     private String ticketDbId;
     private Map<String, String> tickets;
+    private TicketLog ticketLog;
+    //Open tickets per plate, oldest first. Arrays are replaced, never changed,
+    //so lookups can read them without locking.
+    private final ConcurrentHashMap<String, Ticket[]> openTicketsByPlate = new ConcurrentHashMap<>();
+    private volatile IssuedTicketIndex issuedTickets;
+    private final List<TicketDatabaseListener> listeners = new CopyOnWriteArrayList<>();
     
     /**
      * Constructor for a TicketDatabase
      */
     public TicketDatabase(){
+        this(new TreeMap<>());
+    }
+    
+    /**
+     * Constructor for a TicketDatabase backed by the given map. The map should
+     * keep its keys sorted so that reports list tickets in order.
+     * 
+     * @param tickets a valid, empty <code>Map</code> that is not null
+     */
+    protected TicketDatabase(Map<String, String> tickets){
         ticketDBnum++;
         setTicketDbId("TDB" + ticketDBnum);
-        setTickets(new TreeMap<>());
+        setTickets(tickets);
     }
     
     /**
      * Adds a ticket to the database taking the ticket and the license plate of
-     * the car associated with that ticket
+     * the car associated with that ticket. The ticket stays open, and can be
+     * found with <code>findOpenTickets()</code>, until it is closed. Every
+     * <code>TicketDatabaseListener</code> is told the row of the new ticket.
      * 
      * @param ticket a valid <code>Ticket</code> that is not null
      * @param licensePlate a <code>String</code> that is not null and is the
@@ -46,7 +80,190 @@ public class TicketDatabase {
         if(licensePlate == null || licensePlate.isEmpty() || ticket == null){
             throw new IllegalArgumentException("Cannot add ticket to database");
         }
-        tickets.put(ticket.getVehicle().getVehicleID().replace('V', 'T'), licensePlate);
+        final String key = ticket.getVehicle().getVehicleID().replace('V', 'T');
+        if(ticketLog != null){
+            ticketLog.append(key, licensePlate);
+        }
+        //Both maps are updated while the plate's entry in the index is locked,
+        //so an exit for the same plate always sees them agree
+        final int[] row = {-1};
+        openTicketsByPlate.compute(licensePlate, new BiFunction<String, Ticket[], Ticket[]>() {
+            @Override
+            public Ticket[] apply(String plate, Ticket[] open) {
+                if(tickets.put(key, plate) == null){
+                    row[0] = issuedTickets.append(key, plate);
+                }
+                if(open == null){
+                    return new Ticket[]{ticket};
+                }
+                Ticket[] added = Arrays.copyOf(open, open.length + 1);
+                added[open.length] = ticket;
+                return added;
+            }
+        });
+        if(row[0] >= 0){
+            for(TicketDatabaseListener listener : listeners){
+                listener.ticketAdded(this, row[0]);
+            }
+        }
+    }
+    
+    /**
+     * Closes an open ticket when its vehicle leaves the garage. The ticket
+     * remains in the issued tickets report.
+     * 
+     * @param ticket a valid <code>Ticket</code> that is not null
+     * @return <code>true</code> if the ticket was open
+     */
+    public final boolean closeTicket(final Ticket ticket) throws IllegalArgumentException {
+        if(ticket == null){
+            throw new IllegalArgumentException("Sorry, cannot close a null ticket");
+        }
+        String plate = tickets.get(ticket.getVehicle().getVehicleID().replace('V', 'T'));
+        if(plate == null){
+            return false;
+        }
+        final boolean[] closed = {false};
+        openTicketsByPlate.computeIfPresent(plate, new BiFunction<String, Ticket[], Ticket[]>() {
+            @Override
+            public Ticket[] apply(String plate, Ticket[] open) {
+                for(int i = 0; i < open.length; i++){
+                    if(open[i] == ticket){
+                        closed[0] = true;
+                        if(open.length == 1){
+                            return null;
+                        }
+                        Ticket[] remaining = new Ticket[open.length - 1];
+                        System.arraycopy(open, 0, remaining, 0, i);
+                        System.arraycopy(open, i + 1, remaining, i, open.length - i - 1);
+                        return remaining;
+                    }
+                }
+                return open;
+            }
+        });
+        return closed[0];
+    }
+    
+    /**
+     * Finds the open tickets for a license plate captured by a <code>Camera</code>,
+     * oldest first. Used at exit when a driver has lost their ticket. Tickets
+     * recovered from a <code>TicketLog</code> are never open (see
+     * <code>setTicketLog()</code>).
+     * 
+     * @param licensePlate a <code>String</code> with the license plate
+     * @return an unmodifiable <code>List</code> of open tickets, empty if none
+     */
+    public final List<Ticket> findOpenTickets(String licensePlate) {
+        Ticket[] open = licensePlate == null ? null : openTicketsByPlate.get(licensePlate);
+        if(open == null){
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(open));
+    }
+    
+    /**
+     * Checks whether a license plate already has an open ticket, which means
+     * the same car is entering again without having left
+     * 
+     * @param licensePlate a <code>String</code> with the license plate
+     * @return <code>true</code> if a ticket for the plate is still open
+     */
+    public final boolean hasOpenTicket(String licensePlate) {
+        return licensePlate != null && openTicketsByPlate.containsKey(licensePlate);
+    }
+    
+    /**
+     * Rebuilds the database from a <code>TicketLog</code> and then logs every
+     * ticket added afterward. The vehicle count is moved past the highest
+     * recovered ticket so new tickets do not reuse recovered numbers.
+     * <p>
+     * The log only holds each ticket's number and license plate, not its entry
+     * time or whether it was closed, so recovered tickets appear in the issued
+     * tickets report but are not open: <code>findOpenTickets()</code> and
+     * <code>hasOpenTicket()</code> do not see them and
+     * <code>closeTicket()</code> returns <code>false</code> for them. A vehicle
+     * still parked across a restart has to be let out by an attendant.
+     * 
+     * @param ticketLog a valid <code>TicketLog</code> that is not null
+     * @return the number of tickets recovered from the log
+     * @throws IOException if the log cannot be read
+     */
+    public final long setTicketLog(TicketLog ticketLog) throws IllegalArgumentException, IOException {
+        if(ticketLog == null){
+            throw new IllegalArgumentException("Sorry, that ticket log is invalid");
+        }
+        final int[] highest = {Vehicle.getVehicleCount()};
+        long recovered = ticketLog.replay(new BiConsumer<String, String>() {
+            @Override
+            public void accept(String key, String licensePlate) {
+                if(tickets.put(key, licensePlate) == null){
+                    issuedTickets.append(key, licensePlate);
+                }
+                try {
+                    highest[0] = Math.max(highest[0], Integer.parseInt(key.substring(1)));
+                } catch (NumberFormatException ex) {
+                    //Keys that are not T + number cannot clash with new tickets
+                }
+            }
+        });
+        Vehicle.setVehicleCount(highest[0]);
+        this.ticketLog = ticketLog;
+        return recovered;
+    }
+    
+    public final TicketLog getTicketLog() {
+        return ticketLog;
+    }
+    
+    /**
+     * Returns the number of tickets issued, which is also the number of rows
+     * in the issued order
+     * 
+     * @return the number of tickets issued
+     */
+    public final int getIssuedTicketCount() {
+        return issuedTickets.size();
+    }
+    
+    /**
+     * Returns the ticket number of the ticket issued in a row, counting from
+     * the first ticket issued at row 0
+     * 
+     * @param row a row from 0 to <code>getIssuedTicketCount() - 1</code>
+     * @return the ticket number as a <code>String</code>
+     * @throws IndexOutOfBoundsException if there is no such row
+     */
+    public final String getIssuedTicketNumber(int row) throws IndexOutOfBoundsException {
+        return issuedTickets.getKey(row);
+    }
+    
+    /**
+     * Returns the license plate of the ticket issued in a row
+     * 
+     * @param row a row from 0 to <code>getIssuedTicketCount() - 1</code>
+     * @return the license plate as a <code>String</code>
+     * @throws IndexOutOfBoundsException if there is no such row
+     */
+    public final String getIssuedTicketPlate(int row) throws IndexOutOfBoundsException {
+        return issuedTickets.getLicensePlate(row);
+    }
+    
+    /**
+     * Adds a listener to be told about every ticket added from now on
+     * 
+     * @param listener a valid <code>TicketDatabaseListener</code> that is not null
+     * @throws IllegalArgumentException if the listener is null
+     */
+    public final void addTicketDatabaseListener(TicketDatabaseListener listener) throws IllegalArgumentException {
+        if(listener == null){
+            throw new IllegalArgumentException("Sorry, the listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+    
+    public final void removeTicketDatabaseListener(TicketDatabaseListener listener) {
+        listeners.remove(listener);
     }
     
     /**
@@ -56,16 +273,36 @@ public class TicketDatabase {
      * @return a report as a formatted <code>String</code>
      */
     public final String generateIssuedTicketsReport() {
-        String s = "";
-        s += "\nREPORT: ISSUED TICKETS";
-        s += "\n";
-        s += "\nTicket #  |  License Plate";
-        s += "\n--------------------------";
-        Set<String> keys = tickets.keySet();
-        for(String k : keys){
-            s += "\n" + k + "           " + tickets.get(k);
+        StringBuilder sb = new StringBuilder(96 + tickets.size() * 24);
+        try {
+            writeIssuedTicketsReport(sb);
+        } catch (IOException ex) {
+            //StringBuilder never throws IOException
+            throw new UncheckedIOException(ex);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Writes the issued tickets report to <code>out</code> one line at a time,
+     * so the report never has to be held in memory as a single
+     * <code>String</code>
+     * 
+     * @param out a valid <code>Appendable</code> that is not null, like a
+     * <code>Writer</code> or <code>StringBuilder</code>
+     * @throws IOException if <code>out</code> cannot be written to
+     */
+    public final void writeIssuedTicketsReport(Appendable out) throws IllegalArgumentException, IOException {
+        if(out == null){
+            throw new IllegalArgumentException("Sorry, cannot write a report to a null output");
+        }
+        out.append("\nREPORT: ISSUED TICKETS");
+        out.append("\n");
+        out.append("\nTicket #  |  License Plate");
+        out.append("\n--------------------------");
+        for(Map.Entry<String, String> e : tickets.entrySet()){
+            out.append('\n').append(e.getKey()).append("           ").append(e.getValue());
         }
-        return s;
     }
 
     public final static int getTicketDBnum() {
@@ -98,7 +335,12 @@ public class TicketDatabase {
 
     public final void setTickets(Map<String, String> tickets) throws IllegalArgumentException {
         if(tickets != null){
+            IssuedTicketIndex issued = new IssuedTicketIndex();
+            for(Map.Entry<String, String> e : tickets.entrySet()){
+                issued.append(e.getKey(), e.getValue());
+            }
             this.tickets = tickets;
+            this.issuedTickets = issued;
         } else {
             throw new IllegalArgumentException("Sorry, that TicketDatabase is invalid");
         }
@@ -0,0 +1,20 @@
+package ics.parkinggarageapp;
+
+/**
+ * The TicketDatabaseListener interface can be implemented to hear about each
+ * ticket added to a <code>TicketDatabase</code>. It is called on the thread
+ * that added the ticket, often a station's, so it should do very little and
+ * hand any real work, like updating a window, to another thread.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public interface TicketDatabaseListener {
+    public abstract void ticketAdded(TicketDatabase ticketDB, int row);
+}
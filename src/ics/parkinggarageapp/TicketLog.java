@@ -0,0 +1,327 @@
+package ics.parkinggarageapp;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * A TicketLog is an append-only, checksummed binary write-ahead log for a
+ * <code>TicketDatabase</code>. Every issued ticket is written to the log before
+ * it is added to the database, so the database can be rebuilt with
+ * <code>replay()</code> after a restart.
+ * <p>
+ * The file starts with a short header followed by records laid out as
+ * <code>[int length][int CRC-32][byte type][UTF ticket key][UTF license plate]</code>.
+ * A record that is cut short or fails its checksum marks the end of the log;
+ * <code>replay()</code> truncates anything after the last good record.
+ * <p>
+ * Appends use group commit: the first thread to find no write in progress
+ * writes every record queued so far in one call and forces it to disk once,
+ * while the other lanes wait for that write instead of each paying for their
+ * own <code>fsync</code>.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of TicketLog class</li>
+ * <li>2026-10-17: Treat a file with a partly written header as an empty log</li>
+ * <li>2026-10-17: Refuse appends at once after a failed write instead of
+ * queueing records that will never be written</li>
+ * </ul>
+ * 
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.02
+ * @since 1.8
+ */
+public class TicketLog implements Closeable {
+    private static final int MAGIC = 0x544C4F47; // "TLOG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte ISSUE_RECORD = 1;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition committed = lock.newCondition();
+    private List<byte[]> pending = new ArrayList<>();
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean writing;
+    private IOException failure;
+    
+    private File file;
+    private FileChannel channel;
+    private boolean syncOnCommit;
+    private boolean replayed;
+    
+    /**
+     * Constructor to open (or create) a TicketLog. <code>replay()</code> must
+     * be called before any tickets are appended. A file too short to hold the
+     * header, left by a crash while the log was being created, is started
+     * over as an empty log.
+     * 
+     * @param file a valid <code>File</code> that is not null
+     * @param syncOnCommit <code>true</code> to force each group commit to disk
+     * @throws IOException if the file cannot be opened
+     */
+    public TicketLog(File file, boolean syncOnCommit) throws IOException {
+        setFile(file);
+        this.syncOnCommit = syncOnCommit;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if(channel.size() < HEADER_SIZE){
+            channel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            while(header.hasRemaining()){
+                channel.write(header);
+            }
+            channel.force(true);
+        }
+    }
+    
+    /**
+     * Reads every intact record in the log and hands it to the consumer, then
+     * truncates a torn or corrupt tail so new records follow the last good one
+     * 
+     * @param consumer receives the ticket key and license plate of each record
+     * @return the number of records replayed
+     * @throws IOException if the file cannot be read or is not a ticket log
+     */
+    public final long replay(BiConsumer<String, String> consumer) throws IOException {
+        if(consumer == null){
+            throw new IllegalArgumentException("Sorry, the replay consumer cannot be null");
+        }
+        long records = 0;
+        long goodEnd = HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        byte[] payload = new byte[256];
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if(in.readInt() != MAGIC || in.readInt() != VERSION){
+                throw new IOException("Sorry, " + file + " is not a ticket log");
+            }
+            while(true){
+                int length;
+                int checksum;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                } catch (EOFException ex) {
+                    break;
+                }
+                if(length <= 0 || length > 1 << 20){
+                    break;
+                }
+                if(payload.length < length){
+                    payload = new byte[length];
+                }
+                try {
+                    in.readFully(payload, 0, length);
+                } catch (EOFException ex) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload, 0, length);
+                if((int)crc.getValue() != checksum){
+                    break;
+                }
+                DataInputStream record = new DataInputStream(
+                        new ByteArrayInputStream(payload, 0, length));
+                if(record.readByte() == ISSUE_RECORD){
+                    consumer.accept(record.readUTF(), record.readUTF());
+                }
+                records++;
+                goodEnd += RECORD_HEADER_SIZE + length;
+            }
+        }
+        lock.lock();
+        try {
+            channel.truncate(goodEnd);
+            channel.position(goodEnd);
+            replayed = true;
+        } finally {
+            lock.unlock();
+        }
+        return records;
+    }
+    
+    /**
+     * Appends an issued ticket to the log and waits until it has been written
+     * (and forced to disk when <code>syncOnCommit</code> is set)
+     * 
+     * @param ticketKey a <code>String</code> with the ticket's database key
+     * @param licensePlate a <code>String</code> with the car's license plate
+     * @throws UncheckedIOException if the log cannot be written
+     */
+    public final void append(String ticketKey, String licensePlate) throws UncheckedIOException {
+        byte[] record = encode(ticketKey, licensePlate);
+        lock.lock();
+        try {
+            if(!replayed){
+                throw new IllegalStateException("Sorry, the ticket log must be replayed before appending");
+            }
+            if(failure != null){
+                throw new UncheckedIOException(failure);
+            }
+            pending.add(record);
+            long mySeq = ++appendedSeq;
+            while(durableSeq < mySeq){
+                if(failure != null){
+                    throw new UncheckedIOException(failure);
+                }
+                if(writing){
+                    committed.awaitUninterruptibly();
+                    continue;
+                }
+                //No write in progress, so this thread commits the whole group
+                writing = true;
+                List<byte[]> batch = pending;
+                pending = new ArrayList<>();
+                long batchEnd = appendedSeq;
+                lock.unlock();
+                IOException error = null;
+                try {
+                    write(batch);
+                } catch (IOException ex) {
+                    error = ex;
+                } finally {
+                    lock.lock();
+                }
+                writing = false;
+                if(error != null){
+                    failure = error;
+                    //The lanes waiting on these records are told of the failure below
+                    pending.clear();
+                } else {
+                    durableSeq = batchEnd;
+                }
+                committed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void write(List<byte[]> batch) throws IOException {
+        int size = 0;
+        for(byte[] record : batch){
+            size += record.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for(byte[] record : batch){
+            buffer.put(record);
+        }
+        buffer.flip();
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+        if(syncOnCommit){
+            channel.force(false);
+        }
+    }
+    
+    private static byte[] encode(String ticketKey, String licensePlate) {
+        if(ticketKey == null || licensePlate == null){
+            throw new IllegalArgumentException("Sorry, cannot log a ticket without a key and license plate");
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER_SIZE + 32);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(0L); //Placeholder for length and checksum
+            out.writeByte(ISSUE_RECORD);
+            out.writeUTF(ticketKey);
+            out.writeUTF(licensePlate);
+            byte[] record = bytes.toByteArray();
+            int length = record.length - RECORD_HEADER_SIZE;
+            CRC32 crc = new CRC32();
+            crc.update(record, RECORD_HEADER_SIZE, length);
+            ByteBuffer.wrap(record).putInt(length).putInt((int)crc.getValue());
+            return record;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    /**
+     * Closes the log after any waiting records have been written
+     * 
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public final void close() throws IOException {
+        lock.lock();
+        try {
+            while(writing){
+                committed.awaitUninterruptibly();
+            }
+            if(channel.isOpen()){
+                channel.force(true);
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public final File getFile() {
+        return file;
+    }
+
+    private void setFile(File file) throws IllegalArgumentException {
+        if(file == null){
+            throw new IllegalArgumentException("Sorry, the ticket log file cannot be null");
+        }
+        this.file = file;
+    }
+
+    public final boolean isSyncOnCommit() {
+        return syncOnCommit;
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 5;
+        hash = 29 * hash + Objects.hashCode(this.file);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final TicketLog other = (TicketLog) obj;
+        if (!Objects.equals(this.file, other.file)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public final String toString() {
+        return "Ticket Log: " + file;
+    }
+}
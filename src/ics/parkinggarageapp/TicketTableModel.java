@@ -0,0 +1,171 @@
+package ics.parkinggarageapp;
+
+import java.io.Closeable;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.RowFilter;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * A TicketTableModel shows the issued tickets of a <code>TicketDatabase</code>
+ * in a <code>JTable</code>, one row per ticket in the order they were issued.
+ * Cells are read straight from the database when the table paints them, and
+ * a table only paints the rows that are scrolled into view, so the window
+ * costs the same with ten tickets or a million.
+ * <p>
+ * New tickets are added to the end of the table instead of redrawing it. A
+ * station adding a ticket only queues an update for the Swing event dispatch
+ * thread, and tickets added before that update runs are inserted together.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of TicketTableModel class</li>
+ * <li>2026-10-17: Declare serialVersionUID</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.01
+ * @since 1.8
+ */
+public class TicketTableModel extends AbstractTableModel implements TicketDatabaseListener, Closeable {
+    private static final long serialVersionUID = 1L;
+    public static final int TICKET_NUMBER_COLUMN = 0;
+    public static final int LICENSE_PLATE_COLUMN = 1;
+    private static final String[] COLUMN_NAMES = {"Ticket #", "License Plate"};
+
+    private final TicketDatabase ticketDB;
+    //Only read and changed on the event dispatch thread
+    private int rowCount;
+    private final AtomicBoolean updateQueued = new AtomicBoolean();
+    private final Runnable showAddedTickets = new Runnable() {
+        @Override
+        public void run() {
+            showAddedTickets();
+        }
+    };
+
+    /**
+     * Constructs a TicketTableModel showing the tickets already issued and
+     * every ticket issued from now on
+     *
+     * @param ticketDB a valid <code>TicketDatabase</code> that is not null
+     * @throws IllegalArgumentException if ticketDB is null
+     */
+    public TicketTableModel(TicketDatabase ticketDB) throws IllegalArgumentException {
+        if(ticketDB == null){
+            throw new IllegalArgumentException("Sorry, the ticket database cannot be null");
+        }
+        this.ticketDB = ticketDB;
+        ticketDB.addTicketDatabaseListener(this);
+        rowCount = ticketDB.getIssuedTicketCount();
+    }
+
+    /**
+     * Queues an update for the event dispatch thread, unless one is already
+     * queued and will pick this ticket up
+     *
+     * @param ticketDB the database the ticket was added to
+     * @param row the row of the new ticket
+     */
+    @Override
+    public final void ticketAdded(TicketDatabase ticketDB, int row) {
+        if(updateQueued.compareAndSet(false, true)){
+            SwingUtilities.invokeLater(showAddedTickets);
+        }
+    }
+
+    private void showAddedTickets() {
+        //Clear first so a ticket added from here on queues another update
+        updateQueued.set(false);
+        int issued = ticketDB.getIssuedTicketCount();
+        if(issued > rowCount){
+            int firstRow = rowCount;
+            rowCount = issued;
+            fireTableRowsInserted(firstRow, issued - 1);
+        } else if(issued < rowCount){
+            //The database was given a new map
+            rowCount = issued;
+            fireTableDataChanged();
+        }
+    }
+
+    @Override
+    public final int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public final int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public final String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public final Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    @Override
+    public final Object getValueAt(int row, int column) {
+        return column == TICKET_NUMBER_COLUMN ? getTicketNumber(row) : getLicensePlate(row);
+    }
+
+    public final String getTicketNumber(int row) {
+        return ticketDB.getIssuedTicketNumber(row);
+    }
+
+    public final String getLicensePlate(int row) {
+        return ticketDB.getIssuedTicketPlate(row);
+    }
+
+    public final TicketDatabase getTicketDB() {
+        return ticketDB;
+    }
+
+    /**
+     * Stops listening to the database, so the model can be thrown away
+     */
+    @Override
+    public final void close() {
+        ticketDB.removeTicketDatabaseListener(this);
+    }
+
+    /**
+     * Makes a filter for a <code>TableRowSorter</code> that shows only the
+     * tickets whose license plate contains some text, ignoring case. The
+     * plates are read from the database as the filter checks each row, so
+     * nothing is copied.
+     *
+     * @param plateText the text to look for in each plate
+     * @return a <code>RowFilter</code>, or null to show every ticket when the
+     * text is null or blank
+     */
+    public static RowFilter<TicketTableModel, Integer> plateFilter(String plateText) {
+        if(plateText == null || plateText.trim().isEmpty()){
+            return null;
+        }
+        final String wanted = plateText.trim().toUpperCase(Locale.US);
+        return new RowFilter<TicketTableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TicketTableModel, ? extends Integer> entry) {
+                String plate = entry.getModel().getLicensePlate(entry.getIdentifier());
+                return plate.toUpperCase(Locale.US).contains(wanted);
+            }
+        };
+    }
+
+    /**
+     * Returns the number of tickets shown
+     *
+     * @return a <code>String</code> describing the model
+     */
+    @Override
+    public final String toString() {
+        return "Ticket table for " + ticketDB.getTicketDbId() + ": " + rowCount + " tickets";
+    }
+}
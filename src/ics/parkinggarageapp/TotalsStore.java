@@ -0,0 +1,215 @@
+package ics.parkinggarageapp;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * A TotalsStore keeps the running totals of a <code>ManagementReportGenerator</code>
+ * in a small binary file that is never truncated, so a crash while saving
+ * cannot lose the totals saved before it. The file is memory-mapped and laid
+ * out as a header and two fixed-size slots:
+ * <code>[int magic][int version]</code> then, twice,
+ * <code>[long sequence][long minutes][long cents][int CRC-32][int unused]</code>.
+ * <p>
+ * Each save writes a few bytes into the slot holding the older totals, with
+ * the next sequence number and a checksum, so the newest totals are never
+ * touched while a save is under way. Opening the store reads both slots and
+ * uses the one with the highest sequence number whose checksum is good. A
+ * slot that was only partly written fails its checksum and is ignored.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of TotalsStore class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public class TotalsStore implements Closeable {
+    private static final int MAGIC = 0x54544F54; // "TTOT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int SLOT_SIZE = 32;
+    //Bytes of each slot covered by the checksum: sequence, minutes and cents
+    private static final int CHECKED_SIZE = 24;
+    private static final int FILE_SIZE = HEADER_SIZE + 2 * SLOT_SIZE;
+
+    private final File file;
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final boolean syncOnSave;
+    private final CRC32 crc = new CRC32();
+    private long sequence;
+    private long minutes;
+    private long cents;
+    private boolean closed;
+
+    /**
+     * Constructor to open (or create) a TotalsStore and read the newest
+     * totals in it
+     *
+     * @param file a valid <code>File</code> that is not null
+     * @param syncOnSave <code>true</code> to force each save to disk, so it
+     * also survives a power failure and not just a crash
+     * @throws IOException if the file cannot be opened or is not a totals store
+     */
+    public TotalsStore(File file, boolean syncOnSave) throws IOException {
+        if(file == null){
+            throw new IllegalArgumentException("Sorry, the totals store file cannot be null");
+        }
+        this.file = file;
+        this.syncOnSave = syncOnSave;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if(size != 0 && size != FILE_SIZE){
+                throw new IOException("Sorry, " + file + " is not a totals store");
+            }
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            if(size == 0){
+                map.putInt(0, MAGIC).putInt(4, VERSION);
+                map.force();
+            } else if(map.getInt(0) != MAGIC || map.getInt(4) != VERSION){
+                throw new IOException("Sorry, " + file + " is not a totals store");
+            }
+            readNewestSlot();
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private void readNewestSlot() {
+        for(int slot = 0; slot < 2; slot++){
+            int offset = HEADER_SIZE + slot * SLOT_SIZE;
+            long slotSequence = map.getLong(offset);
+            if(slotSequence > sequence && map.getInt(offset + CHECKED_SIZE) == checksum(offset)){
+                sequence = slotSequence;
+                minutes = map.getLong(offset + 8);
+                cents = map.getLong(offset + 16);
+            }
+        }
+    }
+
+    private int checksum(int offset) {
+        crc.reset();
+        for(int i = 0; i < CHECKED_SIZE; i++){
+            crc.update(map.get(offset + i));
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Saves new totals into the slot holding the older ones
+     *
+     * @param minutes a <code>long</code> with the total time charged in minutes
+     * @param cents a <code>long</code> with the total payments collected in cents
+     * @throws IllegalArgumentException if either total is negative
+     * @throws IllegalStateException if the store has been closed
+     */
+    public final synchronized void save(long minutes, long cents) throws IllegalArgumentException, IllegalStateException {
+        if(minutes < 0 || cents < 0){
+            throw new IllegalArgumentException("Sorry, totals cannot be negative");
+        }
+        if(closed){
+            throw new IllegalStateException("Sorry, the totals store has been closed");
+        }
+        long next = sequence + 1;
+        int offset = HEADER_SIZE + (int) (next & 1) * SLOT_SIZE;
+        map.putLong(offset, next).putLong(offset + 8, minutes).putLong(offset + 16, cents);
+        map.putInt(offset + CHECKED_SIZE, checksum(offset));
+        if(syncOnSave){
+            map.force();
+        }
+        sequence = next;
+        this.minutes = minutes;
+        this.cents = cents;
+    }
+
+    /**
+     * Checks whether any totals have been saved in the store
+     *
+     * @return <code>true</code> if nothing has been saved yet
+     */
+    public final synchronized boolean isEmpty() {
+        return sequence == 0;
+    }
+
+    public final synchronized long getSequence() {
+        return sequence;
+    }
+
+    public final synchronized long getMinutes() {
+        return minutes;
+    }
+
+    public final synchronized long getCents() {
+        return cents;
+    }
+
+    public final File getFile() {
+        return file;
+    }
+
+    public final boolean isSyncOnSave() {
+        return syncOnSave;
+    }
+
+    /**
+     * Forces the last save to disk and closes the file
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public final synchronized void close() throws IOException {
+        if(closed){
+            return;
+        }
+        closed = true;
+        map.force();
+        channel.close();
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 5;
+        hash = 37 * hash + Objects.hashCode(this.file);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final TotalsStore other = (TotalsStore) obj;
+        if (!Objects.equals(this.file, other.file)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the file and the newest totals saved in it
+     *
+     * @return a <code>String</code> describing the store
+     */
+    @Override
+    public final synchronized String toString() {
+        return "Totals store " + file + ": save " + sequence + ", " + minutes + " min, " + Money.format(cents);
+    }
+}
@@ -0,0 +1,582 @@
+package ics.parkinggarageapp;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToLongFunction;
+
+/**
+ * TrafficSimulator drives a garage with N <code>EntryStation</code>s and M
+ * <code>ExitStation</code>s, each on its own thread, and measures how it
+ * performs. Everything random about a run comes from one seed: when each
+ * vehicle arrives, which stations it uses and how long it stays. Two runs with
+ * the same settings therefore charge the same fees, which
+ * <code>Result.getRevenueCents()</code> can be used to check, and their timings
+ * can be compared between releases.
+ * <p>
+ * Arrivals are spaced by an exponential distribution around the arrival rate,
+ * or sent as fast as possible when the rate is 0. Gate latency is measured from
+ * when a vehicle was due at the gate, not from when the station got to it, so
+ * time spent waiting behind other vehicles is counted. A vehicle is due at its
+ * exit station after its time parked multiplied by
+ * <code>millisPerParkedMinute</code>, which is 0 by default.
+ * <p>
+ * Station screens are discarded and, unless <code>quietPrinters</code> is
+ * turned off, tickets and receipts are printed through a
+ * <code>PrintSpooler</code> that discards them instead of to <code>System.out</code>.
+ * <p>
+ * Run with: <code>java ics.parkinggarageapp.TrafficSimulator [key=value ...]</code>
+ * using the keys vehicles, entries, exits, rate, dwell, meanDwell, seed and scale.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of TrafficSimulator class</li>
+ * <li>2026-10-17: Quiet the printers with a discarding <code>PrintSpooler</code>
+ * instead of replacing <code>System.out</code></li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.01
+ * @since 1.8
+ */
+public class TrafficSimulator {
+    /**
+     * How long each simulated vehicle stays parked
+     */
+    public enum DwellDistribution {
+        /** Uniform up to a day, the same as a <code>Ticket</code> with no time parked given */
+        UNIFORM,
+        /** Exponential around the mean time parked */
+        EXPONENTIAL
+    }
+
+    private int vehicleCount = 100000;
+    private int entryStationCount = 1;
+    private int exitStationCount = 1;
+    private double arrivalsPerSecond;
+    private DwellDistribution dwellDistribution = DwellDistribution.EXPONENTIAL;
+    private double meanDwellMinutes = 180;
+    private long seed = 42;
+    private double millisPerParkedMinute;
+    private boolean quietPrinters = true;
+
+    /**
+     * Runs one simulation with the current settings
+     *
+     * @return a <code>Result</code> with the measurements
+     * @throws Exception if the report generator cannot be created or a station
+     * thread fails
+     */
+    public final Result run() throws Exception {
+        //Plan the whole run up front so it only depends on the seed
+        Random random = new Random(seed);
+        final long[] arrivalNanos = new long[vehicleCount];
+        final long[] dwellMinutes = new long[vehicleCount];
+        int[][] entryPlan = new int[entryStationCount][];
+        int[] entryPlanSize = new int[entryStationCount];
+        final int[] exitOf = new int[vehicleCount];
+        int[] exitPlanSize = new int[exitStationCount];
+        int[] entryOf = new int[vehicleCount];
+        double nanosBetween = arrivalsPerSecond > 0 ? 1e9 / arrivalsPerSecond : 0;
+        double arrival = 0;
+        for(int i = 0; i < vehicleCount; i++){
+            arrival += -Math.log(1.0 - random.nextDouble()) * nanosBetween;
+            arrivalNanos[i] = (long)arrival;
+            entryOf[i] = random.nextInt(entryStationCount);
+            exitOf[i] = random.nextInt(exitStationCount);
+            dwellMinutes[i] = dwellDistribution == DwellDistribution.UNIFORM
+                    ? Ticket.generateMinutesParked(random)
+                    : Math.round(-Math.log(1.0 - random.nextDouble()) * meanDwellMinutes);
+            entryPlanSize[entryOf[i]]++;
+            exitPlanSize[exitOf[i]]++;
+        }
+        for(int s = 0; s < entryStationCount; s++){
+            entryPlan[s] = new int[entryPlanSize[s]];
+            entryPlanSize[s] = 0;
+        }
+        for(int i = 0; i < vehicleCount; i++){
+            entryPlan[entryOf[i]][entryPlanSize[entryOf[i]]++] = i;
+        }
+        final Vehicle[] vehicles = new Vehicle[vehicleCount];
+        for(int i = 0; i < vehicleCount; i++){
+            //Plates are the vehicle's number in base 36, which fits in 7 characters
+            vehicles[i] = new Vehicle(Integer.toString(i, Character.MAX_RADIX).toUpperCase());
+        }
+
+        File totalsFile = File.createTempFile("simulated-totals", ".txt");
+        totalsFile.deleteOnExit();
+        ParkingGarage garage = new ParkingGarage("Simulated Garage", "Nowhere", Math.max(1, vehicleCount));
+        TicketDatabase ticketDB = new ConcurrentTicketDatabase();
+        ManagementReportGenerator reportGen = new ManagementReportGenerator(ticketDB, totalsFile,
+                new TextFileService(new RunningTotalsFormatter()));
+        ToLongFunction<Vehicle> minutesParked = new ToLongFunction<Vehicle>() {
+            @Override
+            public long applyAsLong(Vehicle vehicle) {
+                return dwellMinutes[Integer.parseInt(vehicle.getLicensePlate(), Character.MAX_RADIX)];
+            }
+        };
+        //Dropping the oldest document when full means the stations never wait for it
+        PrintSpooler printSpooler = quietPrinters ? new PrintSpooler(new NullWriter(),
+                PrintSpooler.DEFAULT_CAPACITY, PrintSpooler.OverflowPolicy.DROP_OLDEST) : null;
+        List<EntryStation> entries = new ArrayList<>();
+        for(int s = 0; s < entryStationCount; s++){
+            EntryStation entry = new EntryStation(garage, "Welcome", ticketDB);
+            entry.setScreen(new NullParkingInfoOutput());
+            entry.setMinutesParked(minutesParked);
+            entry.setPrintSpooler(printSpooler);
+            entries.add(entry);
+        }
+        List<ExitStation> exits = new ArrayList<>();
+        final List<DelayQueue<DueVehicle>> exitQueues = new ArrayList<>();
+        for(int s = 0; s < exitStationCount; s++){
+            ExitStation exit = new ExitStation(garage, "Thank you", new PrecomputedFeeCalc(new MinMaxFeeCalc(2.00, 0.50, 10.00)), reportGen);
+            exit.setScreen(new NullParkingInfoOutput());
+            exit.setPrintSpooler(printSpooler);
+            exits.add(exit);
+            exitQueues.add(new DelayQueue<DueVehicle>());
+        }
+
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final long[][] entryLatencies = new long[entryStationCount][];
+        final long[][] exitLatencies = new long[exitStationCount][];
+        final long[] allocated = new long[entryStationCount + exitStationCount];
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch ready = new CountDownLatch(entryStationCount + exitStationCount);
+        final CountDownLatch go = new CountDownLatch(1);
+        final long[] startNanos = new long[1];
+        List<Thread> workers = new ArrayList<>();
+        for(int s = 0; s < entryStationCount; s++){
+            final EntryStation entry = entries.get(s);
+            final int[] plan = entryPlan[s];
+            final int slot = s;
+            workers.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    long allocatedBefore = allocatedBytes(threads);
+                    long[] latencies = new long[plan.length];
+                    await(ready, go);
+                    long start = startNanos[0];
+                    try {
+                        for(int n = 0; n < plan.length; n++){
+                            int i = plan[n];
+                            long due = start + arrivalNanos[i];
+                            long now = System.nanoTime();
+                            while(now < due){
+                                LockSupport.parkNanos(due - now);
+                                now = System.nanoTime();
+                            }
+                            if(arrivalsPerSecond <= 0){
+                                due = now;
+                            }
+                            entry.processParkingTransaction(vehicles[i]);
+                            long done = System.nanoTime();
+                            latencies[n] = done - due;
+                            long parkedNanos = (long)(dwellMinutes[i] * millisPerParkedMinute * 1e6);
+                            exitQueues.get(exitOf[i]).put(new DueVehicle(i, done + parkedNanos));
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                    entryLatencies[slot] = latencies;
+                    allocated[slot] = allocatedBytes(threads) - allocatedBefore;
+                }
+            }, entry.getEntryStationID()));
+        }
+        for(int s = 0; s < exitStationCount; s++){
+            final ExitStation exit = exits.get(s);
+            final DelayQueue<DueVehicle> queue = exitQueues.get(s);
+            final int planned = exitPlanSize[s];
+            final int slot = s;
+            workers.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    long allocatedBefore = allocatedBytes(threads);
+                    long[] latencies = new long[planned];
+                    await(ready, go);
+                    try {
+                        for(int n = 0; n < planned; n++){
+                            DueVehicle due = queue.poll(100, TimeUnit.MILLISECONDS);
+                            while(due == null){
+                                if(failure.get() != null){
+                                    throw new IllegalStateException("Sorry, stopped after another station failed");
+                                }
+                                due = queue.poll(100, TimeUnit.MILLISECONDS);
+                            }
+                            exit.processParkingTransaction(vehicles[due.index]);
+                            latencies[n] = System.nanoTime() - due.dueNanos;
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                    exitLatencies[slot] = latencies;
+                    allocated[entryStationCount + slot] = allocatedBytes(threads) - allocatedBefore;
+                }
+            }, exit.getExitStationID()));
+        }
+
+        long elapsed;
+        try {
+            for(Thread worker : workers){
+                worker.start();
+            }
+            ready.await();
+            startNanos[0] = System.nanoTime();
+            go.countDown();
+            for(Thread worker : workers){
+                worker.join();
+            }
+            elapsed = System.nanoTime() - startNanos[0];
+        } finally {
+            if(printSpooler != null){
+                printSpooler.close();
+            }
+        }
+        try {
+            reportGen.close();
+        } catch (EncodingException ex) {
+            failure.compareAndSet(null, ex);
+        }
+        totalsFile.delete();
+        if(failure.get() != null){
+            throw new IllegalStateException("Sorry, the simulation failed", failure.get());
+        }
+        long totalAllocated = 0;
+        for(long bytes : allocated){
+            totalAllocated = bytes < 0 || totalAllocated < 0 ? -1 : totalAllocated + bytes;
+        }
+        return new Result(vehicleCount * 2L, elapsed, merge(entryLatencies), merge(exitLatencies),
+                totalAllocated, reportGen.getTotalPaymentsCollectedCents());
+    }
+
+    private static void await(CountDownLatch ready, CountDownLatch go) {
+        ready.countDown();
+        try {
+            go.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if(threads instanceof com.sun.management.ThreadMXBean){
+            com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean)threads;
+            if(sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()){
+                return sunThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static long[] merge(long[][] parts) {
+        int length = 0;
+        for(long[] part : parts){
+            length += part.length;
+        }
+        long[] all = new long[length];
+        int at = 0;
+        for(long[] part : parts){
+            System.arraycopy(part, 0, all, at, part.length);
+            at += part.length;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    /**
+     * A vehicle waiting in an exit station's queue until its time parked is up
+     */
+    private static final class DueVehicle implements Delayed {
+        private final int index;
+        private final long dueNanos;
+
+        DueVehicle(int index, long dueNanos) {
+            this.index = index;
+            this.dueNanos = dueNanos;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueNanos, ((DueVehicle)other).dueNanos);
+        }
+    }
+
+    /**
+     * The measurements from one run of a <code>TrafficSimulator</code>
+     */
+    public static final class Result {
+        private final long transactions;
+        private final long elapsedNanos;
+        private final long[] entryLatencies;
+        private final long[] exitLatencies;
+        private final long allocatedBytes;
+        private final long revenueCents;
+
+        Result(long transactions, long elapsedNanos, long[] entryLatencies, long[] exitLatencies,
+                long allocatedBytes, long revenueCents) {
+            this.transactions = transactions;
+            this.elapsedNanos = elapsedNanos;
+            this.entryLatencies = entryLatencies;
+            this.exitLatencies = exitLatencies;
+            this.allocatedBytes = allocatedBytes;
+            this.revenueCents = revenueCents;
+        }
+
+        public final long getTransactions() {
+            return transactions;
+        }
+
+        public final double getTransactionsPerSecond() {
+            return transactions / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Returns a percentile of entry gate latency
+         *
+         * @param percentile between 0 and 100, like 99.9
+         * @return the latency in nanoseconds
+         */
+        public final long getEntryLatencyNanos(double percentile) {
+            return percentile(entryLatencies, percentile);
+        }
+
+        /**
+         * Returns a percentile of exit gate latency
+         *
+         * @param percentile between 0 and 100, like 99.9
+         * @return the latency in nanoseconds
+         */
+        public final long getExitLatencyNanos(double percentile) {
+            return percentile(exitLatencies, percentile);
+        }
+
+        /**
+         * Returns the bytes allocated by the station threads, or -1 if the
+         * JVM cannot measure it
+         *
+         * @return the bytes allocated
+         */
+        public final long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public final double getAllocatedBytesPerSecond() {
+            return allocatedBytes < 0 ? -1 : allocatedBytes / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Returns the fees collected. Runs with the same settings collect
+         * the same fees.
+         *
+         * @return the fees collected in cents
+         */
+        public final long getRevenueCents() {
+            return revenueCents;
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if(sorted.length == 0){
+                return 0;
+            }
+            int index = (int)Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+
+        /**
+         * Returns a report of the measurements
+         *
+         * @return the measurements as a formatted <code>String</code>
+         */
+        @Override
+        public final String toString() {
+            String s = "";
+            s += String.format("transactions: %,d in %.3f s (%,.0f/s)%n", transactions, elapsedNanos / 1e9, getTransactionsPerSecond());
+            s += String.format("entry latency us: p50 %.1f  p99 %.1f  p999 %.1f%n",
+                    getEntryLatencyNanos(50) / 1e3, getEntryLatencyNanos(99) / 1e3, getEntryLatencyNanos(99.9) / 1e3);
+            s += String.format("exit latency us:  p50 %.1f  p99 %.1f  p999 %.1f%n",
+                    getExitLatencyNanos(50) / 1e3, getExitLatencyNanos(99) / 1e3, getExitLatencyNanos(99.9) / 1e3);
+            if(allocatedBytes >= 0){
+                s += String.format("allocation: %,.1f MB/s, %,d bytes/transaction%n",
+                        getAllocatedBytesPerSecond() / 1e6, allocatedBytes / Math.max(1, transactions));
+            }
+            s += "revenue: " + Money.format(revenueCents);
+            return s;
+        }
+    }
+
+    public final int getVehicleCount() {
+        return vehicleCount;
+    }
+
+    public final void setVehicleCount(int vehicleCount) throws IllegalArgumentException {
+        if(vehicleCount < 0){
+            throw new IllegalArgumentException("Sorry, the number of vehicles cannot be negative");
+        }
+        this.vehicleCount = vehicleCount;
+    }
+
+    public final int getEntryStationCount() {
+        return entryStationCount;
+    }
+
+    public final void setEntryStationCount(int entryStationCount) throws IllegalArgumentException {
+        if(entryStationCount < 1){
+            throw new IllegalArgumentException("Sorry, there must be at least one entry station");
+        }
+        this.entryStationCount = entryStationCount;
+    }
+
+    public final int getExitStationCount() {
+        return exitStationCount;
+    }
+
+    public final void setExitStationCount(int exitStationCount) throws IllegalArgumentException {
+        if(exitStationCount < 1){
+            throw new IllegalArgumentException("Sorry, there must be at least one exit station");
+        }
+        this.exitStationCount = exitStationCount;
+    }
+
+    public final double getArrivalsPerSecond() {
+        return arrivalsPerSecond;
+    }
+
+    /**
+     * Sets the average number of vehicles arriving each second
+     *
+     * @param arrivalsPerSecond the arrival rate, or 0 to send vehicles as fast
+     * as the entry stations take them
+     * @throws IllegalArgumentException if the rate is negative
+     */
+    public final void setArrivalsPerSecond(double arrivalsPerSecond) throws IllegalArgumentException {
+        if(arrivalsPerSecond < 0 || Double.isNaN(arrivalsPerSecond)){
+            throw new IllegalArgumentException("Sorry, the arrival rate cannot be negative");
+        }
+        this.arrivalsPerSecond = arrivalsPerSecond;
+    }
+
+    public final DwellDistribution getDwellDistribution() {
+        return dwellDistribution;
+    }
+
+    public final void setDwellDistribution(DwellDistribution dwellDistribution) throws IllegalArgumentException {
+        if(dwellDistribution == null){
+            throw new IllegalArgumentException("Sorry, the dwell distribution cannot be null");
+        }
+        this.dwellDistribution = dwellDistribution;
+    }
+
+    public final double getMeanDwellMinutes() {
+        return meanDwellMinutes;
+    }
+
+    public final void setMeanDwellMinutes(double meanDwellMinutes) throws IllegalArgumentException {
+        if(!(meanDwellMinutes >= 0)){
+            throw new IllegalArgumentException("Sorry, the mean time parked cannot be negative");
+        }
+        this.meanDwellMinutes = meanDwellMinutes;
+    }
+
+    public final long getSeed() {
+        return seed;
+    }
+
+    public final void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public final double getMillisPerParkedMinute() {
+        return millisPerParkedMinute;
+    }
+
+    /**
+     * Sets how much real time each minute parked takes before the vehicle is
+     * due at its exit station
+     *
+     * @param millisPerParkedMinute milliseconds per minute parked, 0 to send
+     * vehicles to the exit as soon as they have entered
+     * @throws IllegalArgumentException if the scale is negative
+     */
+    public final void setMillisPerParkedMinute(double millisPerParkedMinute) throws IllegalArgumentException {
+        if(!(millisPerParkedMinute >= 0)){
+            throw new IllegalArgumentException("Sorry, the time scale cannot be negative");
+        }
+        this.millisPerParkedMinute = millisPerParkedMinute;
+    }
+
+    public final boolean isQuietPrinters() {
+        return quietPrinters;
+    }
+
+    public final void setQuietPrinters(boolean quietPrinters) {
+        this.quietPrinters = quietPrinters;
+    }
+
+    /**
+     * Returns the settings of the simulator
+     *
+     * @return a <code>String</code> with the settings
+     */
+    @Override
+    public final String toString() {
+        return "vehicles=" + vehicleCount + " entries=" + entryStationCount + " exits=" + exitStationCount
+                + " rate=" + arrivalsPerSecond + " dwell=" + dwellDistribution + " meanDwell=" + meanDwellMinutes
+                + " seed=" + seed + " scale=" + millisPerParkedMinute;
+    }
+
+    public static void main(String[] args) throws Exception {
+        TrafficSimulator simulator = new TrafficSimulator();
+        for(String arg : args){
+            int equals = arg.indexOf('=');
+            if(equals < 0){
+                throw new IllegalArgumentException("Sorry, arguments must be key=value: " + arg);
+            }
+            String key = arg.substring(0, equals);
+            String value = arg.substring(equals + 1);
+            switch(key){
+                case "vehicles":
+                    simulator.setVehicleCount(Integer.parseInt(value));
+                    break;
+                case "entries":
+                    simulator.setEntryStationCount(Integer.parseInt(value));
+                    break;
+                case "exits":
+                    simulator.setExitStationCount(Integer.parseInt(value));
+                    break;
+                case "rate":
+                    simulator.setArrivalsPerSecond(Double.parseDouble(value));
+                    break;
+                case "dwell":
+                    simulator.setDwellDistribution(DwellDistribution.valueOf(value.toUpperCase()));
+                    break;
+                case "meanDwell":
+                    simulator.setMeanDwellMinutes(Double.parseDouble(value));
+                    break;
+                case "seed":
+                    simulator.setSeed(Long.parseLong(value));
+                    break;
+                case "scale":
+                    simulator.setMillisPerParkedMinute(Double.parseDouble(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Sorry, " + key + " is not a known setting");
+            }
+        }
+        System.out.println(simulator);
+        System.out.println(simulator.run());
+    }
+}
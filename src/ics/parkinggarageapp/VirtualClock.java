@@ -0,0 +1,159 @@
+package ics.parkinggarageapp;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * VirtualClock is a <code>java.time.Clock</code> that only moves when it is
+ * told to. Give one to the <code>EntryStation</code>s and
+ * <code>ExitStation</code>s to replay a recorded day or to simulate weeks of
+ * traffic as fast as the CPU allows: advance the clock to the time of the next
+ * event instead of waiting for it. Every clock made by withZone() shares the
+ * same time, and the time can be read and advanced from any thread.
+ * <p>
+ * Revision History:
+ * <ul>
+ * <li>2026-10-17: Initial version of VirtualClock class</li>
+ * </ul>
+ *
+ * @author Isaac Stefanski, istefanski@my.wctc.edu
+ * @version 1.00
+ * @since 1.8
+ */
+public class VirtualClock extends Clock {
+    private final AtomicLong epochMillis;
+    private final ZoneId zone;
+
+    /**
+     * Constructs a VirtualClock stopped at the given instant
+     *
+     * @param start the <code>Instant</code> to start at, not null
+     * @param zone the <code>ZoneId</code> used for local times, not null
+     * @throws IllegalArgumentException if either argument is null
+     */
+    public VirtualClock(Instant start, ZoneId zone) throws IllegalArgumentException {
+        this(new AtomicLong(checkStart(start).toEpochMilli()), zone);
+    }
+
+    private VirtualClock(AtomicLong epochMillis, ZoneId zone) throws IllegalArgumentException {
+        if(zone == null){
+            throw new IllegalArgumentException("Sorry, the time zone cannot be null");
+        }
+        this.epochMillis = epochMillis;
+        this.zone = zone;
+    }
+
+    private static Instant checkStart(Instant start) throws IllegalArgumentException {
+        if(start == null){
+            throw new IllegalArgumentException("Sorry, the start time cannot be null");
+        }
+        return start;
+    }
+
+    /**
+     * Moves the clock forward
+     *
+     * @param amount a <code>Duration</code> that is not null or negative
+     * @return the new time
+     * @throws IllegalArgumentException if amount is null or negative
+     */
+    public final Instant advance(Duration amount) throws IllegalArgumentException {
+        if(amount == null || amount.isNegative()){
+            throw new IllegalArgumentException("Sorry, a virtual clock can only move forward");
+        }
+        return Instant.ofEpochMilli(epochMillis.addAndGet(amount.toMillis()));
+    }
+
+    /**
+     * Moves the clock forward to the given time. The clock does not move if
+     * it is already past that time, so threads advancing to the times of
+     * their own events never turn it back.
+     *
+     * @param time an <code>Instant</code> that is not null
+     * @return the time after the call
+     * @throws IllegalArgumentException if time is null
+     */
+    public final Instant advanceTo(Instant time) throws IllegalArgumentException {
+        if(time == null){
+            throw new IllegalArgumentException("Sorry, the time cannot be null");
+        }
+        long target = time.toEpochMilli();
+        long current = epochMillis.get();
+        while(current < target && !epochMillis.compareAndSet(current, target)){
+            current = epochMillis.get();
+        }
+        return Instant.ofEpochMilli(Math.max(current, target));
+    }
+
+    @Override
+    public final long millis() {
+        return epochMillis.get();
+    }
+
+    @Override
+    public final Instant instant() {
+        return Instant.ofEpochMilli(epochMillis.get());
+    }
+
+    @Override
+    public final ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Returns a clock in another time zone that shares this clock's time
+     *
+     * @param zone the <code>ZoneId</code> to use, not null
+     * @return a <code>VirtualClock</code> that moves with this one
+     */
+    @Override
+    public final Clock withZone(ZoneId zone) {
+        if(this.zone.equals(zone)){
+            return this;
+        }
+        return new VirtualClock(epochMillis, zone);
+    }
+
+    @Override
+    public final int hashCode() {
+        int hash = 3;
+        hash = 29 * hash + System.identityHashCode(this.epochMillis);
+        hash = 29 * hash + Objects.hashCode(this.zone);
+        return hash;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final VirtualClock other = (VirtualClock) obj;
+        if (this.epochMillis != other.epochMillis) {
+            return false;
+        }
+        if (!Objects.equals(this.zone, other.zone)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the current virtual time and zone
+     *
+     * @return a <code>String</code> with the time and zone
+     */
+    @Override
+    public final String toString() {
+        return "VirtualClock[" + instant() + "," + zone + "]";
+    }
+}
@@ -0,0 +1,52 @@
+package ics.parkinggarageapp;
+
+import java.util.Random;
+
+/**
+ * Benchmark of repricing a month of stays. Compares calling calcParkingFee()
+ * once per stay through the <code>ParkingFeeCalculator</code> interface with
+ * the batch calcParkingFees() of each calculator.
+ * <p>
+ * Run with: <code>java ics.parkinggarageapp.BatchFeeBenchmark [stays]</code>
+ * 
+ * @author Isaac
+ */
+public class BatchFeeBenchmark {
+    
+    public static void main(String[] args) {
+        int stays = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        ParkingFeeCalculator minMax = new MinMaxFeeCalc(2.0, 0.50, 10.00);
+        ParkingFeeCalculator[] calcs = {
+            minMax,
+            new MinNoMaxFeeCalc(1.50, 0.75),
+            new SpecialEventParkingFeeCalc(1.80, 0.15),
+            new PrecomputedFeeCalc(minMax)
+        };
+        Random random = new Random(7);
+        double[] hrsParked = new double[stays];
+        for(int i = 0; i < stays; i++){
+            hrsParked[i] = random.nextDouble() * 30;
+        }
+        double[] fees = new double[stays];
+        
+        for(int round = 0; round < 5; round++){
+            for(ParkingFeeCalculator calc : calcs){
+                long start = System.nanoTime();
+                for(int i = 0; i < stays; i++){
+                    fees[i] = calc.calcParkingFee(hrsParked[i]);
+                }
+                double single = stays / ((System.nanoTime() - start) / 1e9);
+                double check = fees[stays - 1];
+                
+                start = System.nanoTime();
+                calc.calcParkingFees(hrsParked, fees);
+                double batch = stays / ((System.nanoTime() - start) / 1e9);
+                if(fees[stays - 1] != check){
+                    throw new IllegalStateException("Batch and single fees differ");
+                }
+                System.out.printf("round %d %-28s single %,14.0f fees/s | batch %,14.0f fees/s (%.1fx)%n",
+                        round + 1, calc.getClass().getSimpleName(), single, batch, batch / single);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class BoundedExecutorTest {
+    private CountDownLatch release;
+    private AtomicInteger ran;
+    private Runnable stuckTask;
+    
+    public BoundedExecutorTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        release = new CountDownLatch(1);
+        ran = new AtomicInteger();
+        stuckTask = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                ran.incrementAndGet();
+            }
+        };
+    }
+    
+    @After
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @Test(timeout = 10000)
+    public void testWaitingCallerIsRejectedAtShutdown() throws Exception {
+        final BoundedExecutor executor = new BoundedExecutor(1, 1, Executors.defaultThreadFactory());
+        executor.execute(stuckTask);
+        while(executor.getQueueDepth() > 0){
+            Thread.sleep(1);
+        }
+        executor.execute(stuckTask);
+        final CountDownLatch rejected = new CountDownLatch(1);
+        Thread caller = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    executor.execute(stuckTask);
+                } catch (RejectedExecutionException ex) {
+                    rejected.countDown();
+                }
+            }
+        });
+        caller.start();
+        Thread.sleep(50);
+        assertEquals(1, rejected.getCount());
+        executor.shutdown();
+        assertTrue(rejected.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(2, ran.get());
+    }
+    
+    @Test(timeout = 10000)
+    public void testEveryAcceptedTaskRunsWhenShutDownUnderLoad() throws Exception {
+        release.countDown();
+        for(int round = 0; round < 100; round++){
+            final BoundedExecutor executor = new BoundedExecutor(1, 1, Executors.defaultThreadFactory());
+            final AtomicInteger accepted = new AtomicInteger();
+            ran.set(0);
+            Thread[] callers = new Thread[3];
+            for(int i = 0; i < callers.length; i++){
+                callers[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            for(int t = 0; t < 50; t++){
+                                executor.execute(stuckTask);
+                                accepted.incrementAndGet();
+                            }
+                        } catch (RejectedExecutionException ex) {
+                            //Shut down while queueing
+                        }
+                    }
+                });
+                callers[i].start();
+            }
+            executor.shutdown();
+            for(Thread caller : callers){
+                caller.join();
+            }
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(accepted.get(), ran.get());
+        }
+    }
+}
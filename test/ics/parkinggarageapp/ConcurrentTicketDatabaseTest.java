@@ -0,0 +1,81 @@
+package ics.parkinggarageapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class ConcurrentTicketDatabaseTest {
+    private static final int LANES = 8;
+    private static final int TICKETS_PER_LANE = 500;
+    
+    public ConcurrentTicketDatabaseTest() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testConcurrentAddTicketKeepsEveryTicket() throws InterruptedException {
+        final ConcurrentTicketDatabase db = new ConcurrentTicketDatabase();
+        final List<List<Ticket>> lanes = new ArrayList<>();
+        for(int i = 0; i < LANES; i++){
+            List<Ticket> lane = new ArrayList<>();
+            for(int j = 0; j < TICKETS_PER_LANE; j++){
+                lane.add(new Ticket(new Vehicle("ABC-" + (j % 1000))));
+            }
+            lanes.add(lane);
+        }
+        
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for(final List<Ticket> lane : lanes){
+            Thread t = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    for(Ticket ticket : lane){
+                        db.addTicket(ticket, ticket.getVehicle().getLicensePlate());
+                    }
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+        start.countDown();
+        for(Thread t : threads){
+            t.join();
+        }
+        
+        assertEquals(LANES * TICKETS_PER_LANE, db.getTickets().size());
+    }
+    
+    @Test
+    public void testIssuedTicketsReportListsTicketsInOrder() {
+        ConcurrentTicketDatabase db = new ConcurrentTicketDatabase();
+        Vehicle v1 = new Vehicle("BBB-222");
+        Vehicle v2 = new Vehicle("AAA-111");
+        db.addTicket(new Ticket(v2), v2.getLicensePlate());
+        db.addTicket(new Ticket(v1), v1.getLicensePlate());
+        String report = db.generateIssuedTicketsReport();
+        String first = v1.getVehicleID().replace('V', 'T');
+        String second = v2.getVehicleID().replace('V', 'T');
+        assertTrue(report.indexOf(first) < report.indexOf(second));
+    }
+}
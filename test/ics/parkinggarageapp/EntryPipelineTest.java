@@ -0,0 +1,148 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class EntryPipelineTest {
+    private ParkingGarage garage;
+    private TicketDatabase ticketDB;
+    private EntryStation station;
+    
+    public EntryPipelineTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        garage = new ParkingGarage("Garage", "123 Main Streeet", 100);
+        ticketDB = new TicketDatabase();
+        station = new EntryStation(garage, "Welcome", ticketDB);
+        station.setScreen(new NullParkingInfoOutput());
+        station.setMinutesParked(new ToLongFunction<Vehicle>() {
+            @Override
+            public long applyAsLong(Vehicle vehicle) {
+                return 60;
+            }
+        });
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testEveryAdmittedVehicleGetsATicket() throws Exception {
+        Vehicle[] vehicles = new Vehicle[40];
+        try (EntryPipeline pipeline = new EntryPipeline(station, 4, 1, 2, 1, 2, 1)) {
+            for(int i = 0; i < vehicles.length; i++){
+                vehicles[i] = new Vehicle("P" + i);
+                assertTrue(pipeline.submit(vehicles[i]));
+            }
+            assertTrue(pipeline.awaitIdle(10, TimeUnit.SECONDS));
+            assertEquals(40, pipeline.getCompletedCount());
+            assertEquals(40, pipeline.getProcessedCount(EntryPipeline.Stage.PRINT));
+        }
+        for(Vehicle vehicle : vehicles){
+            assertNotNull(vehicle.getTicket());
+            assertTrue(ticketDB.hasOpenTicket(vehicle.getLicensePlate()));
+        }
+        assertEquals(40, garage.getFullParkingSpaces());
+    }
+    
+    @Test
+    public void testSlowGateDoesNotHoldUpSubmit() throws Exception {
+        station.setScreen(new ParkingInfoOutput() {
+            @Override
+            public void outputParkingInfo(String message) {
+                if(message.equals("Please proceed")){
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        EntryPipeline pipeline = new EntryPipeline(station);
+        long start = System.nanoTime();
+        for(int i = 0; i < 30; i++){
+            pipeline.submit(new Vehicle("S" + i));
+        }
+        long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        pipeline.close();
+        assertTrue("Submitting took " + submitMillis + " ms", submitMillis < 30 * 20);
+        assertEquals(30, pipeline.getCompletedCount());
+        assertTrue(pipeline.getAverageLatencyMillis(EntryPipeline.Stage.ACTUATE)
+                > pipeline.getAverageLatencyMillis(EntryPipeline.Stage.CAPTURE));
+    }
+    
+    @Test
+    public void testFullGarageTurnsVehicleAway() {
+        garage.setFullParkingSpaces(100);
+        try (EntryPipeline pipeline = new EntryPipeline(station)) {
+            assertFalse(pipeline.submit(new Vehicle("FULL")));
+        }
+        assertEquals(100, garage.getFullParkingSpaces());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testSubmitAfterCloseThrowsException() {
+        EntryPipeline pipeline = new EntryPipeline(station);
+        pipeline.close();
+        pipeline.submit(new Vehicle("LATE"));
+    }
+    
+    @Test(timeout = 20000)
+    public void testCloseWhileSubmittingStrandsNoEntry() throws Exception {
+        station.setScreen(new ParkingInfoOutput() {
+            @Override
+            public void outputParkingInfo(String message) {
+                if(message.equals("Please proceed")){
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        final EntryPipeline pipeline = new EntryPipeline(station, 1, 1, 1, 1, 1, 1);
+        Thread[] submitters = new Thread[3];
+        for(int i = 0; i < submitters.length; i++){
+            final int lane = i;
+            submitters[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for(int v = 0; v < 20; v++){
+                            pipeline.submit(new Vehicle("L" + lane + "-" + v));
+                        }
+                    } catch (IllegalStateException ex) {
+                        //Closed while submitting
+                    }
+                }
+            });
+            submitters[i].start();
+        }
+        Thread.sleep(20);
+        pipeline.close();
+        for(Thread submitter : submitters){
+            submitter.join();
+        }
+        assertEquals(0, pipeline.getInFlightCount());
+        assertTrue(pipeline.awaitIdle(0, TimeUnit.SECONDS));
+        assertEquals(pipeline.getCompletedCount(), garage.getFullParkingSpaces());
+    }
+}
@@ -1,5 +1,6 @@
 package ics.parkinggarageapp;
 
+import java.io.StringWriter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,4 +36,24 @@ public class EntryStationTest {
         es.lowerArm();
         assertTrue(es.isArmLowered());
     }
+    
+    @Test
+    public void testFailedEntryClosesPersistedTicket() {
+        ParkingGarage garage = new ParkingGarage("Garage", "123 Main Streeet", 10);
+        TicketDatabase ticketDB = new TicketDatabase();
+        EntryStation es = new EntryStation(garage, "Welcome", ticketDB);
+        es.setScreen(new NullParkingInfoOutput());
+        //A closed spooler refuses the ticket after it has been persisted
+        PrintSpooler spooler = new PrintSpooler(new StringWriter(), 1, PrintSpooler.OverflowPolicy.BLOCK);
+        spooler.close();
+        es.setPrintSpooler(spooler);
+        try {
+            es.processParkingTransaction(new Vehicle("MYRIDE"));
+            fail("The entry printed through a closed spooler");
+        } catch (IllegalStateException ex) {
+            assertEquals(1, ticketDB.getIssuedTicketCount());
+            assertFalse(ticketDB.hasOpenTicket("MYRIDE"));
+            assertEquals(0, garage.getFullParkingSpaces());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class EscPosPrinterTest {
+    private File device;
+    private ParkingGarage garage;
+    
+    public EscPosPrinterTest() {
+    }
+    
+    @Before
+    public void setUp() throws Exception {
+        device = File.createTempFile("escpos", ".bin");
+        garage = new ParkingGarage("Garage", "123 Main Streeet", 10);
+    }
+    
+    @After
+    public void tearDown() {
+        device.delete();
+    }
+
+    @Test
+    public void testTicketIsWrittenWithBarcodeAndCut() throws Exception {
+        Ticket ticket = new Ticket(new Vehicle("ABC123"), 60);
+        try (FileChannel channel = FileChannel.open(device.toPath(), StandardOpenOption.WRITE)) {
+            new EscPosPrinter(ticket, channel).performPrint();
+        }
+        byte[] bytes = Files.readAllBytes(device.toPath());
+        String text = new String(bytes, StandardCharsets.ISO_8859_1);
+        String vehicleID = ticket.getVehicle().getVehicleID();
+        assertTrue(text.startsWith("\u001B@"));
+        assertTrue(text.contains("Vehicle ID: " + vehicleID + "\n"));
+        assertTrue(text.contains("\u001DkI" + (char)(2 + vehicleID.length()) + "{B" + vehicleID));
+        assertTrue(text.endsWith("\u001DVB\u0003"));
+    }
+    
+    @Test
+    public void testReceiptShowsTotalDue() throws Exception {
+        Ticket ticket = new Ticket(new Vehicle("ABC123"), 150);
+        Receipt receipt = new Receipt(garage, ticket, new MinMaxFeeCalc(2.00, 0.50, 10.00));
+        ByteBuffer bytes = EscPosEncoder.forCurrentThread().encode(receipt);
+        String text = StandardCharsets.ISO_8859_1.decode(bytes).toString();
+        assertTrue(text.contains("Hours Parked: 2.50\n"));
+        assertTrue(text.contains("TOTAL DUE: " + Money.format(receipt.calcTotalDueCents())));
+    }
+    
+    @Test
+    public void testBufferIsReusedAndGrows() {
+        EscPosEncoder encoder = new EscPosEncoder(8);
+        Ticket ticket = new Ticket(new Vehicle("ABC123"), 60);
+        ByteBuffer first = encoder.encode(ticket);
+        int length = first.remaining();
+        assertTrue(encoder.getCapacity() >= length);
+        assertSame(first, encoder.encode(ticket));
+        assertEquals(length, first.remaining());
+    }
+}
@@ -1,5 +1,7 @@
 package ics.parkinggarageapp;
 
+import java.io.File;
+import java.util.function.ToLongFunction;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,4 +37,45 @@ public class ExitStationTest {
         es.lowerArm();
         assertTrue(es.isArmLowered());
     }
+    
+    @Test
+    public void testSecondExitWithSameTicketIsRefused() throws Exception, EncodingException {
+        File totalsFile = File.createTempFile("totals", ".txt");
+        ManagementReportGenerator reportGen = null;
+        try {
+            ParkingGarage garage = new ParkingGarage("Garage", "123 Main Streeet", 10);
+            TicketDatabase ticketDB = new TicketDatabase();
+            EntryStation entry = new EntryStation(garage, "Welcome", ticketDB);
+            entry.setScreen(new NullParkingInfoOutput());
+            entry.setMinutesParked(new ToLongFunction<Vehicle>() {
+                @Override
+                public long applyAsLong(Vehicle vehicle) {
+                    return 60;
+                }
+            });
+            reportGen = new ManagementReportGenerator(ticketDB, totalsFile,
+                    new TextFileService(new RunningTotalsFormatter()));
+            ExitStation exit = new ExitStation(garage, "Thanks", new MinMaxFeeCalc(2, 0.5, 10), reportGen);
+            exit.setScreen(new NullParkingInfoOutput());
+            Vehicle vehicle = new Vehicle("MYRIDE");
+            Vehicle other = new Vehicle("554-ZJF");
+            entry.processParkingTransaction(vehicle);
+            entry.processParkingTransaction(other);
+            exit.processParkingTransaction(vehicle);
+            long collected = reportGen.getTotalPaymentsCollectedCents();
+            assertEquals(1, garage.getFullParkingSpaces());
+            try {
+                exit.processParkingTransaction(vehicle);
+                fail("The same ticket was paid twice");
+            } catch (IllegalArgumentException ex) {
+                assertEquals(collected, reportGen.getTotalPaymentsCollectedCents());
+                assertEquals(1, garage.getFullParkingSpaces());
+            }
+        } finally {
+            if(reportGen != null){
+                reportGen.close();
+            }
+            totalsFile.delete();
+        }
+    }
 }
\ No newline at end of file
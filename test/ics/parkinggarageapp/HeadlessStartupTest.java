@@ -0,0 +1,103 @@
+package ics.parkinggarageapp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.Properties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class HeadlessStartupTest {
+    private File totalsFile;
+    private Properties config;
+    private ByteArrayOutputStream reports;
+    
+    public HeadlessStartupTest() {
+    }
+    
+    @Before
+    public void setUp() throws Exception {
+        totalsFile = File.createTempFile("totals", ".txt");
+        config = new Properties();
+        config.setProperty("garage.spaces", "10");
+        config.setProperty("totals.file", totalsFile.getPath());
+        config.setProperty("output", "null");
+        config.setProperty("exit.stations", "2");
+        reports = new ByteArrayOutputStream();
+    }
+    
+    @After
+    public void tearDown() {
+        totalsFile.delete();
+    }
+
+    @Test
+    public void testRunProcessesEventsAndSavesTotals() throws Exception, EncodingException {
+        HeadlessStartup startup = new HeadlessStartup(config, new PrintStream(reports, true));
+        long events = startup.run(new StringReader(
+                "# morning\nENTER ABC-123\nENTER XYZ-789\n\nEXIT ABC-123\nREPORT\nEXIT XYZ-789\n"));
+        startup.close();
+        
+        assertEquals(5, events);
+        assertEquals(0, startup.getErrorCount());
+        assertEquals(10, startup.getGarage().getEmptyParkingSpaces());
+        assertFalse(startup.getReportGen().getTicketDB().hasOpenTicket("ABC-123"));
+        assertTrue(reports.toString().contains("REPORT: RUNNING TOTALS"));
+        assertTrue(totalsFile.length() > 0);
+    }
+    
+    @Test
+    public void testBadEventsAreCountedAndSkipped() throws Exception, EncodingException {
+        HeadlessStartup startup = new HeadlessStartup(config, new PrintStream(reports, true));
+        startup.run(new StringReader("PARK ABC-123\nEXIT NOT-HERE\nENTER\nENTER ABC-123\n"));
+        startup.close();
+        
+        assertEquals(4, startup.getEventCount());
+        assertEquals(3, startup.getErrorCount());
+        assertTrue(startup.getReportGen().getTicketDB().hasOpenTicket("ABC-123"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownFeeCalcIsRejected() throws Exception {
+        config.setProperty("fee.calc", "Hourly");
+        new HeadlessStartup(config, System.out);
+    }
+    
+    @Test
+    public void testEveryStationUsesConfiguredClock() throws Exception, EncodingException {
+        config.setProperty("clock", "America/Chicago");
+        HeadlessStartup startup = new HeadlessStartup(config, new PrintStream(reports, true));
+        startup.close();
+        Clock clock = startup.getClock();
+        assertEquals(ZoneId.of("America/Chicago"), clock.getZone());
+        for(EntryStation entry : startup.getEntryStations()){
+            assertSame(clock, entry.getClock());
+        }
+        for(ExitStation exit : startup.getExitStations()){
+            assertSame(clock, exit.getClock());
+        }
+    }
+    
+    @Test
+    public void testClockDefaultsToSystemClock() throws Exception, EncodingException {
+        HeadlessStartup startup = new HeadlessStartup(config, new PrintStream(reports, true));
+        startup.close();
+        assertEquals(Clock.systemDefaultZone(), startup.getClock());
+        assertSame(startup.getClock(), startup.getExitStations().get(1).getClock());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownClockIsRejected() throws Exception {
+        config.setProperty("clock", "sundial");
+        new HeadlessStartup(config, System.out);
+    }
+}
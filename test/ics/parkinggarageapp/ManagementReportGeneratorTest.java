@@ -1,6 +1,9 @@
 package ics.parkinggarageapp;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.junit.After;
@@ -13,18 +16,96 @@ import static org.junit.Assert.*;
  * @author Isaac
  */
 public class ManagementReportGeneratorTest {
+    private File totalsFile;
+    private TextFileService fileService;
+    private ManagementReportGenerator reportGen;
     
     public ManagementReportGeneratorTest() {
     }
     
     @Before
-    public void setUp() {
+    public void setUp() throws Exception {
+        totalsFile = File.createTempFile("totals", ".txt");
+        fileService = new TextFileService(new RunningTotalsFormatter());
+        reportGen = new ManagementReportGenerator(new TicketDatabase(), totalsFile, fileService);
+        //Only the test decides when the interval runs out
+        reportGen.setFlushIntervalMillis(60000);
     }
     
     @After
-    public void tearDown() {
+    public void tearDown() throws Exception, EncodingException {
+        reportGen.close();
+        totalsFile.delete();
+    }
+    
+    private List<String> savedTotals() throws IOException {
+        return fileService.readFileToList(totalsFile);
+    }
+    
+    private List<String> waitForSavedTotals() throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while(savedTotals().isEmpty() && System.currentTimeMillis() < deadline){
+            Thread.sleep(5);
+        }
+        return savedTotals();
+    }
+    
+    @Test
+    public void testUpdatesBelowThresholdAreNotSaved() throws Exception, EncodingException {
+        reportGen.setFlushThreshold(10);
+        for(int i = 0; i < 9; i++){
+            reportGen.updateTotalsCents(1.0, 100);
+        }
+        Thread.sleep(200);
+        assertEquals(Collections.<String>emptyList(), savedTotals());
+    }
+    
+    @Test
+    public void testUpdateReachingThresholdIsSaved() throws Exception, EncodingException {
+        reportGen.setFlushThreshold(10);
+        for(int i = 0; i < 10; i++){
+            reportGen.updateTotalsCents(1.0, 100);
+        }
+        List<String> saved = waitForSavedTotals();
+        assertEquals("10.00", saved.get(0));
+        assertEquals("10.00", saved.get(1));
     }
 
+    @Test
+    public void testTotalsAreSavedWhenIntervalRunsOut() throws Exception, EncodingException {
+        reportGen.updateTotalsCents(2.5, 325);
+        assertEquals(Collections.<String>emptyList(), savedTotals());
+        reportGen.setFlushIntervalMillis(20);
+        List<String> saved = waitForSavedTotals();
+        assertEquals("2.50", saved.get(0));
+        assertEquals("3.25", saved.get(1));
+    }
+    
+    @Test
+    public void testCloseSavesRemainingTotals() throws Exception, EncodingException {
+        reportGen.updateTotalsCents(1.5, 200);
+        reportGen.updateTotalsCents(1.0, 150);
+        reportGen.close();
+        List<String> saved = savedTotals();
+        assertEquals("2.50", saved.get(0));
+        assertEquals("3.50", saved.get(1));
+    }
+    
+    @Test
+    public void testFlushWithoutChangesDoesNotRewriteFile() throws Exception, EncodingException {
+        reportGen.updateTotalsCents(1.0, 100);
+        reportGen.flush();
+        assertEquals("1.00", savedTotals().get(0));
+        //Anything saved again would replace this
+        fileService.writeFile(Collections.singletonList(Collections.singletonMap(RunningTotalsFormatter.TIME, "9.99")), totalsFile);
+        reportGen.flush();
+        reportGen.close();
+        assertEquals("9.99", savedTotals().get(0));
+        reportGen.updateTotalsCents(1.0, 100);
+        reportGen.flush();
+        assertEquals("2.00", savedTotals().get(0));
+    }
+    
     @Test(expected = IllegalArgumentException.class)
     public void testExceptionCaughtWithNegativeValuesForReport() throws IllegalArgumentException, IOException, EncodingException {
         try {
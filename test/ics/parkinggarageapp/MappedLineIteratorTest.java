@@ -0,0 +1,87 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class MappedLineIteratorTest {
+    private File file;
+
+    public MappedLineIteratorTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("lines", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private void write(String text) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private List<String> readAll(int windowSize) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (MappedLineIterator it = new MappedLineIterator(file, StandardCharsets.UTF_8, windowSize)) {
+            while(it.hasNext()){
+                lines.add(it.next());
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void testLinesMatchReadLineForEveryWindowSize() throws IOException {
+        write("12.50\r\n34.75\n\nA much longer line that spans windows\r\nlast");
+        List<String> expected = new TextFileService(new RunningTotalsFormatter()).readFileToList(file);
+        for(int windowSize = 1; windowSize <= 64; windowSize++){
+            assertEquals(expected, readAll(windowSize));
+        }
+        assertEquals(Arrays.asList("12.50", "34.75", "", "A much longer line that spans windows", "last"), expected);
+    }
+
+    @Test
+    public void testEmptyFileHasNoLines() throws IOException {
+        assertTrue(readAll(8).isEmpty());
+        write("\n");
+        assertEquals(Arrays.asList(""), readAll(8));
+    }
+
+    @Test
+    public void testStreamStopsEarly() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < 100000; i++){
+            sb.append(i).append('\n');
+        }
+        write(sb.toString());
+        try (Stream<String> lines = new TextFileService(new RunningTotalsFormatter()).lines(file)) {
+            assertEquals(Arrays.asList("0", "1"), lines.limit(2).collect(Collectors.<String>toList()));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ics.parkinggarageapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class MoneyTest {
+    
+    public MoneyTest() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testParseCentsReadsSavedTotals() {
+        assertEquals(7339, Money.parseCents("73.39"));
+        assertEquals(6500, Money.parseCents("65.0"));
+        assertEquals(1200, Money.parseCents("12"));
+        assertEquals(101, Money.parseCents("1.005"));
+    }
+    
+    @Test(expected = NumberFormatException.class)
+    public void testParseCentsRejectsText() {
+        Money.parseCents("abc");
+    }
+    
+    @Test
+    public void testFormatMatchesUsCurrency() {
+        assertEquals("$0.05", Money.format(5));
+        assertEquals("$10.00", Money.format(1000));
+        assertEquals("$1,234,567.89", Money.format(123456789));
+        assertEquals("1234.50", Money.toPlainString(123450));
+    }
+    
+    @Test
+    public void testCentsTotalsDoNotDrift() {
+        long cents = 0;
+        double dollars = 0.0;
+        for(int i = 0; i < 1000; i++){
+            cents += Money.toCents(0.10);
+            dollars += 0.10;
+        }
+        assertEquals(10000, cents);
+        assertTrue(dollars != 100.0);
+    }
+    
+    @Test
+    public void testFeeCalculatorsAgreeInCents() {
+        ParkingFeeCalculator[] calcs = {
+            new MinMaxFeeCalc(2.0, 0.50, 10.00),
+            new MinNoMaxFeeCalc(1.50, 0.75),
+            new SpecialEventParkingFeeCalc(1.80, 0.15)
+        };
+        for(ParkingFeeCalculator calc : calcs){
+            for(int minutes = 0; minutes < 48 * 60; minutes++){
+                double hrs = minutes / 60 + (minutes % 60) / 60.0;
+                assertEquals(calc + " at " + minutes + " minutes",
+                        Money.toCents(calc.calcParkingFee(hrs)), calc.calcParkingFeeCents(hrs));
+            }
+        }
+    }
+}
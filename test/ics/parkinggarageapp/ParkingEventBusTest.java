@@ -0,0 +1,121 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class ParkingEventBusTest {
+    private ParkingEventBus bus;
+    private Ticket ticket;
+    
+    public ParkingEventBusTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        bus = new ParkingEventBus(16);
+        ticket = new Ticket(new Vehicle("ABC123"), 60);
+    }
+    
+    @After
+    public void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    public void testSubscribersOnlyReceiveTheirTypeInOrder() throws Exception {
+        final List<Long> payments = Collections.synchronizedList(new ArrayList<Long>());
+        final List<ParkingEvent> all = Collections.synchronizedList(new ArrayList<ParkingEvent>());
+        bus.subscribe(ParkingEvent.PaymentRecorded.class, new ParkingEventListener<ParkingEvent.PaymentRecorded>() {
+            @Override
+            public void onEvent(ParkingEvent.PaymentRecorded event) {
+                payments.add(event.getCents());
+            }
+        }, "payments");
+        bus.subscribe(ParkingEvent.class, new ParkingEventListener<ParkingEvent>() {
+            @Override
+            public void onEvent(ParkingEvent event) {
+                all.add(event);
+            }
+        }, "all");
+        for(long cents = 0; cents < 100; cents++){
+            bus.publish(new ParkingEvent.VehicleExited("EX1", 0, ticket.getVehicle(), ticket));
+            bus.publish(new ParkingEvent.PaymentRecorded("EX1", 0, ticket, 1.0, cents));
+        }
+        assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(100, payments.size());
+        for(int i = 0; i < 100; i++){
+            assertEquals(i, payments.get(i).longValue());
+        }
+        assertEquals(200, all.size());
+    }
+    
+    @Test
+    public void testSlowSubscriberDoesNotHoldUpPublisher() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        ParkingEventBus.Subscription<ParkingEvent.VehicleEntered> slow = bus.subscribe(
+                ParkingEvent.VehicleEntered.class, new ParkingEventListener<ParkingEvent.VehicleEntered>() {
+            @Override
+            public void onEvent(ParkingEvent.VehicleEntered event) throws InterruptedException {
+                release.await();
+            }
+        }, "slow");
+        long start = System.nanoTime();
+        for(int i = 0; i < 10; i++){
+            bus.publish(new ParkingEvent.VehicleEntered("EN1", 0, ticket.getVehicle()));
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(10, slow.getPendingCount());
+        release.countDown();
+        assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(10, slow.getDeliveredCount());
+    }
+    
+    @Test
+    public void testFailingSubscriberKeepsReceiving() throws Exception {
+        ParkingEventBus.Subscription<ParkingEvent.TicketIssued> failing = bus.subscribe(
+                ParkingEvent.TicketIssued.class, new ParkingEventListener<ParkingEvent.TicketIssued>() {
+            @Override
+            public void onEvent(ParkingEvent.TicketIssued event) {
+                throw new IllegalStateException("Test failure");
+            }
+        }, "failing");
+        bus.publish(new ParkingEvent.TicketIssued("EN1", 0, ticket, "ABC123"));
+        bus.publish(new ParkingEvent.TicketIssued("EN1", 0, ticket, "ABC123"));
+        assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(2, failing.getFailedCount());
+    }
+    
+    @Test
+    public void testReportGeneratorTotalsPaymentsFromBus() throws Exception, EncodingException {
+        File totals = File.createTempFile("totals", ".txt");
+        try {
+            ManagementReportGenerator reportGen = new ManagementReportGenerator(new TicketDatabase(), totals,
+                    new TextFileService(new RunningTotalsFormatter()));
+            reportGen.subscribeTo(bus);
+            bus.publish(new ParkingEvent.PaymentRecorded("EX1", 0, ticket, 2.5, 325));
+            bus.publish(new ParkingEvent.PaymentRecorded("EX1", 0, ticket, 1.0, 200));
+            assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(525, reportGen.getTotalPaymentsCollectedCents());
+            reportGen.close();
+        } finally {
+            totals.delete();
+        }
+    }
+}
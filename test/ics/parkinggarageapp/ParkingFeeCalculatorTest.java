@@ -0,0 +1,74 @@
+package ics.parkinggarageapp;
+
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class ParkingFeeCalculatorTest {
+    private ParkingFeeCalculator[] calcs;
+    private double[] hrsParked;
+    
+    public ParkingFeeCalculatorTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        ParkingFeeCalculator minMax = new MinMaxFeeCalc(2.0, 0.50, 10.00);
+        calcs = new ParkingFeeCalculator[] {
+            minMax,
+            new MinMaxFeeCalc(1.25, 0.35, 7.80),
+            new MinNoMaxFeeCalc(1.50, 0.75),
+            new SpecialEventParkingFeeCalc(1.80, 0.15),
+            new PrecomputedFeeCalc(minMax),
+            //Only overrides the single fee, so it uses the default batch loop
+            new ParkingFeeCalculator() {
+                @Override
+                public double calcParkingFee(double hrsParked) {
+                    return hrsParked * 2;
+                }
+            }
+        };
+        Random random = new Random(42);
+        hrsParked = new double[20000];
+        for(int i = 0; i < hrsParked.length; i++){
+            hrsParked[i] = i % 2 == 0 ? random.nextDouble() * 40 : PrecomputedFeeCalc.hoursAt(random.nextInt(48 * 60));
+        }
+        double[] edges = {0.0, -1.0, -0.0, 2.0, 3.0, 4.0, 24.0, Double.NaN, Double.POSITIVE_INFINITY, Double.MAX_VALUE};
+        System.arraycopy(edges, 0, hrsParked, 0, edges.length);
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testBatchMatchesSingleFees() {
+        for(ParkingFeeCalculator calc : calcs){
+            double[] fees = new double[hrsParked.length];
+            long[] feesCents = new long[hrsParked.length];
+            calc.calcParkingFees(hrsParked, fees);
+            calc.calcParkingFeesCents(hrsParked, feesCents);
+            for(int i = 0; i < hrsParked.length; i++){
+                assertEquals(calc + " at " + hrsParked[i], Double.doubleToLongBits(calc.calcParkingFee(hrsParked[i])),
+                        Double.doubleToLongBits(fees[i]));
+                assertEquals(calc + " at " + hrsParked[i], calc.calcParkingFeeCents(hrsParked[i]), feesCents[i]);
+            }
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchRejectsShortOutput() {
+        calcs[0].calcParkingFees(hrsParked, new double[hrsParked.length - 1]);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchRejectsNullOutput() {
+        calcs[2].calcParkingFeesCents(hrsParked, null);
+    }
+}
@@ -5,6 +5,9 @@
  */
 package ics.parkinggarageapp;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -43,4 +46,93 @@ public class ParkingGarageTest {
         assertTrue(g.getFullParkingSpaces() == 0);
         assertTrue(g.getEmptyParkingSpaces() == 10);
     }
+    
+    @Test
+    public void testTryAdmitStopsAtTotalSpaces() {
+        ParkingGarage g = new ParkingGarage("Garage", "123 Main Streeet", 2);
+        assertTrue(g.tryAdmit());
+        assertTrue(g.tryAdmit());
+        assertFalse(g.tryAdmit());
+        assertTrue(g.getEmptyParkingSpaces() == 0);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testFillParkingSpaceWhenFullThrowsException() {
+        ParkingGarage g = new ParkingGarage("Garage", "123 Main Streeet", 1);
+        g.fillParkingSpace();
+        g.fillParkingSpace();
+    }
+    
+    @Test
+    public void testWaitingVehicleIsAdmittedWhenSpaceIsLeft() throws Exception {
+        final ParkingGarage g = new ParkingGarage("Garage", "123 Main Streeet", 1);
+        g.fillParkingSpace();
+        Thread leaver = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ex) {
+                }
+                g.leaveParkingSpace();
+            }
+        });
+        leaver.start();
+        assertTrue(g.tryAdmit(10, TimeUnit.SECONDS));
+        leaver.join();
+        assertTrue(g.getFullParkingSpaces() == 1);
+    }
+    
+    @Test
+    public void testManyLanesNeverOverfillGarage() throws Exception {
+        final int lanes = 48;
+        final int attemptsPerLane = 20000;
+        final ParkingGarage g = new ParkingGarage("Garage", "123 Main Streeet", 100);
+        final AtomicInteger parked = new AtomicInteger();
+        final AtomicInteger overfilled = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[lanes];
+        for(int i = 0; i < lanes; i++){
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    int mine = 0;
+                    for(int j = 0; j < attemptsPerLane; j++){
+                        //Every other attempt is an exit for a vehicle this lane parked.
+                        //Count it gone before leaving so parked never runs ahead of the garage
+                        if(mine > 0 && j % 2 == 1){
+                            parked.decrementAndGet();
+                            g.leaveParkingSpace();
+                            mine--;
+                        } else if(g.tryAdmit()){
+                            if(parked.incrementAndGet() > 100){
+                                overfilled.incrementAndGet();
+                            }
+                            mine++;
+                        }
+                        if(g.getFullParkingSpaces() > 100 || g.getEmptyParkingSpaces() < 0){
+                            overfilled.incrementAndGet();
+                        }
+                    }
+                    while(mine-- > 0){
+                        parked.decrementAndGet();
+                        g.leaveParkingSpace();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for(Thread t : threads){
+            t.join();
+        }
+        assertEquals(0, overfilled.get());
+        assertEquals(0, g.getFullParkingSpaces());
+        assertEquals(100, g.getEmptyParkingSpaces());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class ParkingSpaceMapTest {
+    
+    public ParkingSpaceMapTest() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testAllocateNearestTakesSpacesOutwardFromGate() {
+        ParkingSpaceMap map = ParkingSpaceMap.withLevels(1, 200);
+        assertEquals(100, map.allocateNearest(0, 100));
+        assertEquals(99, map.allocateNearest(0, 100));
+        assertEquals(101, map.allocateNearest(0, 100));
+        assertEquals(98, map.allocateNearest(0, 100));
+        assertEquals(196, map.getFreeCount());
+    }
+    
+    @Test
+    public void testAllocateNearestUsesNearestLevelWhenGateLevelIsFull() {
+        ParkingSpaceMap map = new ParkingSpaceMap(2, 3, 4);
+        assertTrue(map.allocate(2));
+        assertTrue(map.allocate(3));
+        assertTrue(map.allocate(4));
+        int space = map.allocateNearest(1, 0);
+        assertEquals(0, map.levelOf(space));
+        assertEquals("Level 1, Space 1", map.describe(space));
+    }
+    
+    @Test
+    public void testReleasedSpaceIsReused() {
+        ParkingSpaceMap map = ParkingSpaceMap.withLevels(2, 70);
+        for(int i = 0; i < 140; i++){
+            assertTrue(map.allocateNearest(0, 0) != ParkingSpaceMap.NO_SPACE);
+        }
+        assertEquals(ParkingSpaceMap.NO_SPACE, map.allocateNearest(1, 5));
+        assertTrue(map.release(75));
+        assertFalse(map.release(75));
+        assertEquals(75, map.allocateNearest(0, 0));
+    }
+    
+    @Test
+    public void testGarageEntryPrintsAssignedSpace() {
+        ParkingGarage g = new ParkingGarage("Garage", "123 Main Streeet", 20);
+        g.setSpaceMap(ParkingSpaceMap.withLevels(2, 10));
+        assertEquals(20, g.getSpaceMap().getSpaceCount());
+        Ticket ticket = new Ticket(new Vehicle("ABC123"), 60);
+        ticket.setParkingSpace(13, g.getSpaceMap().describe(13));
+        assertEquals("Level 2, Space 4", ticket.getParkingSpaceName());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetSpaceMapOfWrongSizeThrowsException() {
+        ParkingGarage g = new ParkingGarage("Garage", "123 Main Streeet", 20);
+        g.setSpaceMap(ParkingSpaceMap.withLevels(2, 11));
+    }
+    
+    @Test
+    public void testLargeGarageMatchesFullScan() {
+        int levels = 3;
+        int perLevel = 20000;
+        ParkingSpaceMap map = ParkingSpaceMap.withLevels(levels, perLevel);
+        boolean[] taken = new boolean[levels * perLevel];
+        Random random = new Random(15);
+        for(int i = 0; i < 200000; i++){
+            if(random.nextInt(3) == 0){
+                int space = random.nextInt(taken.length);
+                assertEquals(taken[space], map.release(space));
+                taken[space] = false;
+            } else {
+                int gateLevel = random.nextInt(levels);
+                int gateSpace = random.nextInt(perLevel);
+                int expected = nearestByScan(taken, levels, perLevel, gateLevel, gateSpace);
+                assertEquals(expected, map.allocateNearest(gateLevel, gateSpace));
+                if(expected != ParkingSpaceMap.NO_SPACE){
+                    taken[expected] = true;
+                }
+            }
+        }
+        int free = 0;
+        for(boolean t : taken){
+            free += t ? 0 : 1;
+        }
+        assertEquals(free, map.getFreeCount());
+    }
+    
+    private static int nearestByScan(boolean[] taken, int levels, int perLevel, int gateLevel, int gateSpace) {
+        for(int distance = 0; distance < levels; distance++){
+            for(int level : new int[] {gateLevel - distance, gateLevel + distance}){
+                if(level < 0 || level >= levels){
+                    continue;
+                }
+                int start = level * perLevel;
+                for(int d = 0; d < perLevel; d++){
+                    int below = gateSpace - d;
+                    int above = gateSpace + d;
+                    if(below >= 0 && !taken[start + below]){
+                        return start + below;
+                    }
+                    if(above < perLevel && !taken[start + above]){
+                        return start + above;
+                    }
+                }
+            }
+        }
+        return ParkingSpaceMap.NO_SPACE;
+    }
+}
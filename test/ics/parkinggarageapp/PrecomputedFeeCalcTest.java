@@ -0,0 +1,67 @@
+package ics.parkinggarageapp;
+
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class PrecomputedFeeCalcTest {
+    private static final int HORIZON = 48 * 60;
+    private ParkingFeeCalculator[] calcs;
+    
+    public PrecomputedFeeCalcTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        calcs = new ParkingFeeCalculator[] {
+            new MinMaxFeeCalc(2.0, 0.50, 10.00),
+            new MinMaxFeeCalc(1.25, 0.35, 7.80),
+            new MinNoMaxFeeCalc(1.50, 0.75),
+            new SpecialEventParkingFeeCalc(1.80, 0.15)
+        };
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testEveryMinuteMatchesWrappedCalculator() {
+        for(ParkingFeeCalculator calc : calcs){
+            PrecomputedFeeCalc table = new PrecomputedFeeCalc(calc, HORIZON);
+            //Run past the horizon to cover the fall back to the formula
+            for(int minute = 0; minute <= HORIZON + 600; minute++){
+                double[] forms = {PrecomputedFeeCalc.hoursAt(minute), minute / 60.0};
+                for(double hrs : forms){
+                    assertEquals(calc + " at " + hrs, Double.doubleToLongBits(calc.calcParkingFee(hrs)),
+                            Double.doubleToLongBits(table.calcParkingFee(hrs)));
+                    assertEquals(calc + " at " + hrs, calc.calcParkingFeeCents(hrs), table.calcParkingFeeCents(hrs));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testTimesBetweenMinutesMatchWrappedCalculator() {
+        Random random = new Random(42);
+        for(ParkingFeeCalculator calc : calcs){
+            PrecomputedFeeCalc table = new PrecomputedFeeCalc(calc, HORIZON);
+            for(int i = 0; i < 100000; i++){
+                double hrs = random.nextDouble() * 60;
+                assertEquals(Double.doubleToLongBits(calc.calcParkingFee(hrs)),
+                        Double.doubleToLongBits(table.calcParkingFee(hrs)));
+            }
+            double[] edges = {-1.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.MAX_VALUE};
+            for(double hrs : edges){
+                assertEquals(Double.doubleToLongBits(calc.calcParkingFee(hrs)),
+                        Double.doubleToLongBits(table.calcParkingFee(hrs)));
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ics.parkinggarageapp;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.text.DecimalFormat;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Benchmark of the bytes allocated and time taken to render a receipt. Compares
+ * building the text with <code>String +=</code> and new formatters, as
+ * Receipt.formatForPrinting() used to, with <code>PrintRenderer</code> both
+ * into its reused buffer and as a finished <code>String</code>. Allocation is
+ * read from the JVM's per-thread allocation counter.
+ * <p>
+ * Run with: <code>java ics.parkinggarageapp.PrintRenderBenchmark [receipts]</code>
+ * 
+ * @author Isaac
+ */
+public class PrintRenderBenchmark {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static volatile int sink;
+    
+    public static void main(String[] args) throws Exception {
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        ParkingGarage garage = new ParkingGarage("Benchmark Garage", "123 Main St", 10);
+        final Receipt receipt = new Receipt(garage, new Ticket(new Vehicle("BENCH1"), 155),
+                new MinMaxFeeCalc(2.00, 0.50, 10.00));
+        final PrintRenderer renderer = PrintRenderer.forCurrentThread();
+        
+        for(int round = 0; round < 3; round++){
+            measure("concatenation", count, new Runnable() {
+                @Override
+                public void run() {
+                    sink += concatenate(receipt).length();
+                }
+            });
+            measure("renderer buffer", count, new Runnable() {
+                @Override
+                public void run() {
+                    sink += renderer.render(receipt).length();
+                }
+            });
+            measure("renderer String", count, new Runnable() {
+                @Override
+                public void run() {
+                    sink += receipt.formatForPrinting().length();
+                }
+            });
+        }
+    }
+    
+    private static void measure(String name, int count, Runnable render) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        for(int i = 0; i < count; i++){
+            render.run();
+        }
+        long nanos = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+        System.out.printf("%-16s %8.1f bytes/receipt %8.0f ns/receipt%n", name,
+                (double)bytes / count, (double)nanos / count);
+    }
+    
+    private static String concatenate(Receipt receipt) {
+        DecimalFormat decFormat = new DecimalFormat("#.00");
+        String s = "";
+        s += "\n------------------------------------------";
+        s += "\nReceipt #: " + Receipt.getReceiptNum() + "    "
+                + receipt.getExitTime().format(DateTimeFormatter.ofPattern("MM-dd-yyyy hh:mm"));
+        s += "\n";
+        s += "\n" + receipt.getParkingGarage().getGarageName();
+        s += "\n" + receipt.getParkingGarage().getGarageAddress();
+        s += "\n";
+        s += "\nVehicle ID: " + receipt.getTicket().getVehicle().getVehicleID();
+        s += "\nHours Parked: " + decFormat.format(receipt.getTicket().getTimeParked());
+        s += "\n";
+        s += "\nTOTAL DUE: " + Money.format(receipt.calcTotalDueCents());
+        s += "\n------------------------------------------";
+        return s;
+    }
+    
+    private static long allocatedBytes() {
+        if(THREADS instanceof com.sun.management.ThreadMXBean){
+            return ((com.sun.management.ThreadMXBean)THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
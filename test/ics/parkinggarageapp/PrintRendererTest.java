@@ -0,0 +1,97 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.text.DecimalFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class PrintRendererTest {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM-dd-yyyy hh:mm");
+    private ParkingGarage garage;
+    private ParkingFeeCalculator feeCalc;
+    
+    public PrintRendererTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        garage = new ParkingGarage("Garage", "123 Main Streeet", 10);
+        feeCalc = new MinMaxFeeCalc(2.00, 0.50, 10.00);
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testDateTimeMatchesFormatter() {
+        LocalDateTime time = LocalDateTime.of(2026, 1, 1, 0, 0);
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < 24 * 60 * 3; i += 7){
+            LocalDateTime t = time.plusMinutes(i).plusDays(i / 50);
+            sb.setLength(0);
+            assertEquals(t.format(DATE_FORMAT), PrintRenderer.appendDateTime(sb, t).toString());
+        }
+    }
+    
+    @Test
+    public void testHoursMatchDecimalFormatForEveryMinute() {
+        DecimalFormat decFormat = new DecimalFormat("#.00");
+        StringBuilder sb = new StringBuilder();
+        for(int minutes = 0; minutes <= 48 * 60; minutes++){
+            double hours = minutes / 60 + (minutes % 60) / 60.0;
+            sb.setLength(0);
+            assertEquals(decFormat.format(hours), PrintRenderer.appendHours(sb, hours).toString());
+        }
+        sb.setLength(0);
+        assertEquals(decFormat.format(0.125), PrintRenderer.appendHours(sb, 0.125).toString());
+    }
+    
+    @Test
+    public void testTicketMatchesConcatenatedText() {
+        Ticket ticket = new Ticket(new Vehicle("ABC123"), 90);
+        ticket.setEntryTime(LocalDateTime.of(2026, 10, 17, 13, 5));
+        ticket.setParkingSpace(12, "Level 1, Space 13");
+        String expected = "\n******************************************"
+                + "\nTicket #: " + Ticket.getTicketNum()
+                + "\nVehicle ID: " + ticket.getVehicle().getVehicleID()
+                + "\n"
+                + "\nEntry Time: 10-17-2026 01:05"
+                + "\nParking Space: Level 1, Space 13"
+                + "\n"
+                + "\nPLACE THIS TICKET ON DASHBOARD"
+                + "\n******************************************";
+        assertEquals(expected, ticket.formatForPrinting());
+    }
+    
+    @Test
+    public void testReceiptMatchesConcatenatedText() {
+        Ticket ticket = new Ticket(new Vehicle("ABC123"), 150);
+        Receipt receipt = new Receipt(garage, ticket, feeCalc);
+        receipt.setExitTime(LocalDateTime.of(2026, 10, 17, 0, 30));
+        String expected = "\n------------------------------------------"
+                + "\nReceipt #: " + Receipt.getReceiptNum() + "    10-17-2026 12:30"
+                + "\n"
+                + "\nGarage"
+                + "\n123 Main Streeet"
+                + "\n"
+                + "\nVehicle ID: " + ticket.getVehicle().getVehicleID()
+                + "\nHours Parked: 2.50"
+                + "\n"
+                + "\nTOTAL DUE: " + Money.format(receipt.calcTotalDueCents())
+                + "\n------------------------------------------";
+        assertEquals(expected, receipt.formatForPrinting());
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class PrintSpoolerTest {
+    private CountDownLatch release;
+    private Writer stuckWriter;
+    
+    public PrintSpoolerTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        //A printer that holds the first batch until the test lets it go
+        release = new CountDownLatch(1);
+        stuckWriter = new StringWriter() {
+            @Override
+            public void flush() {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+    
+    @After
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    public void testDocumentsAreWrittenInOrder() throws Exception {
+        StringWriter out = new StringWriter();
+        PrintSpooler spooler = new PrintSpooler(out, 16, PrintSpooler.OverflowPolicy.BLOCK, 4);
+        for(int i = 0; i < 100; i++){
+            spooler.spool("Doc " + i);
+        }
+        spooler.close();
+        String[] lines = out.toString().split(System.getProperty("line.separator"));
+        assertEquals(100, lines.length);
+        assertEquals("Doc 0", lines[0]);
+        assertEquals("Doc 99", lines[99]);
+        assertEquals(100, spooler.getPrintedCount());
+        assertTrue(spooler.getBatchCount() <= 100);
+    }
+    
+    @Test
+    public void testDropOldestKeepsNewestDocuments() throws Exception {
+        PrintSpooler spooler = new PrintSpooler(stuckWriter, 2, PrintSpooler.OverflowPolicy.DROP_OLDEST, 1);
+        spooler.spool("First");
+        waitForQueueDepth(spooler, 0);
+        for(int i = 0; i < 5; i++){
+            spooler.spool("Doc " + i);
+        }
+        assertEquals(2, spooler.getQueueDepth());
+        assertEquals(3, spooler.getDroppedCount());
+        release.countDown();
+        spooler.close();
+        assertTrue(stuckWriter.toString().endsWith("Doc 4" + System.getProperty("line.separator")));
+    }
+    
+    @Test
+    public void testFailFastRefusesWhenFull() throws Exception {
+        PrintSpooler spooler = new PrintSpooler(stuckWriter, 1, PrintSpooler.OverflowPolicy.FAIL_FAST, 1);
+        spooler.spool("First");
+        waitForQueueDepth(spooler, 0);
+        spooler.spool("Second");
+        try {
+            spooler.spool("Third");
+            fail("The full spooler took a document");
+        } catch (IllegalStateException ex) {
+            assertEquals(1, spooler.getRefusedCount());
+        }
+        release.countDown();
+        assertTrue(spooler.awaitEmpty(5, TimeUnit.SECONDS));
+        assertEquals(2, spooler.getPrintedCount());
+        spooler.close();
+    }
+    
+    @Test
+    public void testSpoolingPrinterPrintsTicketText() throws IOException {
+        StringWriter out = new StringWriter();
+        PrintSpooler spooler = new PrintSpooler(out, 4, PrintSpooler.OverflowPolicy.BLOCK);
+        Ticket ticket = new Ticket(new Vehicle("ABC123"), 60);
+        new SpoolingPrinter(ticket, spooler).performPrint();
+        spooler.close();
+        assertTrue(out.toString().startsWith(ticket.formatForPrinting()));
+    }
+    
+    @Test(timeout = 10000)
+    public void testFailedDocumentsAreNotCountedAsPrinted() throws Exception {
+        Writer failingWriter = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                if(new String(cbuf, off, len).startsWith("Bad")){
+                    throw new IOException("Paper jam");
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        PrintSpooler spooler = new PrintSpooler(failingWriter, 4, PrintSpooler.OverflowPolicy.BLOCK, 1);
+        spooler.spool("Good 1");
+        spooler.spool("Bad 2");
+        spooler.spool("Good 3");
+        spooler.close();
+        assertEquals(2, spooler.getPrintedCount());
+        assertEquals(1, spooler.getFailedCount());
+        assertTrue(spooler.awaitEmpty(0, TimeUnit.SECONDS));
+    }
+    
+    @Test(timeout = 10000)
+    public void testCloseWhileSpoolingKeepsAcceptedDocuments() throws Exception {
+        for(int round = 0; round < 200; round++){
+            final PrintSpooler spooler = new PrintSpooler(new StringWriter(), 1, PrintSpooler.OverflowPolicy.BLOCK, 1);
+            final AtomicInteger accepted = new AtomicInteger();
+            Thread[] stations = new Thread[3];
+            for(int i = 0; i < stations.length; i++){
+                stations[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            for(int d = 0; d < 50; d++){
+                                spooler.spool("Doc " + d);
+                                accepted.incrementAndGet();
+                            }
+                        } catch (IllegalStateException ex) {
+                            //Closed while spooling
+                        }
+                    }
+                });
+                stations[i].start();
+            }
+            spooler.close();
+            for(Thread station : stations){
+                station.join();
+            }
+            assertEquals(accepted.get(), spooler.getPrintedCount());
+        }
+    }
+    
+    @Test(timeout = 10000)
+    public void testCloseRefusesStationWaitingForRoom() throws Exception {
+        final PrintSpooler spooler = new PrintSpooler(stuckWriter, 1, PrintSpooler.OverflowPolicy.BLOCK, 1);
+        spooler.spool("First");
+        waitForQueueDepth(spooler, 0);
+        spooler.spool("Second");
+        final AtomicInteger refused = new AtomicInteger();
+        Thread station = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    spooler.spool("Third");
+                } catch (IllegalStateException ex) {
+                    refused.incrementAndGet();
+                }
+            }
+        });
+        station.start();
+        while(station.getState() != Thread.State.WAITING){
+            Thread.sleep(1);
+        }
+        Thread closer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                spooler.close();
+            }
+        });
+        closer.start();
+        station.join();
+        assertEquals(1, refused.get());
+        release.countDown();
+        closer.join();
+        assertEquals(2, spooler.getPrintedCount());
+    }
+    
+    private static void waitForQueueDepth(PrintSpooler spooler, int depth) throws InterruptedException {
+        while(spooler.getQueueDepth() > depth){
+            Thread.sleep(1);
+        }
+    }
+}
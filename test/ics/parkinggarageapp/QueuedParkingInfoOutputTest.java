@@ -0,0 +1,134 @@
+package ics.parkinggarageapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class QueuedParkingInfoOutputTest {
+    private List<String> shown;
+    private CountDownLatch release;
+    private ParkingInfoOutput slowScreen;
+    
+    public QueuedParkingInfoOutputTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        shown = Collections.synchronizedList(new ArrayList<String>());
+        release = new CountDownLatch(1);
+        //Acts like a modal dialog that waits for someone to click OK
+        slowScreen = new ParkingInfoOutput() {
+            @Override
+            public void outputParkingInfo(String info) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                shown.add(info);
+            }
+        };
+    }
+    
+    @After
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    public void testOutputDoesNotWaitForScreen() throws Exception {
+        QueuedParkingInfoOutput output = new QueuedParkingInfoOutput(slowScreen);
+        long start = System.nanoTime();
+        output.outputParkingInfo("Welcome");
+        output.outputParkingInfo("Please proceed");
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertTrue(shown.isEmpty());
+        
+        release.countDown();
+        output.close();
+        assertEquals(Arrays.asList("Welcome", "Please proceed"), shown);
+    }
+    
+    @Test
+    public void testFullQueueDropsOldestMessages() throws Exception {
+        QueuedParkingInfoOutput output = new QueuedParkingInfoOutput(slowScreen, 2);
+        output.outputParkingInfo("first");
+        //Wait until the renderer is stuck showing the first message
+        while(output.getQueuedCount() > 0){
+            Thread.sleep(1);
+        }
+        for(int i = 0; i < 5; i++){
+            output.outputParkingInfo("message " + i);
+        }
+        assertEquals(3, output.getDroppedCount());
+        
+        release.countDown();
+        output.close();
+        assertEquals(Arrays.asList("first", "message 3", "message 4"), shown);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testOutputAfterCloseIsRejected() {
+        QueuedParkingInfoOutput output = new QueuedParkingInfoOutput(new NullParkingInfoOutput());
+        output.close();
+        output.outputParkingInfo("too late");
+    }
+    
+    @Test
+    public void testAwaitEmptyWaitsForMessageBeingShown() throws Exception {
+        QueuedParkingInfoOutput output = new QueuedParkingInfoOutput(slowScreen);
+        output.outputParkingInfo("Welcome");
+        while(output.getQueuedCount() > 0){
+            Thread.sleep(1);
+        }
+        assertFalse(output.awaitEmpty(50, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(output.awaitEmpty(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("Welcome"), shown);
+        output.close();
+    }
+    
+    @Test(timeout = 10000)
+    public void testCloseDuringOutputKeepsAcceptedMessages() throws Exception {
+        release.countDown();
+        for(int round = 0; round < 200; round++){
+            shown.clear();
+            final QueuedParkingInfoOutput output = new QueuedParkingInfoOutput(slowScreen, 1);
+            final AtomicInteger accepted = new AtomicInteger();
+            Thread[] producers = new Thread[3];
+            for(int i = 0; i < producers.length; i++){
+                producers[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            for(int m = 0; m < 50; m++){
+                                output.outputParkingInfo("message " + m);
+                                accepted.incrementAndGet();
+                            }
+                        } catch (IllegalStateException ex) {
+                            //Closed while producing
+                        }
+                    }
+                });
+                producers[i].start();
+            }
+            output.close();
+            for(Thread producer : producers){
+                producer.join();
+            }
+            assertEquals(accepted.get(), shown.size() + output.getDroppedCount());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.io.File;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class ReportRefreshSchedulerTest {
+    private File totals;
+    private ManagementReportGenerator reportGen;
+    private JTextArea totalsOut;
+    private JTextArea ticketsOut;
+
+    public ReportRefreshSchedulerTest() {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        totals = File.createTempFile("totals", ".txt");
+        reportGen = new ManagementReportGenerator(new TicketDatabase(), totals,
+                new TextFileService(new RunningTotalsFormatter()));
+        totalsOut = new JTextArea();
+        ticketsOut = new JTextArea();
+    }
+
+    @After
+    public void tearDown() throws Exception, EncodingException {
+        reportGen.close();
+        totals.delete();
+    }
+
+    private static void waitForEventDispatchThread() throws Exception {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+    @Test
+    public void testManyChangesCoalesceIntoFewRefreshes() throws Exception, EncodingException {
+        ReportRefreshScheduler scheduler = new ReportRefreshScheduler(reportGen, totalsOut, ticketsOut, 250);
+        for(int i = 0; i < 1000; i++){
+            reportGen.updateTotalsCents(1.0, 200);
+            scheduler.markDirty();
+        }
+        scheduler.close();
+        waitForEventDispatchThread();
+        assertEquals(1000, scheduler.getMarkCount());
+        assertTrue(scheduler.getRefreshCount() >= 1);
+        assertTrue(scheduler.getRefreshCount() < 100);
+        assertEquals(reportGen.generateRunningTotalsReport(), totalsOut.getText());
+        assertEquals(reportGen.outputIssuedTickets(), ticketsOut.getText());
+    }
+
+    @Test
+    public void testRefreshHappensWithoutClosing() throws Exception, EncodingException {
+        ReportRefreshScheduler scheduler = new ReportRefreshScheduler(reportGen, totalsOut, null, 10);
+        reportGen.updateTotalsCents(2.0, 325);
+        scheduler.markTotalsDirty();
+        long deadline = System.currentTimeMillis() + 5000;
+        while(scheduler.getRefreshCount() == 0 && System.currentTimeMillis() < deadline){
+            Thread.sleep(5);
+        }
+        waitForEventDispatchThread();
+        assertEquals(reportGen.generateRunningTotalsReport(), totalsOut.getText());
+        scheduler.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntervalMustBePositive() {
+        new ReportRefreshScheduler(reportGen, totalsOut, ticketsOut, 0);
+    }
+}
@@ -0,0 +1,82 @@
+package ics.parkinggarageapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class RunningTotalsAccumulatorTest {
+    
+    public RunningTotalsAccumulatorTest() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testConcurrentExitsAreNotLost() throws InterruptedException {
+        final RunningTotalsAccumulator totals = new RunningTotalsAccumulator(4);
+        List<Thread> threads = new ArrayList<>();
+        for(int i = 0; i < 8; i++){
+            Thread t = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for(int j = 0; j < 10000; j++){
+                        totals.add(90, 250);
+                    }
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+        for(Thread t : threads){
+            t.join();
+        }
+        RunningTotalsAccumulator.Snapshot snapshot = totals.snapshot();
+        assertEquals(80000, snapshot.getCount());
+        assertEquals(80000L * 90, snapshot.getMinutes());
+        assertEquals(80000L * 250, snapshot.getCents());
+    }
+    
+    @Test
+    public void testSnapshotAlwaysHasWholeExits() throws InterruptedException {
+        final RunningTotalsAccumulator totals = new RunningTotalsAccumulator(4);
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for(int j = 0; j < 100000; j++){
+                    totals.add(1, 3);
+                }
+            }
+        });
+        writer.start();
+        while(writer.isAlive()){
+            RunningTotalsAccumulator.Snapshot snapshot = totals.snapshot();
+            assertEquals(snapshot.getMinutes() * 3, snapshot.getCents());
+            assertEquals(snapshot.getMinutes(), snapshot.getCount());
+        }
+        writer.join();
+    }
+    
+    @Test
+    public void testSetTotalsReplacesTotalsButKeepsCount() {
+        RunningTotalsAccumulator totals = new RunningTotalsAccumulator(2);
+        totals.add(60, 500);
+        totals.setTotals(120, 1000);
+        RunningTotalsAccumulator.Snapshot snapshot = totals.snapshot();
+        assertEquals(120, snapshot.getMinutes());
+        assertEquals(1000, snapshot.getCents());
+        assertEquals(1, snapshot.getCount());
+    }
+}
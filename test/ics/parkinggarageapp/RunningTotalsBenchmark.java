@@ -0,0 +1,113 @@
+package ics.parkinggarageapp;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Benchmark of 16 threads recording exits at once. Compares a single lock
+ * around two totals, which is what sharing a
+ * <code>ManagementReportGenerator</code> used to amount to, with
+ * <code>RunningTotalsAccumulator</code>. A reader takes snapshots the whole
+ * time, as the background save and the reports do.
+ * <p>
+ * Run with: <code>java ics.parkinggarageapp.RunningTotalsBenchmark [exitsPerThread]</code>
+ * 
+ * @author Isaac
+ */
+public class RunningTotalsBenchmark {
+    private static final int THREADS = 16;
+    
+    public static void main(String[] args) throws Exception {
+        final int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        
+        for(int round = 0; round < 3; round++){
+            final LockedTotals locked = new LockedTotals();
+            double lockedRate = run(perThread, new Exit() {
+                @Override
+                public void record(long minutes, long cents) {
+                    locked.add(minutes, cents);
+                }
+
+                @Override
+                public long read() {
+                    return locked.snapshotCents();
+                }
+            });
+            
+            final RunningTotalsAccumulator striped = new RunningTotalsAccumulator();
+            double stripedRate = run(perThread, new Exit() {
+                @Override
+                public void record(long minutes, long cents) {
+                    striped.add(minutes, cents);
+                }
+
+                @Override
+                public long read() {
+                    return striped.snapshot().getCents();
+                }
+            });
+            System.out.printf("round %d: single lock %,.0f exits/s | striped %,.0f exits/s%n",
+                    round + 1, lockedRate, stripedRate);
+        }
+    }
+    
+    private static double run(final int perThread, final Exit exit) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(THREADS);
+        for(int i = 0; i < THREADS; i++){
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for(int j = 0; j < perThread; j++){
+                            exit.record(j & 0xFF, 125);
+                        }
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while(done.getCount() > 0){
+                    exit.read();
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                }
+            }
+        });
+        long begin = System.nanoTime();
+        start.countDown();
+        reader.start();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        reader.join();
+        return (double)THREADS * perThread / (elapsed / 1e9);
+    }
+    
+    private interface Exit {
+        void record(long minutes, long cents);
+        long read();
+    }
+    
+    private static class LockedTotals {
+        private long minutes;
+        private long cents;
+        
+        synchronized void add(long minutes, long cents) {
+            this.minutes += minutes;
+            this.cents += cents;
+        }
+        
+        synchronized long snapshotCents() {
+            return cents;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class RunningTotalsFormatterTest {
+    private RunningTotalsFormatter formatter;
+    private List<Map<String, String>> decoded;
+    private Consumer<Map<String, String>> collect;
+
+    public RunningTotalsFormatterTest() {
+    }
+
+    @Before
+    public void setUp() {
+        formatter = new RunningTotalsFormatter();
+        decoded = new ArrayList<>();
+        collect = new Consumer<Map<String, String>>() {
+            @Override
+            public void accept(Map<String, String> record) {
+                decoded.add(record);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    private static Map<String, String> totals(String time, String revenue) {
+        Map<String, String> record = new LinkedHashMap<>();
+        record.put(RunningTotalsFormatter.TIME, time);
+        record.put(RunningTotalsFormatter.REVENUE, revenue);
+        return record;
+    }
+
+    @Test
+    public void testEncodedRecordsDecodeToTheSameRecords() throws Exception, EncodingException {
+        List<Map<String, String>> records = new ArrayList<>();
+        records.add(totals("12.50", "34.75"));
+        records.add(totals("1.00", "2.00"));
+        StringWriter out = new StringWriter();
+        formatter.encode(records, out);
+        assertEquals("12.50\n34.75\n1.00\n2.00\n", out.toString());
+        assertEquals(out.toString(), formatter.encode(records));
+        assertEquals(2, formatter.decode(new StringReader(out.toString()), collect));
+        assertEquals(records, decoded);
+    }
+
+    @Test
+    public void testDecodeSkipsBlankLines() throws Exception {
+        assertEquals(1, formatter.decode(new StringReader("3.00\r\n6.00\r\n\r\n"), collect));
+        assertEquals(totals("3.00", "6.00"), decoded.get(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecodeRejectsTimeWithoutRevenue() throws Exception {
+        formatter.decode(new StringReader("3.00\n"), collect);
+    }
+
+    @Test(expected = EncodingException.class)
+    public void testEncodeRejectsNullRecords() throws Exception, EncodingException {
+        formatter.encode(null, new StringWriter());
+    }
+
+    @Test
+    public void testFileServiceStreamsRecordsThroughFile() throws Exception, EncodingException {
+        File file = File.createTempFile("totals", ".txt");
+        try {
+            TextFileService service = new TextFileService(formatter);
+            service.writeFile(Collections.singletonList(totals("5.25", "10.50")), file);
+            assertEquals(1, service.readFile(file, collect));
+            assertEquals(totals("5.25", "10.50"), decoded.get(0));
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class TextFileServiceTest {
+    private File file;
+    private TextFileService service;
+    
+    public TextFileServiceTest() {
+    }
+    
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("totals", ".txt");
+        service = new TextFileService(new RunningTotalsFormatter());
+    }
+    
+    @After
+    public void tearDown() {
+        file.delete();
+        new File(file.getPath() + ".tmp").delete();
+    }
+    
+    private static List<Map<String, String>> totals(String time, String revenue) {
+        Map<String, String> record = new HashMap<>();
+        record.put(RunningTotalsFormatter.TIME, time);
+        record.put(RunningTotalsFormatter.REVENUE, revenue);
+        List<Map<String, String>> records = new ArrayList<>();
+        records.add(record);
+        return records;
+    }
+
+    @Test
+    public void testWriteReplacesFileAndLeavesNoTemporaryFile() throws Exception, EncodingException {
+        service.writeFile(totals("12.5", "34.75"), file);
+        service.writeFile(totals("15.0", "40.25"), file);
+        assertEquals(Arrays.asList("15.0", "40.25"), service.readFileToList(file));
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+    
+    @Test
+    public void testFailedWriteKeepsOldFileAndDeletesTemporaryFile() throws Exception, EncodingException {
+        service.writeFile(totals("12.5", "34.75"), file);
+        List<Map<String, String>> broken = totals("15.0", "40.25");
+        broken.add(null);
+        try {
+            service.writeFile(broken, file);
+            fail("A null record was written");
+        } catch (NullPointerException ex) {
+            assertEquals(Arrays.asList("12.5", "34.75"), service.readFileToList(file));
+            assertFalse(new File(file.getPath() + ".tmp").exists());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ics.parkinggarageapp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Multi-threaded throughput benchmark for <code>TicketDatabase.addTicket</code>.
+ * Compares a lock-wrapped <code>TreeMap</code> with the skip list used by
+ * <code>ConcurrentTicketDatabase</code> at 1 to 16 entry lanes. While the
+ * lanes are writing, one extra thread keeps walking the tickets in order, the
+ * way the issued tickets report does, to show that reporting does not hold the
+ * writers up.
+ * <p>
+ * Run with: <code>java ics.parkinggarageapp.TicketDatabaseBenchmark [ticketsPerLane]</code>
+ * 
+ * @author Isaac
+ */
+public class TicketDatabaseBenchmark {
+    private static final int[] LANES = {1, 2, 4, 8, 16};
+    
+    public static void main(String[] args) throws Exception {
+        int perLane = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+        
+        //Tickets are built up front so only addTicket is measured
+        List<List<Ticket>> tickets = new ArrayList<>();
+        for(int i = 0; i < LANES[LANES.length - 1]; i++){
+            List<Ticket> lane = new ArrayList<>(perLane);
+            for(int j = 0; j < perLane; j++){
+                lane.add(new Ticket(new Vehicle("B" + (j % 100000))));
+            }
+            tickets.add(lane);
+        }
+        
+        System.out.println("lanes  synchronized TreeMap (ops/s)  ConcurrentTicketDatabase (ops/s)");
+        for(int lanes : LANES){
+            //Warm up both backends before measuring
+            run(new TicketDatabase(Collections.synchronizedSortedMap(new TreeMap<String, String>())), tickets, lanes);
+            run(new ConcurrentTicketDatabase(), tickets, lanes);
+            double locked = run(new TicketDatabase(Collections.synchronizedSortedMap(new TreeMap<String, String>())), tickets, lanes);
+            double concurrent = run(new ConcurrentTicketDatabase(), tickets, lanes);
+            System.out.printf("%5d  %30.0f  %32.0f%n", lanes, locked, concurrent);
+        }
+    }
+    
+    private static double run(final TicketDatabase db, List<List<Ticket>> tickets, int lanes) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(lanes);
+        int total = 0;
+        for(int i = 0; i < lanes; i++){
+            final List<Ticket> lane = tickets.get(i);
+            total += lane.size();
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for(Ticket t : lane){
+                            db.addTicket(t, t.getVehicle().getLicensePlate());
+                        }
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        Thread reporter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while(done.getCount() > 0){
+                    //Synchronized maps must be locked by hand while iterating
+                    if(db instanceof ConcurrentTicketDatabase){
+                        walk(db.getTickets());
+                    } else {
+                        synchronized(db.getTickets()){
+                            walk(db.getTickets());
+                        }
+                    }
+                }
+            }
+        });
+        
+        long begin = System.nanoTime();
+        start.countDown();
+        reporter.start();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        reporter.join();
+        return total / (elapsed / 1e9);
+    }
+    
+    private static int walk(Map<String, String> tickets) {
+        int length = 0;
+        for(Map.Entry<String, String> e : tickets.entrySet()){
+            length += e.getKey().length() + e.getValue().length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,71 @@
+package ics.parkinggarageapp;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class TicketDatabaseTest {
+    
+    public TicketDatabaseTest() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testWriteIssuedTicketsReportMatchesStringReport() throws IOException {
+        TicketDatabase db = new TicketDatabase();
+        Vehicle v1 = new Vehicle("MYRIDE");
+        Vehicle v2 = new Vehicle("554-ZJF");
+        db.addTicket(new Ticket(v1), v1.getLicensePlate());
+        db.addTicket(new Ticket(v2), v2.getLicensePlate());
+        
+        StringWriter out = new StringWriter();
+        db.writeIssuedTicketsReport(out);
+        assertEquals(db.generateIssuedTicketsReport(), out.toString());
+        //Keys sort as Strings, so T10 can come before T9; check each row, not the order
+        assertTrue(out.toString().contains("\n" + v1.getVehicleID().replace('V', 'T') + "           MYRIDE"));
+        assertTrue(out.toString().contains("\n" + v2.getVehicleID().replace('V', 'T') + "           554-ZJF"));
+    }
+    
+    @Test
+    public void testFindOpenTicketsByPlateUntilClosed() {
+        TicketDatabase db = new TicketDatabase();
+        Vehicle v = new Vehicle("872-NDJ");
+        Ticket t = new Ticket(v);
+        db.addTicket(t, v.getLicensePlate());
+        assertTrue(db.hasOpenTicket("872-NDJ"));
+        assertSame(t, db.findOpenTickets("872-NDJ").get(0));
+        
+        assertTrue(db.closeTicket(t));
+        assertFalse(db.hasOpenTicket("872-NDJ"));
+        assertTrue(db.findOpenTickets("872-NDJ").isEmpty());
+        assertFalse(db.closeTicket(t));
+    }
+    
+    @Test
+    public void testDuplicateEntryKeepsBothTicketsOldestFirst() {
+        TicketDatabase db = new TicketDatabase();
+        Ticket first = new Ticket(new Vehicle("MYRIDE"));
+        Ticket second = new Ticket(new Vehicle("MYRIDE"));
+        db.addTicket(first, "MYRIDE");
+        db.addTicket(second, "MYRIDE");
+        assertEquals(2, db.findOpenTickets("MYRIDE").size());
+        assertSame(first, db.findOpenTickets("MYRIDE").get(0));
+        
+        db.closeTicket(first);
+        assertSame(second, db.findOpenTickets("MYRIDE").get(0));
+    }
+}
@@ -0,0 +1,49 @@
+package ics.parkinggarageapp;
+
+import java.io.File;
+
+/**
+ * Measures how long it takes to rebuild a <code>TicketDatabase</code> from a
+ * <code>TicketLog</code> as the log grows, up to one million tickets.
+ * <p>
+ * Run with: <code>java ics.parkinggarageapp.TicketLogRecoveryBenchmark [maxTickets]</code>
+ * 
+ * @author Isaac
+ */
+public class TicketLogRecoveryBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        int max = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        System.out.println("tickets  log size (MB)  recovery (ms)  tickets/s");
+        for(int size = max / 8; size <= max; size *= 2){
+            File file = File.createTempFile("recovery", ".log");
+            file.delete();
+            try {
+                TicketLog log = new TicketLog(file, false);
+                log.replay((k, p) -> { });
+                for(int i = 1; i <= size; i++){
+                    log.append("T" + i, "P" + (i % 1000000));
+                }
+                log.close();
+                
+                //Run once to warm up, then measure
+                recover(file);
+                long begin = System.nanoTime();
+                long recovered = recover(file);
+                long elapsed = System.nanoTime() - begin;
+                System.out.printf("%7d  %13.1f  %13.1f  %9.0f%n", recovered,
+                        file.length() / (1024.0 * 1024.0), elapsed / 1e6, recovered / (elapsed / 1e9));
+            } finally {
+                file.delete();
+            }
+        }
+    }
+    
+    private static long recover(File file) throws Exception {
+        TicketDatabase db = new ConcurrentTicketDatabase();
+        TicketLog log = new TicketLog(file, false);
+        long recovered = db.setTicketLog(log);
+        log.close();
+        return recovered;
+    }
+}
@@ -0,0 +1,145 @@
+package ics.parkinggarageapp;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class TicketLogTest {
+    private File file;
+    
+    public TicketLogTest() {
+    }
+    
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("tickets", ".log");
+        file.delete();
+    }
+    
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testReplayReturnsAppendedTicketsInOrder() throws IOException {
+        TicketLog log = new TicketLog(file, false);
+        log.replay(new Recorder());
+        log.append("T1", "MYRIDE");
+        log.append("T2", "554-ZJF");
+        log.close();
+        
+        Recorder recorder = new Recorder();
+        TicketLog reopened = new TicketLog(file, false);
+        assertEquals(2, reopened.replay(recorder));
+        reopened.close();
+        assertEquals("MYRIDE", recorder.records.get("T1"));
+        assertEquals("554-ZJF", recorder.records.get("T2"));
+    }
+    
+    @Test
+    public void testReplayDropsTornTailAndKeepsAppending() throws IOException {
+        TicketLog log = new TicketLog(file, false);
+        log.replay(new Recorder());
+        log.append("T1", "MYRIDE");
+        log.append("T2", "554-ZJF");
+        log.close();
+        
+        //Simulate a crash part way through writing the last record
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(raf.length() - 3);
+        raf.close();
+        
+        TicketLog reopened = new TicketLog(file, false);
+        assertEquals(1, reopened.replay(new Recorder()));
+        reopened.append("T3", "872-NDJ");
+        reopened.close();
+        
+        Recorder recorder = new Recorder();
+        TicketLog again = new TicketLog(file, false);
+        assertEquals(2, again.replay(recorder));
+        again.close();
+        assertTrue(recorder.records.containsKey("T3"));
+    }
+    
+    @Test
+    public void testRecoveredTicketsAreReportedButNotOpen() throws IOException {
+        TicketDatabase ticketDB = new TicketDatabase();
+        ticketDB.setTicketLog(new TicketLog(file, false));
+        Ticket ticket = new Ticket(new Vehicle("MYRIDE"), 60);
+        ticketDB.addTicket(ticket, "MYRIDE");
+        ticketDB.getTicketLog().close();
+        
+        TicketDatabase recovered = new TicketDatabase();
+        assertEquals(1, recovered.setTicketLog(new TicketLog(file, false)));
+        recovered.getTicketLog().close();
+        String key = ticket.getVehicle().getVehicleID().replace('V', 'T');
+        assertEquals(1, recovered.getIssuedTicketCount());
+        assertEquals(key, recovered.getIssuedTicketNumber(0));
+        assertTrue(recovered.generateIssuedTicketsReport().contains(key));
+        assertFalse(recovered.hasOpenTicket("MYRIDE"));
+        assertTrue(recovered.findOpenTickets("MYRIDE").isEmpty());
+        assertFalse(recovered.closeTicket(ticket));
+    }
+    
+    @Test
+    public void testShortHeaderIsTreatedAsEmptyLog() throws IOException {
+        for(int length = 1; length < 8; length++){
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                out.write(new byte[]{0x54, 0x4C, 0x4F, 0x47, 0, 0, 0}, 0, length);
+            }
+            TicketLog log = new TicketLog(file, false);
+            assertEquals(0, log.replay(new Recorder()));
+            log.append("T1", "MYRIDE");
+            log.close();
+            
+            Recorder recorder = new Recorder();
+            TicketLog reopened = new TicketLog(file, false);
+            assertEquals(1, reopened.replay(recorder));
+            reopened.close();
+            assertEquals("MYRIDE", recorder.records.get("T1"));
+        }
+    }
+    
+    @Test
+    public void testAppendAfterFailedWriteIsRefusedAtOnce() throws IOException {
+        TicketLog log = new TicketLog(file, false);
+        log.replay(new Recorder());
+        log.close();
+        UncheckedIOException first = null;
+        try {
+            log.append("T1", "MYRIDE");
+            fail("Appended to a closed log");
+        } catch (UncheckedIOException ex) {
+            first = ex;
+        }
+        try {
+            log.append("T2", "554-ZJF");
+            fail("Appended after a failed write");
+        } catch (UncheckedIOException ex) {
+            assertSame(first.getCause(), ex.getCause());
+        }
+    }
+    
+    private static class Recorder implements BiConsumer<String, String> {
+        private final Map<String, String> records = new LinkedHashMap<>();
+
+        @Override
+        public void accept(String key, String licensePlate) {
+            records.put(key, licensePlate);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableRowSorter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class TicketTableModelTest {
+    private TicketDatabase ticketDB;
+    private TicketTableModel model;
+    private List<TableModelEvent> events;
+
+    public TicketTableModelTest() {
+    }
+
+    @Before
+    public void setUp() {
+        ticketDB = new TicketDatabase();
+        addTicket("ABC123");
+        addTicket("XYZ789");
+        model = new TicketTableModel(ticketDB);
+        events = new ArrayList<>();
+        model.addTableModelListener(new TableModelListener() {
+            @Override
+            public void tableChanged(TableModelEvent event) {
+                events.add(event);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        model.close();
+    }
+
+    private Ticket addTicket(String plate) {
+        Ticket ticket = new Ticket(new Vehicle(plate), 60);
+        ticketDB.addTicket(ticket, plate);
+        return ticket;
+    }
+
+    private static void waitForEventDispatchThread() throws Exception {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+    @Test
+    public void testRowsReadFromDatabaseInIssuedOrder() {
+        assertEquals(2, model.getRowCount());
+        assertEquals(2, model.getColumnCount());
+        assertEquals("ABC123", model.getValueAt(0, TicketTableModel.LICENSE_PLATE_COLUMN));
+        assertEquals("XYZ789", model.getValueAt(1, TicketTableModel.LICENSE_PLATE_COLUMN));
+        assertEquals(ticketDB.getIssuedTicketNumber(1), model.getValueAt(1, TicketTableModel.TICKET_NUMBER_COLUMN));
+    }
+
+    @Test
+    public void testAddedTicketsAreAppendedTogether() throws Exception {
+        Ticket last = null;
+        for(int i = 0; i < 500; i++){
+            last = addTicket("P" + i);
+        }
+        waitForEventDispatchThread();
+        assertEquals(502, model.getRowCount());
+        assertEquals(last.getVehicle().getVehicleID().replace('V', 'T'), model.getTicketNumber(501));
+        assertTrue(events.size() < 500);
+        int inserted = 0;
+        for(TableModelEvent event : events){
+            assertEquals(TableModelEvent.INSERT, event.getType());
+            inserted += event.getLastRow() - event.getFirstRow() + 1;
+        }
+        assertEquals(500, inserted);
+    }
+
+    @Test
+    public void testPlateFilterShowsMatchingRows() throws Exception {
+        addTicket("abc999");
+        waitForEventDispatchThread();
+        TableRowSorter<TicketTableModel> sorter = new TableRowSorter<>(model);
+        sorter.setRowFilter(TicketTableModel.plateFilter("abc"));
+        assertEquals(2, sorter.getViewRowCount());
+        sorter.setRowFilter(TicketTableModel.plateFilter("99"));
+        assertEquals(1, sorter.getViewRowCount());
+        assertEquals(2, sorter.convertRowIndexToModel(0));
+        sorter.setRowFilter(TicketTableModel.plateFilter(" "));
+        assertEquals(3, sorter.getViewRowCount());
+    }
+
+    @Test
+    public void testClosedModelStopsListening() throws Exception {
+        model.close();
+        addTicket("QRS456");
+        waitForEventDispatchThread();
+        assertEquals(2, model.getRowCount());
+        assertTrue(events.isEmpty());
+    }
+}
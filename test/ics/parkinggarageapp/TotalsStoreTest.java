@@ -0,0 +1,102 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package ics.parkinggarageapp;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class TotalsStoreTest {
+    private File file;
+
+    public TotalsStoreTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("totals", ".dat");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testSavedTotalsAreReadBack() throws IOException {
+        TotalsStore store = new TotalsStore(file, false);
+        assertTrue(store.isEmpty());
+        store.save(90, 350);
+        store.save(150, 575);
+        store.close();
+        store = new TotalsStore(file, false);
+        assertEquals(2, store.getSequence());
+        assertEquals(150, store.getMinutes());
+        assertEquals(575, store.getCents());
+        store.close();
+    }
+
+    @Test
+    public void testTornSaveFallsBackToPreviousTotals() throws IOException {
+        TotalsStore store = new TotalsStore(file, false);
+        store.save(90, 350);
+        store.save(150, 575);
+        store.close();
+        //Save 2 went to the first slot, spoil its cents as a crash partway through would
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(8 + 16);
+            raf.writeLong(999999);
+        }
+        store = new TotalsStore(file, false);
+        assertEquals(1, store.getSequence());
+        assertEquals(90, store.getMinutes());
+        assertEquals(350, store.getCents());
+        store.save(200, 800);
+        store.close();
+        store = new TotalsStore(file, false);
+        assertEquals(2, store.getSequence());
+        assertEquals(800, store.getCents());
+        store.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void testOtherFilesAreRejected() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("12.50\n34.75\n".getBytes("US-ASCII"));
+        }
+        new TotalsStore(file, false);
+    }
+
+    @Test
+    public void testReportGeneratorKeepsTotalsWhenTotalsFileIsLost() throws Exception, EncodingException {
+        File totalsFile = File.createTempFile("totals", ".txt");
+        try {
+            TextFileService service = new TextFileService(new RunningTotalsFormatter());
+            ManagementReportGenerator reportGen = new ManagementReportGenerator(new TicketDatabase(), totalsFile, service);
+            reportGen.setTotalsStore(new TotalsStore(file, true));
+            reportGen.updateTotalsCents(2.5, 325);
+            reportGen.close();
+            //As if a crash had truncated the text file
+            new FileOutputStream(totalsFile).close();
+            reportGen = new ManagementReportGenerator(new TicketDatabase(), totalsFile, service);
+            reportGen.setTotalsStore(new TotalsStore(file, true));
+            assertEquals(325, reportGen.getTotalPaymentsCollectedCents());
+            reportGen.close();
+        } finally {
+            totalsFile.delete();
+        }
+    }
+}
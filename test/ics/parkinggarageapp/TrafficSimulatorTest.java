@@ -0,0 +1,54 @@
+package ics.parkinggarageapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class TrafficSimulatorTest {
+    private TrafficSimulator simulator;
+    
+    public TrafficSimulatorTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        simulator = new TrafficSimulator();
+        simulator.setVehicleCount(2000);
+        simulator.setEntryStationCount(2);
+        simulator.setExitStationCount(3);
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testSameSeedChargesSameFees() throws Exception {
+        TrafficSimulator.Result first = simulator.run();
+        TrafficSimulator.Result second = simulator.run();
+        
+        assertEquals(4000, first.getTransactions());
+        assertTrue(first.getRevenueCents() > 0);
+        assertEquals(first.getRevenueCents(), second.getRevenueCents());
+        assertTrue(first.getEntryLatencyNanos(50) <= first.getEntryLatencyNanos(99.9));
+    }
+    
+    @Test
+    public void testDifferentSeedChargesDifferentFees() throws Exception {
+        long revenue = simulator.run().getRevenueCents();
+        simulator.setSeed(7);
+        simulator.setDwellDistribution(TrafficSimulator.DwellDistribution.UNIFORM);
+        
+        assertTrue(revenue != simulator.run().getRevenueCents());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeArrivalRateIsRejected() {
+        simulator.setArrivalsPerSecond(-1);
+    }
+}
@@ -0,0 +1,78 @@
+package ics.parkinggarageapp;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Isaac
+ */
+public class VirtualClockTest {
+    private static final Instant START = Instant.parse("2026-03-01T08:00:00Z");
+    private VirtualClock clock;
+    
+    public VirtualClockTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        clock = new VirtualClock(START, ZoneId.of("UTC"));
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testClockOnlyMovesWhenAdvanced() {
+        assertEquals(START, clock.instant());
+        clock.advance(Duration.ofHours(30));
+        assertEquals(START.plus(Duration.ofHours(30)), clock.instant());
+        //Advancing to an earlier time leaves the clock where it is
+        assertEquals(START.plus(Duration.ofHours(30)), clock.advanceTo(START));
+        assertEquals(START.plus(Duration.ofHours(30)), clock.instant());
+    }
+    
+    @Test
+    public void testWithZoneSharesTheSameTime() {
+        java.time.Clock chicago = clock.withZone(ZoneId.of("America/Chicago"));
+        clock.advance(Duration.ofMinutes(90));
+        assertEquals(clock.instant(), chicago.instant());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testClockCannotGoBackwards() {
+        clock.advance(Duration.ofMinutes(-1));
+    }
+    
+    @Test
+    public void testTicketIsCheckedOutAtClockTime() {
+        Ticket ticket = new Ticket(new Vehicle("MYRIDE"), clock);
+        assertFalse(ticket.isCheckedOut());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 8, 0), ticket.getEntryTime());
+        
+        clock.advance(Duration.ofMinutes(195));
+        ticket.checkOut(LocalDateTime.now(clock));
+        assertTrue(ticket.isCheckedOut());
+        assertEquals(3.25, ticket.getTimeParked(), 0.0001);
+    }
+    
+    @Test
+    public void testSoakSimulationRepeatsWithSameSeed() throws Exception, EncodingException {
+        SoakSimulator simulator = new SoakSimulator();
+        simulator.setDays(2);
+        simulator.setArrivalsPerHour(50);
+        SoakSimulator.Result first = simulator.run();
+        SoakSimulator.Result second = simulator.run();
+        
+        assertEquals(first.getVehicles() * 2L, first.getTransactions());
+        assertEquals(first.getRevenueCents(), second.getRevenueCents());
+        assertTrue(first.getEndTime().isAfter(simulator.getStart().plus(Duration.ofDays(2))));
+    }
+}